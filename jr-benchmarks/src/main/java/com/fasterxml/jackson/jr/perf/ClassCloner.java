@@ -0,0 +1,79 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helper class for loading distinct copies of a class, each with its own
+ * class loader: this allows testing handling of many (or short-lived)
+ * types without having to generate bytecode. Cloned class may only refer
+ * to types visible to the parent class loader (other than itself).
+ */
+public class ClassCloner
+{
+    private final Class<?> _template;
+
+    private final byte[] _bytecode;
+
+    public ClassCloner(Class<?> template) throws IOException
+    {
+        _template = template;
+        String resource = template.getName().replace('.', '/') + ".class";
+        InputStream in = template.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Can not find class file for "+template.getName());
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4000];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+            _bytecode = bytes.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Method for loading a new copy of the template class, using a new
+     * class loader.
+     */
+    public Class<?> newCopy() {
+        return new Loader().cloned();
+    }
+
+    public Class<?>[] newCopies(int count)
+    {
+        Class<?>[] result = new Class<?>[count];
+        for (int i = 0; i < count; ++i) {
+            result[i] = newCopy();
+        }
+        return result;
+    }
+
+    private final class Loader extends ClassLoader
+    {
+        private final Class<?> _cloned;
+
+        Loader() {
+            super(_template.getClassLoader());
+            _cloned = defineClass(_template.getName(), _bytecode, 0, _bytecode.length);
+        }
+
+        public Class<?> cloned() {
+            return _cloned;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+        {
+            if (name.equals(_template.getName())) {
+                return _cloned;
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONComposer;
+import com.fasterxml.jackson.jr.ob.comp.ArrayComposer;
+import com.fasterxml.jackson.jr.ob.comp.CollectionComposer;
+import com.fasterxml.jackson.jr.ob.comp.MapComposer;
+import com.fasterxml.jackson.jr.ob.comp.ObjectComposer;
+import com.fasterxml.jackson.jr.perf.model.MediaItem;
+
+/**
+ * Benchmarks for {@link JSONComposer}: produces same content as
+ * {@link WriteBenchmark}, but using composer instead of Bean introspection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComposerBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public Payloads.Size size;
+
+    protected final JSON _json = JSON.std;
+
+    protected MediaItem _item;
+
+    @Setup
+    public void setup() {
+        _item = Payloads.item(size);
+    }
+
+    @Benchmark
+    public byte[] composeBytes() throws Exception {
+        return _compose(_json.composeBytes()).finish();
+    }
+
+    @Benchmark
+    public String composeString() throws Exception {
+        return _compose(_json.composeString()).finish();
+    }
+
+    @Benchmark
+    public Map<String,Object> composeMap() throws Exception
+    {
+        MediaItem.Content c = _item.getContent();
+        MapComposer<?> root = _json.composeMap();
+        MapComposer<?> content = root.startObjectField("content")
+                .put("uri", c.getUri())
+                .put("title", c.getTitle())
+                .put("width", c.getWidth())
+                .put("height", c.getHeight())
+                .put("format", c.getFormat())
+                .put("duration", c.getDuration())
+                .put("size", c.getSize())
+                .put("bitrate", c.getBitrate());
+        CollectionComposer<?,?> persons = content.startArrayField("persons");
+        for (String p : c.getPersons()) {
+            persons.add(p);
+        }
+        persons.end();
+        content.put("player", c.getPlayer().name())
+            .put("copyright", c.getCopyright())
+            .end();
+        CollectionComposer<?,?> images = root.startArrayField("images");
+        for (MediaItem.Photo p : _item.getImages()) {
+            images.startObject()
+                .put("uri", p.getUri())
+                .put("title", p.getTitle())
+                .put("width", p.getWidth())
+                .put("height", p.getHeight())
+                .put("size", p.getSize().name())
+            .end();
+        }
+        images.end();
+        return root.finish();
+    }
+
+    protected <T> JSONComposer<T> _compose(JSONComposer<T> comp) throws Exception
+    {
+        MediaItem.Content c = _item.getContent();
+        ObjectComposer<ObjectComposer<JSONComposer<T>>> content = comp.startObject()
+                .startObjectField("content")
+                    .put("uri", c.getUri())
+                    .put("title", c.getTitle())
+                    .put("width", c.getWidth())
+                    .put("height", c.getHeight())
+                    .put("format", c.getFormat())
+                    .put("duration", c.getDuration())
+                    .put("size", c.getSize())
+                    .put("bitrate", c.getBitrate());
+        ArrayComposer<ObjectComposer<ObjectComposer<JSONComposer<T>>>> persons
+            = content.startArrayField("persons");
+        for (String p : c.getPersons()) {
+            persons.add(p);
+        }
+        ObjectComposer<JSONComposer<T>> root = persons.end()
+                    .put("player", c.getPlayer().name())
+                    .put("copyright", c.getCopyright())
+                .end();
+        ArrayComposer<ObjectComposer<JSONComposer<T>>> images = root.startArrayField("images");
+        for (MediaItem.Photo p : _item.getImages()) {
+            images.startObject()
+                .put("uri", p.getUri())
+                .put("title", p.getTitle())
+                .put("width", p.getWidth())
+                .put("height", p.getHeight())
+                .put("size", p.getSize().name())
+            .end();
+        }
+        return images.end().end();
+    }
+}
@@ -0,0 +1,325 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.io.*;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Generator for synthetic JSON corpora of different shapes and sizes.
+ * Content is deterministic: same shape, size and seed always produce
+ * identical output, so that results from different runs and machines
+ * may be compared.
+ *<p>
+ * May be used from command line:
+ *<pre>
+ *  java -cp target/benchmarks.jar com.fasterxml.jackson.jr.perf.CorpusGenerator LOGS 50MB logs.json
+ *</pre>
+ * or from code, with {@link #generate}.
+ */
+public class CorpusGenerator
+{
+    public enum Shape {
+        /**
+         * Array of wide Objects, with 200 properties of mixed types each
+         */
+        WIDE,
+
+        /**
+         * Array of deeply (64 levels) nested Objects and Arrays
+         */
+        DEEP,
+
+        /**
+         * Array of "time series" Objects with big Arrays of integral
+         * and floating-point numbers
+         */
+        NUMERIC,
+
+        /**
+         * Array of String-heavy log entries, including non-ASCII
+         * characters and characters that need escaping
+         */
+        LOGS,
+
+        /**
+         * Same log entries as {@link #LOGS}, but as a sequence of
+         * root-level values separated by linefeeds (newline-delimited JSON)
+         */
+        NDJSON;
+    }
+
+    public final static long DEFAULT_SEED = 1234L;
+
+    private final static int DEEP_LEVELS = 64;
+
+    private final static int WIDE_PROPERTIES = 200;
+
+    private final static int NUMERIC_VALUES = 2000;
+
+    private final static String[] LEVELS = { "TRACE", "DEBUG", "INFO", "INFO", "INFO", "WARN", "ERROR" };
+
+    private final static String[] WORDS = {
+        "request", "response", "user", "session", "cache", "miss", "hit", "timeout",
+        "connection", "pool", "retry", "failed", "completed", "in", "after", "ms",
+        "\"quoted\"", "path\\to\\file", "caf\u00e9", "na\u00efve", "\u65e5\u672c", "tab\there"
+    };
+
+    private final JsonGenerator _generator;
+
+    private final CountingOutputStream _out;
+
+    private final Random _random;
+
+    protected CorpusGenerator(OutputStream out, long seed) throws IOException
+    {
+        _out = new CountingOutputStream(out);
+        _generator = JSON.std.getStreamingFactory().createGenerator(_out);
+        _random = new Random(seed);
+    }
+
+    /**
+     * Method for generating a corpus of given shape, of at least (and
+     * close to) given size in bytes, into given stream. Stream is not
+     * closed.
+     *
+     * @return Number of bytes written
+     */
+    public static long generate(Shape shape, long targetSize, long seed, OutputStream out)
+        throws IOException
+    {
+        return new CorpusGenerator(out, seed)._generate(shape, targetSize);
+    }
+
+    public static byte[] generate(Shape shape, long targetSize, long seed) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(targetSize + 1000, Integer.MAX_VALUE));
+        generate(shape, targetSize, seed, bytes);
+        return bytes.toByteArray();
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: java "+CorpusGenerator.class.getName()
+                    +" [shape] [size] [output-file] (seed)");
+            System.err.println(" where shape is one of WIDE, DEEP, NUMERIC, LOGS, NDJSON");
+            System.err.println(" and size like 500000, 500kB or 20MB");
+            System.exit(1);
+        }
+        Shape shape = Shape.valueOf(args[0].toUpperCase());
+        long size = parseSize(args[1]);
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : DEFAULT_SEED;
+        OutputStream out = new FileOutputStream(args[2]);
+        try {
+            long count = generate(shape, size, seed, out);
+            System.out.printf("Wrote %d bytes of %s content to '%s'%n", count, shape, args[2]);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Helper method for parsing sizes like "200", "64kB" or "20MB"
+     */
+    public static long parseSize(String str)
+    {
+        String num = str.trim().toUpperCase();
+        long mult = 1L;
+        if (num.endsWith("B")) {
+            num = num.substring(0, num.length()-1);
+        }
+        if (num.endsWith("K")) {
+            mult = 1024L;
+        } else if (num.endsWith("M")) {
+            mult = 1024L * 1024L;
+        } else if (num.endsWith("G")) {
+            mult = 1024L * 1024L * 1024L;
+        }
+        if (mult != 1L) {
+            num = num.substring(0, num.length()-1);
+        }
+        return Long.parseLong(num.trim()) * mult;
+    }
+
+    /*
+    /**********************************************************************
+    /* Generation
+    /**********************************************************************
+     */
+
+    protected long _generate(Shape shape, long targetSize) throws IOException
+    {
+        final JsonGenerator g = _generator;
+        final boolean sequence = (shape == Shape.NDJSON);
+        if (sequence) {
+            g.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            g.writeStartArray();
+        }
+        int index = 0;
+        do {
+            switch (shape) {
+            case WIDE:
+                _writeWide(index);
+                break;
+            case DEEP:
+                _writeDeep(index, DEEP_LEVELS);
+                break;
+            case NUMERIC:
+                _writeNumeric(index);
+                break;
+            case LOGS:
+            case NDJSON:
+                _writeLogEntry(index);
+                break;
+            }
+            ++index;
+            g.flush();
+        } while (_out.count() < targetSize);
+        if (sequence) {
+            g.writeRaw('\n');
+        } else {
+            g.writeEndArray();
+        }
+        g.flush();
+        return _out.count();
+    }
+
+    private void _writeWide(int index) throws IOException
+    {
+        final JsonGenerator g = _generator;
+        g.writeStartObject();
+        g.writeNumberField("id", index);
+        for (int i = 0; i < WIDE_PROPERTIES; ++i) {
+            String name = "property"+i;
+            switch (i % 5) {
+            case 0:
+                g.writeNumberField(name, _random.nextInt());
+                break;
+            case 1:
+                g.writeStringField(name, _words(3));
+                break;
+            case 2:
+                g.writeBooleanField(name, _random.nextBoolean());
+                break;
+            case 3:
+                g.writeNumberField(name, _random.nextDouble() * 1000.0);
+                break;
+            default:
+                g.writeNullField(name);
+            }
+        }
+        g.writeEndObject();
+    }
+
+    private void _writeDeep(int index, int levels) throws IOException
+    {
+        final JsonGenerator g = _generator;
+        for (int i = 0; i < levels; ++i) {
+            if ((i & 1) == 0) {
+                g.writeStartObject();
+                g.writeNumberField("level", i);
+                g.writeStringField("name", "node-"+index+"-"+i);
+                g.writeFieldName("child");
+            } else {
+                g.writeStartArray();
+                g.writeNumber(_random.nextInt(1000));
+            }
+        }
+        g.writeString("leaf-"+index);
+        for (int i = levels; --i >= 0; ) {
+            if ((i & 1) == 0) {
+                g.writeEndObject();
+            } else {
+                g.writeEndArray();
+            }
+        }
+    }
+
+    private void _writeNumeric(int index) throws IOException
+    {
+        final JsonGenerator g = _generator;
+        g.writeStartObject();
+        g.writeStringField("series", "metric-"+index);
+        g.writeFieldName("timestamps");
+        g.writeStartArray();
+        long ts = 1500000000000L + index * 1000000L;
+        for (int i = 0; i < NUMERIC_VALUES; ++i) {
+            ts += _random.nextInt(1000);
+            g.writeNumber(ts);
+        }
+        g.writeEndArray();
+        g.writeFieldName("values");
+        g.writeStartArray();
+        for (int i = 0; i < NUMERIC_VALUES; ++i) {
+            g.writeNumber(_random.nextGaussian() * 100.0);
+        }
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+
+    private void _writeLogEntry(int index) throws IOException
+    {
+        final JsonGenerator g = _generator;
+        g.writeStartObject();
+        g.writeNumberField("timestamp", 1500000000000L + index * 17L);
+        g.writeStringField("level", LEVELS[_random.nextInt(LEVELS.length)]);
+        g.writeStringField("logger", "com.example.service.Component"+_random.nextInt(20));
+        g.writeStringField("thread", "worker-"+_random.nextInt(64));
+        g.writeStringField("message", _words(8 + _random.nextInt(24)));
+        if (_random.nextInt(10) == 0) {
+            g.writeFieldName("stackTrace");
+            g.writeStartArray();
+            for (int i = 0, len = 5 + _random.nextInt(20); i < len; ++i) {
+                g.writeString("at com.example.service.Component"+i+".method"+_random.nextInt(100)
+                        +"(Component"+i+".java:"+_random.nextInt(500)+")");
+            }
+            g.writeEndArray();
+        }
+        g.writeEndObject();
+    }
+
+    private String _words(int count)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[_random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    static class CountingOutputStream extends FilterOutputStream
+    {
+        private long _count;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        public long count() { return _count; }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ++_count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            _count += len;
+        }
+    }
+}
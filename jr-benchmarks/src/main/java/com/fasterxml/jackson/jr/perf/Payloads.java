@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.perf.model.FieldMediaItem;
+import com.fasterxml.jackson.jr.perf.model.MediaItem;
+
+/**
+ * Helper class for constructing payloads used by benchmarks, in
+ * different sizes.
+ */
+public class Payloads
+{
+    /**
+     * Sizes of payloads: number of images and persons per item, and number
+     * of items in {@link List} payloads.
+     */
+    public enum Size {
+        /** About 400 bytes per item */
+        SMALL(1, 2, 2),
+        /** About 3 kB per item */
+        MEDIUM(20, 10, 20),
+        /** About 50 kB per item */
+        LARGE(400, 50, 200);
+
+        public final int images, persons, items;
+
+        private Size(int images, int persons, int items) {
+            this.images = images;
+            this.persons = persons;
+            this.items = items;
+        }
+    }
+
+    /**
+     * Combinations of {@link JSON.Feature}s benchmarked, as differences
+     * from default settings.
+     */
+    public enum Features {
+        DEFAULTS,
+        NO_DEFERRED_MAPS,
+        NO_FIELD_ORDERING,
+        USE_FIELDS;
+
+        public JSON json() {
+            switch (this) {
+            case NO_DEFERRED_MAPS:
+                return JSON.std.without(JSON.Feature.USE_DEFERRED_MAPS);
+            case NO_FIELD_ORDERING:
+                return JSON.std.without(JSON.Feature.PRESERVE_FIELD_ORDERING);
+            case USE_FIELDS:
+                return JSON.std.with(JSON.Feature.USE_FIELDS);
+            default:
+                return JSON.std;
+            }
+        }
+
+        /**
+         * Bean type to use: with {@link #USE_FIELDS}, one with public fields,
+         * otherwise one with getters and setters.
+         */
+        public Class<?> beanType() {
+            return (this == USE_FIELDS) ? FieldMediaItem.class : MediaItem.class;
+        }
+    }
+
+    private Payloads() { }
+
+    public static MediaItem item(Size size) {
+        return item(size, 0);
+    }
+
+    public static MediaItem item(Size size, int seed)
+    {
+        MediaItem.Content content = new MediaItem.Content();
+        content.setUri("http://javaone.com/keynote-"+seed+".mpg");
+        content.setTitle("Javaone Keynote #"+seed);
+        content.setWidth(640);
+        content.setHeight(480);
+        content.setFormat("video/mpg4");
+        content.setDuration(18000000L + seed);
+        content.setSize(58982400L + seed);
+        content.setBitrate(262144);
+        content.setPlayer(MediaItem.Player.JAVA);
+        content.setCopyright("None");
+        for (int i = 0; i < size.persons; ++i) {
+            content.addPerson("Person Number "+i);
+        }
+        MediaItem item = new MediaItem(content);
+        for (int i = 0; i < size.images; ++i) {
+            boolean large = (i & 1) == 0;
+            item.addPhoto(new MediaItem.Photo("http://javaone.com/keynote_"+seed+"_"+i+".jpg",
+                    "Javaone Keynote, image "+i,
+                    large ? 1024 : 320, large ? 768 : 240,
+                    large ? MediaItem.Size.LARGE : MediaItem.Size.SMALL));
+        }
+        return item;
+    }
+
+    public static List<MediaItem> items(Size size)
+    {
+        List<MediaItem> items = new ArrayList<MediaItem>(size.items);
+        for (int i = 0; i < size.items; ++i) {
+            items.add(item(size, i));
+        }
+        return items;
+    }
+
+    public static byte[] itemBytes(Size size) {
+        try {
+            return JSON.std.asBytes(item(size));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
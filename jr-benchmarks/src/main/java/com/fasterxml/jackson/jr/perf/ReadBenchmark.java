@@ -0,0 +1,73 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Benchmarks for reading JSON as Beans, {@link Map}s, {@link List}s
+ * and "untyped" values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public Payloads.Size size;
+
+    @Param({ "DEFAULTS", "NO_DEFERRED_MAPS", "NO_FIELD_ORDERING", "USE_FIELDS" })
+    public Payloads.Features features;
+
+    protected JSON _json;
+
+    protected Class<?> _beanType;
+
+    protected byte[] _itemJson;
+
+    protected String _itemJsonString;
+
+    protected byte[] _listJson;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        _json = features.json();
+        _beanType = features.beanType();
+        _itemJson = JSON.std.asBytes(Payloads.item(size));
+        _itemJsonString = new String(_itemJson, "UTF-8");
+        _listJson = JSON.std.asBytes(Payloads.items(size));
+    }
+
+    @Benchmark
+    public Object beanFromBytes() throws Exception {
+        return _json.beanFrom(_beanType, _itemJson);
+    }
+
+    @Benchmark
+    public Object beanFromString() throws Exception {
+        return _json.beanFrom(_beanType, _itemJsonString);
+    }
+
+    @Benchmark
+    public Map<String,Object> mapFrom() throws Exception {
+        return _json.mapFrom(_itemJson);
+    }
+
+    @Benchmark
+    public Object anyFrom() throws Exception {
+        return _json.anyFrom(_itemJson);
+    }
+
+    @Benchmark
+    public List<?> listOfFrom() throws Exception {
+        return _json.listOfFrom(_beanType, _listJson);
+    }
+}
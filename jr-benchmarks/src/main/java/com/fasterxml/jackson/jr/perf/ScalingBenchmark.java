@@ -0,0 +1,176 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.perf.model.ScalingBean;
+
+/**
+ * Benchmark for checking how reading and writing Beans with a single shared
+ * {@link JSON} instance scales with number of threads. Should be run with
+ * different thread counts (JMH option <code>-t</code>), or using
+ * {@link ScalingRunner} which runs it with 1 - N threads and summarizes results.
+ *<p>
+ * Parameters:
+ *<ul>
+ * <li><code>types</code>: <code>FEW</code> uses a single Bean type; <code>MANY</code>
+ *   distinct copies of the same Bean class (more than fit in introspection caches),
+ *   see {@link ClassCloner}
+ *  </li>
+ * <li><code>caches</code>: <code>WARM</code> uses shared instance as is;
+ *   <code>COLD</code> uses a new {@link JSON} instance (with empty reader and
+ *   writer caches, but shared {@link JsonFactory}) for every operation
+ *  </li>
+ *</ul>
+ * In addition to throughput, reports number of times threads were blocked on
+ * monitors (<code>lockBlocks</code>) or parked (<code>lockWaits</code>), as
+ * measured by {@link ThreadMXBean}, along with number of operations (<code>ops</code>)
+ * over which these were counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark
+{
+    public enum Types { FEW, MANY; }
+
+    public enum Caches { WARM, COLD; }
+
+    /**
+     * Number of distinct types used with {@link Types#MANY}: more than
+     * introspection caches hold.
+     */
+    public final static int MANY_TYPES = 250;
+
+    /**
+     * How often (in operations) are contention counters updated
+     */
+    private final static int SAMPLE_INTERVAL = 256;
+
+    @Param({ "FEW", "MANY" })
+    public Types types;
+
+    @Param({ "WARM", "COLD" })
+    public Caches caches;
+
+    protected JSON _json;
+
+    protected Class<?>[] _types;
+
+    protected Object[] _beans;
+
+    protected byte[] _doc;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        _json = JSON.std;
+        if (types == Types.MANY) {
+            _types = new ClassCloner(ScalingBean.class).newCopies(MANY_TYPES);
+        } else {
+            _types = new Class<?>[] { ScalingBean.class };
+        }
+        ScalingBean bean = new ScalingBean();
+        bean.setId(123);
+        bean.setName("Bean #123");
+        bean.setEnabled(true);
+        bean.setScore(0.75);
+        bean.setTags(Arrays.asList("a", "b", "c"));
+        _doc = _json.asBytes(bean);
+        _beans = new Object[_types.length];
+        for (int i = 0; i < _types.length; ++i) {
+            _beans[i] = _json.beanFrom(_types[i], _doc);
+        }
+    }
+
+    @Benchmark
+    public Object read(Counters counters) throws Exception {
+        int ix = counters.next(_types.length);
+        return _json().beanFrom(_types[ix], _doc);
+    }
+
+    @Benchmark
+    public byte[] write(Counters counters) throws Exception {
+        int ix = counters.next(_types.length);
+        return _json().asBytes(_beans[ix]);
+    }
+
+    @Benchmark
+    public byte[] roundTrip(Counters counters) throws Exception {
+        int ix = counters.next(_types.length);
+        JSON json = _json();
+        return json.asBytes(json.beanFrom(_types[ix], _doc));
+    }
+
+    protected JSON _json() {
+        if (caches == Caches.COLD) {
+            return new ColdJSON(_json.getStreamingFactory());
+        }
+        return _json;
+    }
+
+    /**
+     * Per-thread state: index of next type to use, and contention
+     * counters reported as secondary results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters
+    {
+        private final static ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        public long ops;
+
+        public long lockBlocks;
+
+        public long lockWaits;
+
+        private int _index;
+
+        private long _startBlocks, _startWaits;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            ops = lockBlocks = lockWaits = 0L;
+            ThreadInfo info = THREADS.getThreadInfo(Thread.currentThread().getId());
+            _startBlocks = info.getBlockedCount();
+            _startWaits = info.getWaitedCount();
+        }
+
+        public int next(int count)
+        {
+            if ((++ops % SAMPLE_INTERVAL) == 0L) {
+                ThreadInfo info = THREADS.getThreadInfo(Thread.currentThread().getId());
+                lockBlocks = info.getBlockedCount() - _startBlocks;
+                lockWaits = info.getWaitedCount() - _startWaits;
+            }
+            if (++_index >= count) {
+                _index = 0;
+            }
+            return _index;
+        }
+    }
+
+    /**
+     * {@link JSON} sub-class only needed to access constructor that creates
+     * new reader and writer (and their caches) without creating a new
+     * {@link JsonFactory}.
+     */
+    static class ColdJSON extends JSON
+    {
+        public ColdJSON(JsonFactory f) {
+            super(JSON.Feature.defaults(), f, null);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runner for {@link ScalingBenchmark}, which runs given benchmark method
+ * with 1, 2, 4 (and so on) up to N threads, and prints a summary of
+ * throughput, scaling efficiency (relative to single-threaded throughput)
+ * and lock contention for each combination of parameters.
+ *<p>
+ * Usage like:
+ *<pre>
+ *  java -cp target/benchmarks.jar com.fasterxml.jackson.jr.perf.ScalingRunner (max-threads) (method) (--stack)
+ *</pre>
+ * where <code>max-threads</code> defaults to number of available processors,
+ * <code>method</code> to <code>roundTrip</code> (alternatives <code>read</code>,
+ * <code>write</code>), and <code>--stack</code> enables JMH stack profiler, to
+ * see where threads are blocked.
+ */
+public class ScalingRunner
+{
+    public static void main(String[] args) throws Exception
+    {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        String method = "roundTrip";
+        boolean stack = false;
+        for (String arg : args) {
+            if ("--stack".equals(arg)) {
+                stack = true;
+            } else if (Character.isDigit(arg.charAt(0))) {
+                maxThreads = Integer.parseInt(arg);
+            } else {
+                method = arg;
+            }
+        }
+
+        List<String> lines = new ArrayList<String>();
+        lines.add(String.format("%-7s %-5s %-5s %14s %14s %10s %12s %12s",
+                "threads", "types", "cache", "ops/s", "ops/s/thread", "efficiency",
+                "blocks/1k-op", "waits/1k-op"));
+        Map<String,Double> baselines = new HashMap<String,Double>();
+        for (int threads : threadCounts(maxThreads)) {
+            ChainedOptionsBuilder opts = new OptionsBuilder()
+                    .include(ScalingBenchmark.class.getName()+"."+method+"$")
+                    .threads(threads);
+            if (stack) {
+                opts = opts.addProfiler(StackProfiler.class);
+            }
+            Collection<RunResult> results = new Runner(opts.build()).run();
+            for (RunResult result : results) {
+                String types = result.getParams().getParam("types");
+                String caches = result.getParams().getParam("caches");
+                double score = result.getPrimaryResult().getScore();
+                String key = types+"/"+caches;
+                if (threads == 1) {
+                    baselines.put(key, score);
+                }
+                Double base = baselines.get(key);
+                double efficiency = (base == null) ? Double.NaN : score / (base * threads);
+                Map<String, Result> secondary = result.getSecondaryResults();
+                double ops = _score(secondary, "ops");
+                lines.add(String.format("%-7d %-5s %-5s %14.0f %14.0f %9.0f%% %12.3f %12.3f",
+                        threads, types, caches, score, score / threads, efficiency * 100.0,
+                        1000.0 * _score(secondary, "lockBlocks") / ops,
+                        1000.0 * _score(secondary, "lockWaits") / ops));
+            }
+        }
+        System.out.println();
+        System.out.println("ScalingBenchmark."+method+" summary:");
+        for (String line : lines) {
+            System.out.println(line);
+        }
+    }
+
+    static List<Integer> threadCounts(int max)
+    {
+        List<Integer> counts = new ArrayList<Integer>();
+        for (int i = 1; i < max; i *= 2) {
+            counts.add(i);
+        }
+        counts.add(max);
+        return counts;
+    }
+
+    private static double _score(Map<String, Result> results, String name) {
+        Result r = results.get(name);
+        return (r == null) ? Double.NaN : r.getScore();
+    }
+}
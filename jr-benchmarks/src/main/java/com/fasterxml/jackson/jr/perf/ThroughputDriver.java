@@ -0,0 +1,306 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONSequenceWriter;
+import com.fasterxml.jackson.jr.stree.JacksonJrsTreeCodec;
+
+/**
+ * Command-line tool for measuring read and write throughput of
+ * <code>jackson-jr</code> for given input: either an existing file, or a
+ * corpus produced with {@link CorpusGenerator}. Input may contain one or
+ * more root-level values (like newline-delimited JSON); each is counted as
+ * a document. Reports megabytes and documents per second, as well as
+ * number of bytes allocated per document (if JVM supports measuring it).
+ *<p>
+ * Usage like:
+ *<pre>
+ *  java -cp target/benchmarks.jar com.fasterxml.jackson.jr.perf.ThroughputDriver -m both -t tree corpus:LOGS:20MB
+ *</pre>
+ * Results are meant to be compared between versions of <code>jackson-jr</code>,
+ * on same machine, input and options; for more accurate (but slower)
+ * measurements, use JMH benchmarks.
+ */
+public class ThroughputDriver
+{
+    public enum Mode { READ, WRITE, BOTH; }
+
+    /**
+     * Type of values to read (and write): "untyped" {@link java.util.Map}s
+     * and {@link java.util.List}s, or trees with different settings.
+     */
+    public enum Type {
+        ANY,
+        TREE,
+        COMPACT_TREE,
+        LAZY_TREE;
+
+        public JSON json() {
+            switch (this) {
+            case TREE:
+                return JSON.std.with(new JacksonJrsTreeCodec());
+            case COMPACT_TREE:
+                return JSON.std.with(new JacksonJrsTreeCodec().withCompactObjects(true));
+            case LAZY_TREE:
+                return JSON.std.with(new JacksonJrsTreeCodec().withLazyTrees(true));
+            default:
+                return JSON.std;
+            }
+        }
+    }
+
+    protected final JSON _json;
+
+    protected final Type _type;
+
+    protected final byte[] _input;
+
+    protected final List<Object> _values;
+
+    protected final AllocationMeter _allocMeter = AllocationMeter.create();
+
+    public ThroughputDriver(Type type, byte[] input) throws IOException
+    {
+        _type = type;
+        _json = type.json();
+        _input = input;
+        _values = new ArrayList<Object>();
+        _read(_values);
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Mode mode = Mode.READ;
+        Type type = Type.ANY;
+        int seconds = 10;
+        int warmup = 3;
+        String source = null;
+
+        for (int i = 0; i < args.length; ++i) {
+            String arg = args[i];
+            if (arg.startsWith("-")) {
+                if (i+1 == args.length) {
+                    _usage("Missing value for option '"+arg+"'");
+                }
+                String value = args[++i];
+                if ("-m".equals(arg)) {
+                    mode = Mode.valueOf(value.toUpperCase());
+                } else if ("-t".equals(arg)) {
+                    type = Type.valueOf(value.toUpperCase().replace('-', '_'));
+                } else if ("-s".equals(arg)) {
+                    seconds = Integer.parseInt(value);
+                } else if ("-w".equals(arg)) {
+                    warmup = Integer.parseInt(value);
+                } else {
+                    _usage("Unrecognized option '"+arg+"'");
+                }
+            } else if (source == null) {
+                source = arg;
+            } else {
+                _usage("Extra argument '"+arg+"'");
+            }
+        }
+        if (source == null) {
+            _usage(null);
+        }
+        byte[] input = _input(source);
+        ThroughputDriver driver = new ThroughputDriver(type, input);
+        System.out.printf("Input '%s': %d bytes, %d documents; type %s%n",
+                source, input.length, driver._values.size(), type);
+
+        if (mode != Mode.WRITE) {
+            driver.run(Mode.READ, warmup, false);
+            driver.run(Mode.READ, seconds, true);
+        }
+        if (mode != Mode.READ) {
+            driver.run(Mode.WRITE, warmup, false);
+            driver.run(Mode.WRITE, seconds, true);
+        }
+    }
+
+    /**
+     * Method for running read or write test for (at least) given number of
+     * seconds, and optionally reporting results to {@link System#out}.
+     */
+    public void run(Mode mode, int seconds, boolean report) throws IOException
+    {
+        final long endTime = System.nanoTime() + seconds * 1000000000L;
+        final OutputStream out = new NopOutputStream();
+        long docs = 0L;
+        long bytes = 0L;
+        int rounds = 0;
+        final long allocStart = _allocMeter.allocatedBytes();
+        final long start = System.nanoTime();
+        long now;
+        do {
+            if (mode == Mode.READ) {
+                docs += _read(null);
+                bytes += _input.length;
+            } else {
+                docs += _write(out);
+                bytes += ((NopOutputStream) out).count();
+            }
+            ++rounds;
+        } while ((now = System.nanoTime()) < endTime);
+
+        if (report) {
+            final long allocated = _allocMeter.allocatedBytes() - allocStart;
+            double secs = (now - start) / 1000000000.0;
+            System.out.printf("%-5s: %8.1f MB/s, %10.1f docs/s, %s bytes allocated/doc (%d rounds)%n",
+                    mode, (bytes / (1024.0 * 1024.0)) / secs, docs / secs,
+                    (allocated < 0L) ? "N/A" : String.valueOf(allocated / Math.max(1L, docs)),
+                    rounds);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected int _read(List<Object> result) throws IOException
+    {
+        JsonParser p = _json.getStreamingFactory().createParser(_input);
+        int count = 0;
+        try {
+            while (p.nextToken() != null) {
+                Object value = (_type == Type.ANY) ? _json.anyFrom(p) : _json.treeFrom(p);
+                if (result != null) {
+                    result.add(value);
+                }
+                ++count;
+            }
+        } finally {
+            p.close();
+        }
+        return count;
+    }
+
+    protected int _write(OutputStream out) throws IOException
+    {
+        ((NopOutputStream) out).reset();
+        JSONSequenceWriter w = _json.sequenceWriter(out, "\n");
+        w.writeAll(_values);
+        w.close();
+        return w.getValueCount();
+    }
+
+    protected static byte[] _input(String source) throws IOException
+    {
+        // "corpus:SHAPE:SIZE[:SEED]"?
+        if (source.startsWith("corpus:")) {
+            String[] parts = source.split(":");
+            if (parts.length < 3 || parts.length > 4) {
+                _usage("Invalid corpus definition '"+source+"'");
+            }
+            long seed = (parts.length > 3) ? Long.parseLong(parts[3]) : CorpusGenerator.DEFAULT_SEED;
+            return CorpusGenerator.generate(CorpusGenerator.Shape.valueOf(parts[1].toUpperCase()),
+                    CorpusGenerator.parseSize(parts[2]), seed);
+        }
+        File f = new File(source);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) f.length());
+        InputStream in = new FileInputStream(f);
+        try {
+            byte[] buffer = new byte[64000];
+            int count;
+            while ((count = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, count);
+            }
+        } finally {
+            in.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void _usage(String problem)
+    {
+        if (problem != null) {
+            System.err.println("Problem: "+problem);
+        }
+        System.err.println("Usage: java "+ThroughputDriver.class.getName()+" (options) [input]");
+        System.err.println(" where input is either a file name or corpus:SHAPE:SIZE(:SEED)");
+        System.err.println(" (SHAPE one of WIDE, DEEP, NUMERIC, LOGS, NDJSON; SIZE like 500kB or 20MB)");
+        System.err.println("Options:");
+        System.err.println("  -m MODE     read, write or both (default: read)");
+        System.err.println("  -t TYPE     any, tree, compact-tree or lazy-tree (default: any)");
+        System.err.println("  -s SECONDS  measurement time per mode (default: 10)");
+        System.err.println("  -w SECONDS  warmup time per mode (default: 3)");
+        System.exit(1);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Output stream that only counts bytes written
+     */
+    static class NopOutputStream extends OutputStream
+    {
+        private long _count;
+
+        public long count() { return _count; }
+
+        public void reset() { _count = 0L; }
+
+        @Override
+        public void write(int b) {
+            ++_count;
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int len) {
+            _count += len;
+        }
+    }
+
+    /**
+     * Helper class for measuring number of bytes allocated by the current
+     * thread, if the JVM supports it (Oracle and OpenJDK JVMs do, via
+     * <code>com.sun.management.ThreadMXBean</code>).
+     */
+    static class AllocationMeter
+    {
+        private final com.sun.management.ThreadMXBean _bean;
+
+        private AllocationMeter(com.sun.management.ThreadMXBean bean) {
+            _bean = bean;
+        }
+
+        public static AllocationMeter create()
+        {
+            try {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                    if (sunBean.isThreadAllocatedMemorySupported()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                        return new AllocationMeter(sunBean);
+                    }
+                }
+            } catch (Throwable t) { // e.g. if class not present
+                ;
+            }
+            return new AllocationMeter(null);
+        }
+
+        /**
+         * @return Bytes allocated by the current thread so far; or -1 if
+         *    not supported
+         */
+        public long allocatedBytes() {
+            if (_bean == null) {
+                return -1L;
+            }
+            return _bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
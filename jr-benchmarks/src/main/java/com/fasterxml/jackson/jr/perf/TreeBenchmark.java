@@ -0,0 +1,91 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.stree.JacksonJrsTreeCodec;
+import com.fasterxml.jackson.jr.stree.JrsValue;
+
+/**
+ * Benchmarks for reading and writing {@link JrsValue} trees, with
+ * different {@link JacksonJrsTreeCodec} settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeBenchmark
+{
+    public enum Codec {
+        DEFAULT,
+        COMPACT,
+        LAZY,
+        NUMERIC;
+
+        public JacksonJrsTreeCodec codec() {
+            JacksonJrsTreeCodec codec = new JacksonJrsTreeCodec();
+            switch (this) {
+            case COMPACT:
+                return codec.withCompactObjects(true);
+            case LAZY:
+                return codec.withLazyTrees(true);
+            case NUMERIC:
+                return codec.withNumericArrays(true);
+            default:
+                return codec;
+            }
+        }
+    }
+
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public Payloads.Size size;
+
+    @Param({ "DEFAULT", "COMPACT", "LAZY", "NUMERIC" })
+    public Codec codec;
+
+    protected JSON _json;
+
+    protected byte[] _doc;
+
+    protected TreeNode _tree;
+
+    protected JrsValue _frozenTree;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        _json = JSON.std.with(codec.codec());
+        _doc = Payloads.itemBytes(size);
+        _tree = _json.treeFrom(_doc);
+        _frozenTree = ((JrsValue) _json.treeFrom(_doc)).freeze();
+    }
+
+    @Benchmark
+    public TreeNode readTree() throws Exception {
+        return _json.treeFrom(_doc);
+    }
+
+    /**
+     * Reading of a tree followed by access to a single value: shows benefit
+     * of lazily constructed trees.
+     */
+    @Benchmark
+    public TreeNode readTreeAndAccess() throws Exception {
+        return _json.treeFrom(_doc).at("/content/title");
+    }
+
+    @Benchmark
+    public byte[] writeTree() throws Exception {
+        return _json.asBytes(_tree);
+    }
+
+    @Benchmark
+    public byte[] writeFrozenTree() throws Exception {
+        return _json.asBytes(_frozenTree);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.stree.JacksonJrsBindingTreeCodec;
+
+/**
+ * Benchmarks for binding between Beans and trees: direct binding with
+ * {@link JSON#beanFromTree} and {@link JSON#treeFromBean}, compared to
+ * going through token streams or serialized JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeBindingBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public Payloads.Size size;
+
+    @Param({ "DEFAULTS", "USE_FIELDS" })
+    public Payloads.Features features;
+
+    protected JSON _json;
+
+    protected Class<?> _beanType;
+
+    protected TreeNode _tree;
+
+    protected Object _bean;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        _json = features.json().with(new JacksonJrsBindingTreeCodec());
+        _beanType = features.beanType();
+        byte[] doc = Payloads.itemBytes(size);
+        _tree = _json.treeFrom(doc);
+        _bean = _json.beanFrom(_beanType, doc);
+    }
+
+    @Benchmark
+    public Object beanFromTree() throws Exception {
+        return _json.beanFromTree(_beanType, _tree);
+    }
+
+    @Benchmark
+    public Object beanFromTreeTokens() throws Exception {
+        return _json.beanFrom(_beanType, _tree.traverse());
+    }
+
+    @Benchmark
+    public TreeNode treeFromBean() throws Exception {
+        return _json.treeFromBean(_bean);
+    }
+
+    @Benchmark
+    public TreeNode treeFromBeanBytes() throws Exception {
+        return _json.treeFrom(_json.asBytes(_bean));
+    }
+}
@@ -0,0 +1,95 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONComposer;
+import com.fasterxml.jackson.jr.ob.comp.ArrayComposer;
+import com.fasterxml.jackson.jr.stree.JacksonJrsTreeCodec;
+
+/**
+ * Simple (non-JMH) program for measuring retained heap size of trees
+ * read from a big (200 MB by default) document, consisting of an Array
+ * of small Objects, with and without
+ * {@link JacksonJrsTreeCodec#withCompactObjects compact Objects}.
+ *<p>
+ * Should be run with big enough heap, and with no other load, like:
+ *<pre>
+ *  java -Xmx4g -cp target/benchmarks.jar com.fasterxml.jackson.jr.perf.TreeFootprint 200
+ *</pre>
+ * where argument is the approximate document size in megabytes.
+ */
+public class TreeFootprint
+{
+    public static void main(String[] args) throws Exception
+    {
+        int megs = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        File f = File.createTempFile("jr-footprint", ".json");
+        f.deleteOnExit();
+        int count = generate(f, megs * 1024L * 1024L);
+        System.out.printf("Document of %.1f MB, %d Objects%n", f.length() / (1024.0 * 1024.0), count);
+
+        // run twice, to reduce effects of class loading and JIT
+        for (int round = 0; round < 2; ++round) {
+            measure("LinkedHashMap", new JacksonJrsTreeCodec(), f, count);
+            measure("CompactObjectMap", new JacksonJrsTreeCodec().withCompactObjects(true), f, count);
+        }
+    }
+
+    static int generate(File f, long targetSize) throws Exception
+    {
+        JSONComposer<OutputStream> comp = JSON.std.composeTo(f);
+        ArrayComposer<?> arr = comp.startArray();
+        long size = 0L;
+        int count = 0;
+        while (size < targetSize) {
+            String name = "name-"+count;
+            arr.startObject()
+                .put("id", count)
+                .put("name", name)
+                .put("active", (count & 1) == 0)
+                .put("score", count * 0.25)
+                .put("tag", "tag"+(count % 100))
+            .end();
+            // approximation of encoded length, good enough for sizing
+            size += 64 + name.length();
+            ++count;
+        }
+        arr.end();
+        comp.finish();
+        return count;
+    }
+
+    static void measure(String desc, JacksonJrsTreeCodec codec, File f, int count) throws Exception
+    {
+        JSON json = JSON.std.with(codec);
+        long before = usedMemory();
+        long start = System.nanoTime();
+        InputStream in = new FileInputStream(f);
+        TreeNode tree;
+        try {
+            tree = json.treeFrom(in);
+        } finally {
+            in.close();
+        }
+        long nanos = System.nanoTime() - start;
+        long retained = usedMemory() - before;
+        System.out.printf("%-16s: retained %.1f MB (%d bytes per Object), read in %d msecs (%d values)%n",
+                desc, retained / (1024.0 * 1024.0), retained / count,
+                nanos / 1000000L, tree.size());
+    }
+
+    private static long usedMemory() throws InterruptedException
+    {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; ++i) {
+            System.gc();
+            Thread.sleep(100L);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
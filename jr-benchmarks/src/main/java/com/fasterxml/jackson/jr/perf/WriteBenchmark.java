@@ -0,0 +1,87 @@
+package com.fasterxml.jackson.jr.perf;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Benchmarks for writing Beans, {@link Map}s and {@link List}s as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public Payloads.Size size;
+
+    @Param({ "DEFAULTS", "NO_DEFERRED_MAPS", "NO_FIELD_ORDERING", "USE_FIELDS" })
+    public Payloads.Features features;
+
+    protected JSON _json;
+
+    protected Object _bean;
+
+    protected Map<String,Object> _map;
+
+    protected List<?> _list;
+
+    protected final OutputStream _nopOut = new NopOutputStream();
+
+    @Setup
+    public void setup() throws Exception
+    {
+        _json = features.json();
+        byte[] doc = JSON.std.asBytes(Payloads.item(size));
+        // with USE_FIELDS, bean with public fields
+        _bean = _json.beanFrom(features.beanType(), doc);
+        _map = _json.mapFrom(doc);
+        _list = _json.listOfFrom(features.beanType(), JSON.std.asBytes(Payloads.items(size)));
+    }
+
+    @Benchmark
+    public byte[] beanAsBytes() throws Exception {
+        return _json.asBytes(_bean);
+    }
+
+    @Benchmark
+    public String beanAsString() throws Exception {
+        return _json.asString(_bean);
+    }
+
+    @Benchmark
+    public void beanToStream() throws Exception {
+        _json.write(_bean, _nopOut);
+    }
+
+    @Benchmark
+    public byte[] mapAsBytes() throws Exception {
+        return _json.asBytes(_map);
+    }
+
+    @Benchmark
+    public byte[] listAsBytes() throws Exception {
+        return _json.asBytes(_list);
+    }
+
+    /**
+     * Output stream that discards content, to measure cost of encoding
+     * without buffer copying.
+     */
+    static class NopOutputStream extends OutputStream
+    {
+        @Override
+        public void write(int b) { }
+
+        @Override
+        public void write(byte[] b, int offset, int len) { }
+    }
+}
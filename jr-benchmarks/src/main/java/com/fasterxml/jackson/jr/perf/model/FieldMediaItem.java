@@ -0,0 +1,38 @@
+package com.fasterxml.jackson.jr.perf.model;
+
+import java.util.List;
+
+/**
+ * Variant of {@link MediaItem} that only has public fields, used for
+ * benchmarks with {@link com.fasterxml.jackson.jr.ob.JSON.Feature#USE_FIELDS}
+ * enabled.
+ */
+public class FieldMediaItem
+{
+    public List<Photo> images;
+    public Content content;
+
+    public static class Photo
+    {
+        public String uri;
+        public String title;
+        public int width;
+        public int height;
+        public MediaItem.Size size;
+    }
+
+    public static class Content
+    {
+        public MediaItem.Player player;
+        public String uri;
+        public String title;
+        public int width;
+        public int height;
+        public String format;
+        public long duration;
+        public long size;
+        public int bitrate;
+        public List<String> persons;
+        public String copyright;
+    }
+}
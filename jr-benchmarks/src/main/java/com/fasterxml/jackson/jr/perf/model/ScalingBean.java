@@ -0,0 +1,32 @@
+package com.fasterxml.jackson.jr.perf.model;
+
+import java.util.List;
+
+/**
+ * Simple Bean used by scaling benchmarks. Only refers to JDK types, so
+ * that distinct copies of the class may be loaded by separate class
+ * loaders (see {@link com.fasterxml.jackson.jr.perf.ClassCloner}).
+ */
+public class ScalingBean
+{
+    private int _id;
+    private String _name;
+    private boolean _enabled;
+    private double _score;
+    private List<String> _tags;
+
+    public int getId() { return _id; }
+    public void setId(int id) { _id = id; }
+
+    public String getName() { return _name; }
+    public void setName(String n) { _name = n; }
+
+    public boolean isEnabled() { return _enabled; }
+    public void setEnabled(boolean b) { _enabled = b; }
+
+    public double getScore() { return _score; }
+    public void setScore(double d) { _score = d; }
+
+    public List<String> getTags() { return _tags; }
+    public void setTags(List<String> t) { _tags = t; }
+}
@@ -0,0 +1,25 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event emitted when one of shared caches becomes full and is flushed:
+ * frequent flushes suggest that more types are used than caches can
+ * hold, and lead to repeated introspection.
+ */
+@Name(CacheFlushEvent.NAME)
+@Label("Cache Flush")
+@Category({ "Jackson jr" })
+@StackTrace(false)
+public class CacheFlushEvent extends Event
+{
+    public final static String NAME = "com.fasterxml.jackson.jr.CacheFlush";
+
+    @Label("Cache")
+    @Description("Name of cache flushed (one of JSONMetrics.Cache values)")
+    public String cache;
+
+    @Label("Entries")
+    @Description("Number of entries removed")
+    public int entries;
+}
@@ -0,0 +1,24 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Event emitted when definition of a class (properties, constructors)
+ * is introspected, which happens on first use of the class, and again
+ * if cached definitions are flushed.
+ */
+@Name(IntrospectionEvent.NAME)
+@Label("Class Introspection")
+@Category({ "Jackson jr" })
+@StackTrace(true)
+public class IntrospectionEvent extends Event
+{
+    public final static String NAME = "com.fasterxml.jackson.jr.Introspection";
+
+    @Label("Introspected Class")
+    public Class<?> introspectedClass;
+
+    @Label("Introspection Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long introspectionDuration;
+}
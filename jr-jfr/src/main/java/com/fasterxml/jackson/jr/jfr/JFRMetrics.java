@@ -0,0 +1,122 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import java.time.Duration;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
+
+/**
+ * {@link JSONMetrics} implementation that emits Java Flight Recorder events:
+ *<ul>
+ * <li>{@link ReadEvent}s and {@link WriteEvent}s for operations that take
+ *   at least configured threshold time (see {@link #withThreshold})
+ *  </li>
+ * <li>{@link IntrospectionEvent}s for all introspected classes
+ *  </li>
+ * <li>{@link CacheFlushEvent}s for all cache flushes
+ *  </li>
+ *</ul>
+ * Usage is like:
+ *<pre>
+ *  JSON json = JSON.std.with(new JFRMetrics().withThreshold(Duration.ofMillis(5)));
+ *</pre>
+ * Events need to be enabled for recordings (for example, using a custom
+ * <code>.jfc</code> file, or {@link jdk.jfr.Recording#enable(Class)}); if
+ * they are not, overhead is limited to reading of the clock.
+ */
+public class JFRMetrics extends JSONMetrics
+{
+    /**
+     * Default threshold for operation events: 10 milliseconds
+     */
+    public final static Duration DEFAULT_THRESHOLD = Duration.ofMillis(10);
+
+    protected final long _thresholdNanos;
+
+    public JFRMetrics() {
+        this(DEFAULT_THRESHOLD.toNanos());
+    }
+
+    protected JFRMetrics(long thresholdNanos) {
+        _thresholdNanos = thresholdNanos;
+    }
+
+    /**
+     * Mutant factory for constructing an instance that only emits events
+     * for read and write operations that take at least specified amount
+     * of time; {@link Duration#ZERO} for all operations.
+     */
+    public JFRMetrics withThreshold(Duration threshold) {
+        long nanos = threshold.toNanos();
+        if (nanos == _thresholdNanos) {
+            return this;
+        }
+        return new JFRMetrics(nanos);
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(_thresholdNanos);
+    }
+
+    /*
+    /**********************************************************************
+    /* JSONMetrics implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void readCompleted(Class<?> type, int features, long bytes, long startTime)
+    {
+        final long duration = System.nanoTime() - startTime;
+        if (duration >= _thresholdNanos) {
+            ReadEvent event = new ReadEvent();
+            if (event.isEnabled()) {
+                _commit(event, type, features, bytes, duration);
+            }
+        }
+    }
+
+    @Override
+    public void writeCompleted(Class<?> type, int features, long bytes, long startTime)
+    {
+        final long duration = System.nanoTime() - startTime;
+        if (duration >= _thresholdNanos) {
+            WriteEvent event = new WriteEvent();
+            if (event.isEnabled()) {
+                _commit(event, type, features, bytes, duration);
+            }
+        }
+    }
+
+    @Override
+    public void introspected(Class<?> type, long startTime)
+    {
+        final long duration = System.nanoTime() - startTime;
+        IntrospectionEvent event = new IntrospectionEvent();
+        if (event.isEnabled()) {
+            event.introspectedClass = type;
+            event.introspectionDuration = duration;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cacheEvicted(Cache cache, int count)
+    {
+        CacheFlushEvent event = new CacheFlushEvent();
+        if (event.isEnabled()) {
+            event.cache = cache.name();
+            event.entries = count;
+            event.commit();
+        }
+    }
+
+    protected void _commit(OperationEvent event, Class<?> type, int features,
+            long bytes, long duration)
+    {
+        event.valueType = type;
+        event.features = features;
+        event.size = bytes;
+        event.operationDuration = duration;
+        event.commit();
+    }
+}
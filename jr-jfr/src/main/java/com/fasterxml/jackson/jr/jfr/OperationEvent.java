@@ -0,0 +1,38 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Base class for events emitted for read and write operations of
+ * {@link com.fasterxml.jackson.jr.ob.JSON}. Events are only constructed and
+ * committed when operation completes (so their start time and duration are
+ * those of the commit), and operation duration is recorded separately, as
+ * {@link #operationDuration}.
+ *<p>
+ * Calling {@link Event#begin()} at the start of operation would give events
+ * proper start times, but require constructing an event for every operation
+ * (before knowing whether it reaches the threshold), and passing it through
+ * {@link com.fasterxml.jackson.jr.ob.JSONMetrics}, which only gets a
+ * <code>long</code> timestamp from {@link com.fasterxml.jackson.jr.ob.JSONMetrics#startTime()}.
+ */
+@Category({ "Jackson jr" })
+@StackTrace(true)
+public abstract class OperationEvent extends Event
+{
+    @Label("Value Type")
+    @Description("Type of value read or written; for \"untyped\" reads Map, List or Object")
+    public Class<?> valueType;
+
+    @Label("Features")
+    @Description("Bitmask of JSON.Feature values enabled")
+    public int features;
+
+    @Label("Size")
+    @Description("Number of bytes (or characters, for textual content) read or written; -1 if not known")
+    @DataAmount
+    public long size;
+
+    @Label("Operation Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long operationDuration;
+}
@@ -0,0 +1,11 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import jdk.jfr.*;
+
+@Name(ReadEvent.NAME)
+@Label("JSON Read")
+@Description("Read operation that took longer than configured threshold")
+public class ReadEvent extends OperationEvent
+{
+    public final static String NAME = "com.fasterxml.jackson.jr.Read";
+}
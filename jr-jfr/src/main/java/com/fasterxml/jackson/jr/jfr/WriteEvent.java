@@ -0,0 +1,11 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import jdk.jfr.*;
+
+@Name(WriteEvent.NAME)
+@Label("JSON Write")
+@Description("Write operation that took longer than configured threshold")
+public class WriteEvent extends OperationEvent
+{
+    public final static String NAME = "com.fasterxml.jackson.jr.Write";
+}
@@ -0,0 +1,86 @@
+package com.fasterxml.jackson.jr.jfr;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import junit.framework.TestCase;
+
+public class JFRMetricsTest extends TestCase
+{
+    static class JFRPoint {
+        public int x, y;
+    }
+
+    public void testThreshold() throws Exception
+    {
+        JFRMetrics metrics = new JFRMetrics();
+        assertEquals(JFRMetrics.DEFAULT_THRESHOLD, metrics.getThreshold());
+        assertSame(metrics, metrics.withThreshold(JFRMetrics.DEFAULT_THRESHOLD));
+        assertEquals(Duration.ZERO, metrics.withThreshold(Duration.ZERO).getThreshold());
+    }
+
+    public void testEvents() throws Exception
+    {
+        JSON json = JSON.std.with(JSON.Feature.USE_FIELDS)
+                .with(new JFRMetrics().withThreshold(Duration.ZERO));
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(ReadEvent.class);
+            recording.enable(WriteEvent.class);
+            recording.enable(IntrospectionEvent.class);
+            recording.enable(CacheFlushEvent.class);
+            recording.start();
+
+            JFRPoint p = json.beanFrom(JFRPoint.class, "{\"x\":1,\"y\":2}");
+            byte[] doc = json.asBytes(p);
+            assertEquals(2, json.mapFrom(doc).size());
+
+            recording.stop();
+            Path file = File.createTempFile("jackson-jr", ".jfr").toPath();
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                file.toFile().delete();
+            }
+        }
+        final int features = JSON.Feature.defaults() | JSON.Feature.USE_FIELDS.mask();
+
+        List<RecordedEvent> reads = _events(events, ReadEvent.NAME);
+        assertEquals(2, reads.size());
+        assertEquals(JFRPoint.class.getName(), reads.get(0).getClass("valueType").getName());
+        assertEquals(13L, reads.get(0).getLong("size"));
+        assertEquals(features, reads.get(0).getInt("features"));
+        assertEquals(Map.class.getName(), reads.get(1).getClass("valueType").getName());
+
+        List<RecordedEvent> writes = _events(events, WriteEvent.NAME);
+        assertEquals(1, writes.size());
+        assertEquals(JFRPoint.class.getName(), writes.get(0).getClass("valueType").getName());
+        assertEquals(13L, writes.get(0).getLong("size"));
+        assertTrue(writes.get(0).getLong("operationDuration") >= 0L);
+
+        List<RecordedEvent> introspections = _events(events, IntrospectionEvent.NAME);
+        assertEquals(1, introspections.size());
+        assertEquals(JFRPoint.class.getName(),
+                introspections.get(0).getClass("introspectedClass").getName());
+    }
+
+    private List<RecordedEvent> _events(List<RecordedEvent> all, String name)
+    {
+        List<RecordedEvent> result = new ArrayList<>();
+        for (RecordedEvent event : all) {
+            if (event.getEventType().getName().equals(name)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+}
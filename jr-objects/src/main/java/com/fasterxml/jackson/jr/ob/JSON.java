@@ -2,10 +2,14 @@ package com.fasterxml.jackson.jr.ob;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.core.util.Instantiatable;
 import com.fasterxml.jackson.jr.ob.comp.CollectionComposer;
@@ -369,6 +373,14 @@ public class JSON implements Versioned
      * simple Objects.
      */
     protected final JSONWriter _writer;
+
+    /**
+     * Listeners for metrics of read and write operations: those of
+     * {@link #_reader} and {@link #_writer}, respectively.
+     *
+     * @since 2.9
+     */
+    protected final JSONMetrics _readMetrics, _writeMetrics;
     
     /*
     /**********************************************************************
@@ -409,6 +421,8 @@ public class JSON implements Versioned
         TypeDetector td = _defaultTypeDetector(features);
         _reader = (r == null) ? _defaultReader(features, trees, td) : r;
         _writer = (w == null) ? _defaultWriter(features, trees, td) : w;
+        _readMetrics = _reader.metrics();
+        _writeMetrics = _writer.metrics();
         _prettyPrinter = pp;
     }
 
@@ -439,6 +453,17 @@ public class JSON implements Versioned
         return new JSONAsObjectCodec(this);
     }
     
+    /**
+     * Factory method for constructing a new {@link JSONSession} that uses
+     * configuration of this instance, and can be used for efficient
+     * sequential read and write operations by a single thread.
+     *
+     * @since 2.9
+     */
+    public JSONSession newSession() {
+        return new JSONSession(this);
+    }
+
     /*
     /**********************************************************************
     /* Versioned
@@ -464,6 +489,46 @@ public class JSON implements Versioned
         return _with(_features, f, _treeCodec, _reader, _writer, _prettyPrinter);
     }
 
+    /**
+     * Mutant factory for constructing an instance that uses specified
+     * {@link BufferRecyclerPool} for buffer recycling, instead of the default
+     * per-thread recycling. This is done by using a {@link PooledJsonFactory}
+     * with otherwise same configuration as the current streaming factory.
+     *
+     * @since 2.9
+     */
+    public JSON with(BufferRecyclerPool pool)
+    {
+        if (pool == null) {
+            throw new IllegalArgumentException("Can not pass null BufferRecyclerPool");
+        }
+        if ((_jsonFactory instanceof PooledJsonFactory)
+                && (((PooledJsonFactory) _jsonFactory).getRecyclerPool() == pool)) {
+            return this;
+        }
+        return with(new PooledJsonFactory(_jsonFactory, pool));
+    }
+
+    /**
+     * Mutant factory for constructing an instance that reports read and write
+     * operations, as well as introspection cache behavior, to specified
+     * {@link JSONMetrics} listener. Caches are shared with this instance.
+     *
+     * @since 2.9
+     */
+    public JSON with(JSONMetrics metrics)
+    {
+        if (metrics == null) {
+            metrics = JSONMetrics.nopInstance();
+        }
+        JSONReader r = _reader.with(metrics);
+        JSONWriter w = _writer.with(metrics);
+        if ((r == _reader) && (w == _writer)) {
+            return this;
+        }
+        return _with(_features, _jsonFactory, _treeCodec, r, w, _prettyPrinter);
+    }
+
     /**
      * Mutant factory for constructing an instance with specified {@link TreeCodec},
      * and returning new instance (or, if there would be no change, this instance).
@@ -474,7 +539,7 @@ public class JSON implements Versioned
             return this;
         }
         return _with(_features, _jsonFactory, c,
-                _reader, _writer.with(c), _prettyPrinter);
+                _reader.with(c), _writer.with(c), _prettyPrinter);
     }
 
     /**
@@ -628,6 +693,40 @@ public class JSON implements Versioned
         return _jsonFactory;
     }
 
+    /**
+     * @since 2.9
+     */
+    public JSONMetrics getMetrics() {
+        return _writeMetrics;
+    }
+
+    /**
+     * Method for taking a snapshot of contents of caches used by this
+     * instance: readers and writers for types (shared by all instances
+     * created from the same base instance, by mutant factories), and
+     * class definitions (shared by all instances).
+     *
+     * @since 2.9
+     */
+    public JSONCacheStats cacheStats() {
+        return JSONCacheStats.construct(_reader.typeDetector(), _writer.typeDetector());
+    }
+
+    /**
+     * Method for clearing caches used by this instance: caches of readers and
+     * writers for types (shared by all instances created from the same base
+     * instance, by mutant factories), and class definitions (shared by all
+     * instances). Operations in progress are not affected, but subsequent
+     * operations need to resolve readers and writers again.
+     *
+     * @since 2.9
+     */
+    public void clearCaches() {
+        _reader.typeDetector().clearCaches();
+        _writer.typeDetector().clearCaches();
+        POJODefinition.clearCache();
+    }
+
     public final boolean isEnabled(Feature f) {
         return (f.mask() & _features) != 0;
     }
@@ -640,30 +739,41 @@ public class JSON implements Versioned
 
     public String asString(Object value) throws IOException, JSONObjectException
     {
-        SegmentedStringWriter sw = new SegmentedStringWriter(_jsonFactory._getBufferRecycler());
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        SegmentedStringWriter sw = new SegmentedStringWriter(br);
         try {
-            _writeAndClose(value, _jsonFactory.createGenerator(sw));
+            _writeAndClose(value, _generator(sw, br));
+            String result = sw.getAndClear();
+            _writeMetrics.writeCompleted(_typeOf(value), _features, result.length(), start);
+            return result;
         } catch (JsonProcessingException e) {
             throw e;
         } catch (IOException e) { // shouldn't really happen, but is declared as possibility so:
             throw JSONObjectException.fromUnexpectedIOE(e);
+        } finally {
+            _releaseRecycler(br);
         }
-        return sw.getAndClear();
     }
 
     public byte[] asBytes(Object value) throws IOException, JSONObjectException
     {
-        ByteArrayBuilder bb = new ByteArrayBuilder(_jsonFactory._getBufferRecycler());
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        ByteArrayBuilder bb = new ByteArrayBuilder(br);
         try {
-            _writeAndClose(value, _jsonFactory.createGenerator(bb, JsonEncoding.UTF8));
+            _writeAndClose(value, _generator(bb, br));
+            byte[] result = bb.toByteArray();
+            bb.release();
+            _writeMetrics.writeCompleted(_typeOf(value), _features, result.length, start);
+            return result;
         } catch (JsonProcessingException e) {
             throw e;
         } catch (IOException e) { // shouldn't really happen, but is declared as possibility so:
             throw JSONObjectException.fromUnexpectedIOE(e);
+        } finally {
+            _releaseRecycler(br);
         }
-        byte[] result = bb.toByteArray();
-        bb.release();
-        return result;
     }
 
     public void write(Object value, JsonGenerator gen) throws IOException, JSONObjectException {
@@ -675,15 +785,144 @@ public class JSON implements Versioned
     }
 
     public void write(Object value, OutputStream out) throws IOException, JSONObjectException {
-        _writeAndClose(value, _jsonFactory.createGenerator(out));
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(out, br));
+            _writeMetrics.writeCompleted(_typeOf(value), _features, -1L, start);
+        } finally {
+            _releaseRecycler(br);
+        }
     }
 
     public void write(Object value, Writer w) throws IOException, JSONObjectException {
-        _writeAndClose(value, _jsonFactory.createGenerator(w));
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(w, br));
+            _writeMetrics.writeCompleted(_typeOf(value), _features, -1L, start);
+        } finally {
+            _releaseRecycler(br);
+        }
     }
 
     public void write(Object value, File f) throws IOException, JSONObjectException {
-        _writeAndClose(value, _jsonFactory.createGenerator(f, JsonEncoding.UTF8));
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(f, br));
+            _writeMetrics.writeCompleted(_typeOf(value), _features, -1L, start);
+        } finally {
+            _releaseRecycler(br);
+        }
+    }
+
+    /**
+     * Method for writing given value as UTF-8 encoded JSON directly into given
+     * {@link ByteBuffer} (heap or direct), starting at its current position.
+     * On success position is advanced past content written; if buffer does
+     * not have enough room for the whole content, a {@link JSONObjectException}
+     * is thrown and position is left unchanged (although contents past it may
+     * have been overwritten).
+     *
+     * @return Number of bytes written
+     *
+     * @since 2.9
+     */
+    public int writeTo(Object value, ByteBuffer buffer) throws IOException, JSONObjectException
+    {
+        final long start = _writeMetrics.startTime();
+        final int remaining = buffer.remaining();
+        ByteBufferOutputStream out = new ByteBufferOutputStream(buffer);
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(out, br));
+        } catch (BufferOverflowException e) {
+            int written = out.bytesWritten();
+            out.rewind();
+            throw new JSONObjectException(String.format(
+                    "Not enough room in ByteBuffer to write value of type %s: overflow after %d bytes (of %d remaining)",
+                    (value == null) ? "null" : value.getClass().getName(), written, remaining), e);
+        } finally {
+            _releaseRecycler(br);
+        }
+        _writeMetrics.writeCompleted(_typeOf(value), _features, out.bytesWritten(), start);
+        return out.bytesWritten();
+    }
+
+    /**
+     * Method for writing given value as UTF-8 encoded JSON, appending it into
+     * given reusable {@link ByteOutputBuffer}. This allows callers to avoid
+     * allocating a new <code>byte[]</code> for each value written (as
+     * {@link #asBytes(Object)} has to do), by calling
+     * {@link ByteOutputBuffer#reset()} between calls and accessing
+     * content via {@link ByteOutputBuffer#array()}.
+     *
+     * @return Number of bytes written
+     *
+     * @since 2.9
+     */
+    public int writeTo(Object value, ByteOutputBuffer buffer) throws IOException, JSONObjectException
+    {
+        final long startTime = _writeMetrics.startTime();
+        final int start = buffer.length();
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(buffer, br));
+        } finally {
+            _releaseRecycler(br);
+        }
+        _writeMetrics.writeCompleted(_typeOf(value), _features, buffer.length() - start, startTime);
+        return buffer.length() - start;
+    }
+
+    /**
+     * Method for writing given value as UTF-8 encoded JSON into given
+     * {@link WritableByteChannel}. Channel is assumed to be in blocking mode;
+     * it will NOT be closed after writing, regardless of
+     * {@link JsonGenerator.Feature#AUTO_CLOSE_TARGET} setting.
+     *
+     * @since 2.9
+     */
+    public void writeTo(Object value, WritableByteChannel channel) throws IOException, JSONObjectException {
+        final long start = _writeMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        try {
+            _writeAndClose(value, _generator(new ChannelOutputStream(channel), br));
+            _writeMetrics.writeCompleted(_typeOf(value), _features, -1L, start);
+        } finally {
+            _releaseRecycler(br);
+        }
+    }
+
+    /**
+     * Method for constructing a {@link JSONSequenceWriter} for writing a sequence of
+     * root-level values (like line-delimited JSON) into given stream,
+     * with given separator written after each value, and using the default
+     * flush threshold ({@link JSONSequenceWriter#DEFAULT_FLUSH_THRESHOLD}).
+     *
+     * @since 2.9
+     */
+    public JSONSequenceWriter sequenceWriter(OutputStream out, String separator)
+        throws IOException, JSONObjectException
+    {
+        return sequenceWriter(out, separator, JSONSequenceWriter.DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * Method for constructing a {@link JSONSequenceWriter} for writing a sequence of
+     * root-level values (like line-delimited JSON) into given stream,
+     * with given separator written after each value; underlying stream is
+     * flushed whenever at least <code>flushThreshold</code> bytes have been
+     * written since the previous flush.
+     *
+     * @since 2.9
+     */
+    public JSONSequenceWriter sequenceWriter(OutputStream out, String separator,
+            int flushThreshold)
+        throws IOException, JSONObjectException
+    {
+        return new JSONSequenceWriter(this, out, separator, flushThreshold);
     }
 
     /*
@@ -697,32 +936,70 @@ public class JSON implements Versioned
     }
 
     public JSONComposer<OutputStream> composeTo(OutputStream out) throws IOException, JSONObjectException {
-        return JSONComposer.streamComposer(_features,
-                _config(_jsonFactory.createGenerator(out)), true);
+        final BufferRecycler br = _acquireRecycler();
+        JsonGenerator gen = null;
+        try {
+            gen = _config(_generator(out, br));
+        } finally {
+            if (gen == null) {
+                _releaseRecycler(br);
+            }
+        }
+        return _recycleWith(JSONComposer.<OutputStream>streamComposer(_features, gen, true), br);
     }
 
     public JSONComposer<OutputStream> composeTo(Writer w) throws IOException, JSONObjectException {
-        return JSONComposer.streamComposer(_features,
-                _config(_jsonFactory.createGenerator(w)), true);
+        final BufferRecycler br = _acquireRecycler();
+        JsonGenerator gen = null;
+        try {
+            gen = _config(_generator(w, br));
+        } finally {
+            if (gen == null) {
+                _releaseRecycler(br);
+            }
+        }
+        return _recycleWith(JSONComposer.<OutputStream>streamComposer(_features, gen, true), br);
     }
 
     public JSONComposer<OutputStream> composeTo(File f) throws IOException, JSONObjectException {
-        return JSONComposer.streamComposer(_features,
-                _config(_jsonFactory.createGenerator(f, JsonEncoding.UTF8)), true);
+        final BufferRecycler br = _acquireRecycler();
+        JsonGenerator gen = null;
+        try {
+            gen = _config(_generator(f, br));
+        } finally {
+            if (gen == null) {
+                _releaseRecycler(br);
+            }
+        }
+        return _recycleWith(JSONComposer.<OutputStream>streamComposer(_features, gen, true), br);
     }
 
     public JSONComposer<String> composeString() throws IOException, JSONObjectException {
-        SegmentedStringWriter out = new SegmentedStringWriter(_jsonFactory._getBufferRecycler());
-        JsonGenerator gen = _config(_jsonFactory.createGenerator(out)
-                .setCodec(asCodec()));
-        return JSONComposer.stringComposer(_features, gen, out);
+        final BufferRecycler br = _acquireRecycler();
+        SegmentedStringWriter out = new SegmentedStringWriter(br);
+        JsonGenerator gen = null;
+        try {
+            gen = _config(_generator(out, br).setCodec(asCodec()));
+        } finally {
+            if (gen == null) {
+                _releaseRecycler(br);
+            }
+        }
+        return _recycleWith(JSONComposer.stringComposer(_features, gen, out), br);
     }
 
     public JSONComposer<byte[]> composeBytes() throws IOException, JSONObjectException {
-        ByteArrayBuilder out = new ByteArrayBuilder(_jsonFactory._getBufferRecycler());
-        JsonGenerator gen = _config(_jsonFactory.createGenerator(out)
-                .setCodec(asCodec()));
-        return JSONComposer.bytesComposer(_features, gen, out);
+        final BufferRecycler br = _acquireRecycler();
+        ByteArrayBuilder out = new ByteArrayBuilder(br);
+        JsonGenerator gen = null;
+        try {
+            gen = _config(_generator(out, br).setCodec(asCodec()));
+        } finally {
+            if (gen == null) {
+                _releaseRecycler(br);
+            }
+        }
+        return _recycleWith(JSONComposer.bytesComposer(_features, gen, out), br);
     }
 
     public CollectionComposer<?,List<Object>> composeList() {
@@ -758,17 +1035,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             List<Object> result = _readerForOperation(p).readList();
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(List.class, p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -782,17 +1065,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             List<T> result = _readerForOperation(p).readListOf(type);
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(List.class, p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -804,17 +1093,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             Object[] result = _readerForOperation(p).readArray();
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(Object[].class, p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -826,17 +1121,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             T[] result = _readerForOperation(p).readArrayOf(type);
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(_typeOf(result), p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -849,17 +1150,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return (Map<T,Object>) result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             Map<Object,Object> result = _readerForOperation(p).readMap();
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(Map.class, p0, start);
             return (Map<T,Object>) result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -871,17 +1178,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             T result = _readerForOperation(p).readBean(type);
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(type, p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
     
@@ -911,17 +1224,23 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             Object result = _readerForOperation(p).readValue();
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(_typeOf(result), p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
         }
     }
 
@@ -944,17 +1263,84 @@ public class JSON implements Versioned
             p.clearCurrentToken();
             return result;
         }
-        JsonParser p = _parser(source);
+        final long start = _readMetrics.startTime();
+        final BufferRecycler br = _acquireRecycler();
+        JsonParser p = null;
         try {
+            p = _parser(source, br);
             _initForReading(_config(p));
             T result = (T) _treeCodec.readTree(p);
             JsonParser p0 = p;
             p = null;
             _close(p0, null);
+            _readCompleted(_typeOf(result), p0, start);
             return result;
         } catch (Exception e) {
             _close(p, e);
             return null;
+        } finally {
+            _releaseRecycler(br);
+        }
+    }
+
+    /**
+     * Method for binding given tree (of type that configured {@link TreeCodec}
+     * supports) into a Bean (or other value) of specified type.
+     * If {@link TreeCodec} implements {@link TreeNodeAdapter}, tree is traversed
+     * and bound directly; otherwise it is first converted into a token stream
+     * (using {@link TreeCodec#treeAsTokens}), and bound like JSON content.
+     *
+     * @since 2.9
+     */
+    public <T> T beanFromTree(Class<T> type, TreeNode tree)
+            throws IOException, JSONObjectException
+    {
+        if (_treeCodec == null) {
+             _noTreeCodec("bind TreeNode");
+        }
+        if (_treeCodec instanceof TreeNodeAdapter) {
+            return _treeBinder(_readerForOperation(null), null).readBean(type, tree);
+        }
+        if (tree == null) {
+            return null;
+        }
+        JsonParser p = _treeCodec.treeAsTokens(tree);
+        try {
+            return beanFrom(type, p);
+        } finally {
+            p.close();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* API: conversions
+    /**********************************************************************
+     */
+
+    /**
+     * Method for converting given value (Bean, {@link java.util.Map},
+     * {@link java.util.Collection}, tree or simple value) into a value of
+     * specified type, as if value was first written as JSON and then read back.
+     * Instead of encoding content as JSON, tokens are buffered in a
+     * {@link TokenBuffer} and read from there, avoiding both encoding and
+     * decoding of textual content.
+     *
+     * @since 2.9
+     */
+    public <T> T convert(Object value, Class<T> type)
+            throws IOException, JSONObjectException
+    {
+        if (value == null) {
+            return null;
+        }
+        TokenBuffer buf = new TokenBuffer();
+        _writerForOperation(buf).writeValue(value);
+        JsonParser p = _initForReading(buf.asParser());
+        try {
+            return _readerForOperation(p).readBean(type);
+        } finally {
+            p.close();
         }
     }
 
@@ -1000,6 +1386,28 @@ public class JSON implements Versioned
          return (T) _treeCodec.createObjectNode();
     }
 
+    /**
+     * Method for constructing a tree (of type that configured {@link TreeCodec}
+     * supports) to represent given value, as if value was written as JSON
+     * and then read as a tree.
+     * If {@link TreeCodec} implements {@link TreeNodeAdapter}, tree is constructed
+     * directly; otherwise value is first serialized as JSON.
+     *
+     * @since 2.9
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TreeNode> T treeFromBean(Object value)
+            throws IOException, JSONObjectException
+    {
+        if (_treeCodec == null) {
+             _noTreeCodec("construct TreeNode");
+        }
+        if (_treeCodec instanceof TreeNodeAdapter) {
+            return (T) _treeBinder(null, _writerForOperation(null)).write(value);
+        }
+        return (T) treeFrom(asBytes(value));
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, writing
@@ -1029,6 +1437,30 @@ public class JSON implements Versioned
         return _writer.perOperationInstance(_features, gen);
     }
 
+    protected JsonGenerator _generator(OutputStream out, BufferRecycler br) throws IOException
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            return ((PooledJsonFactory) _jsonFactory).createGenerator(out, br);
+        }
+        return _jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    protected JsonGenerator _generator(Writer w, BufferRecycler br) throws IOException
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            return ((PooledJsonFactory) _jsonFactory).createGenerator(w, br);
+        }
+        return _jsonFactory.createGenerator(w);
+    }
+
+    protected JsonGenerator _generator(File f, BufferRecycler br) throws IOException
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            return ((PooledJsonFactory) _jsonFactory).createGenerator(f, br);
+        }
+        return _jsonFactory.createGenerator(f, JsonEncoding.UTF8);
+    }
+
     /*
     /**********************************************************************
     /* Internal methods, reading
@@ -1039,6 +1471,13 @@ public class JSON implements Versioned
         return _reader.perOperationInstance(_features, p);
     }
 
+    /**
+     * @since 2.9
+     */
+    protected TreeBinder _treeBinder(JSONReader r, JSONWriter w) {
+        return new TreeBinder((TreeNodeAdapter) _treeCodec, _treeCodec, r, w);
+    }
+
     protected JsonParser _parser(Object source) throws IOException, JSONObjectException
     {
         final JsonFactory f = _jsonFactory;
@@ -1064,11 +1503,52 @@ public class JSON implements Versioned
         if (source instanceof CharSequence) {
             return f.createParser(((CharSequence) source).toString());
         }
+        if (source instanceof TokenBuffer) {
+            return ((TokenBuffer) source).asParser();
+        }
         if (source instanceof JsonParser) { // should never be called with this
             throw new IllegalStateException();
         }
         throw new JSONObjectException("Can not use Source of type "+source.getClass().getName()
-                +" as input (use an InputStream, Reader, String, byte[], File or URL");
+                +" as input (use an InputStream, Reader, String, byte[], File, URL or TokenBuffer");
+    }
+
+    /**
+     * Variant of {@link #_parser(Object)} used when a {@link BufferRecyclerPool}
+     * may be in use: if so, given recycler (acquired by caller) is used by parser
+     * constructed.
+     *
+     * @since 2.9
+     */
+    protected JsonParser _parser(Object source, BufferRecycler br) throws IOException, JSONObjectException
+    {
+        if (!(_jsonFactory instanceof PooledJsonFactory)) {
+            return _parser(source);
+        }
+        final PooledJsonFactory f = (PooledJsonFactory) _jsonFactory;
+        final Class<?> type = source.getClass();
+        if (type == String.class) {
+            return f.createParser((String) source, br);
+        }
+        if (source instanceof InputStream) {
+            return f.createParser((InputStream) source, br);
+        }
+        if (source instanceof Reader) {
+            return f.createParser((Reader) source, br);
+        }
+        if (type == byte[].class) {
+            return f.createParser((byte[]) source, br);
+        }
+        if (source instanceof URL) {
+            return f.createParser((URL) source, br);
+        }
+        if (type == char[].class) {
+            return f.createParser(new CharArrayReader((char[]) source), br);
+        }
+        if (source instanceof CharSequence) {
+            return f.createParser(((CharSequence) source).toString(), br);
+        }
+        return _parser(source);
     }
 
     protected JsonParser _initForReading(JsonParser p) throws IOException
@@ -1093,6 +1573,46 @@ public class JSON implements Versioned
     /**********************************************************************
      */
 
+    /**
+     * Helper method for getting {@link BufferRecycler} to use for a single read
+     * or write operation: if a {@link BufferRecyclerPool} has been configured,
+     * one is acquired from it (and needs to be released with
+     * {@link #_releaseRecycler}); otherwise the default (thread-local) one is used.
+     *
+     * @since 2.9
+     */
+    protected BufferRecycler _acquireRecycler()
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            return ((PooledJsonFactory) _jsonFactory).getRecyclerPool().acquire();
+        }
+        return _jsonFactory._getBufferRecycler();
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected void _releaseRecycler(BufferRecycler br)
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            ((PooledJsonFactory) _jsonFactory).getRecyclerPool().release(br);
+        }
+    }
+
+    /**
+     * Helper method for making composer return recycler it uses (if acquired
+     * from a {@link BufferRecyclerPool}) once composition is finished.
+     *
+     * @since 2.9
+     */
+    protected <T> JSONComposer<T> _recycleWith(JSONComposer<T> comp, BufferRecycler br)
+    {
+        if (_jsonFactory instanceof PooledJsonFactory) {
+            comp._recycleWith(((PooledJsonFactory) _jsonFactory).getRecyclerPool(), br);
+        }
+        return comp;
+    }
+
     protected JsonGenerator _config(JsonGenerator g)
     {
         // First, possible pretty printing
@@ -1108,6 +1628,30 @@ public class JSON implements Versioned
         return g;
     }
 
+    /**
+     * @since 2.9
+     */
+    protected void _readCompleted(Class<?> type, JsonParser p, long start)
+    {
+        // avoid constructing location unless it is needed
+        if (_readMetrics == JSONMetrics.nopInstance()) {
+            return;
+        }
+        JsonLocation loc = p.getCurrentLocation();
+        long count = loc.getByteOffset();
+        if (count < 0L) {
+            count = loc.getCharOffset();
+        }
+        _readMetrics.readCompleted(type, _features, count, start);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected static Class<?> _typeOf(Object value) {
+        return (value == null) ? null : value.getClass();
+    }
+
     protected JsonParser _config(JsonParser p)
     {
         // nothing to do, yet
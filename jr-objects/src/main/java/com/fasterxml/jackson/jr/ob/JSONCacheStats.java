@@ -0,0 +1,251 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics.Cache;
+import com.fasterxml.jackson.jr.ob.impl.*;
+
+/**
+ * Snapshot of contents of shared caches used by {@link JSON} instances,
+ * returned by {@link JSON#cacheStats()}: types for which readers, writers
+ * and class definitions are cached, along with estimates of memory retained
+ * and access statistics. Mostly useful for diagnosing memory retention
+ * problems.
+ *<p>
+ * Note that sizes are rough estimates (based on typical object sizes on
+ * 64-bit JVMs), and do not include reflection objects (like
+ * {@link java.lang.reflect.Method}s) for readers and writers, since these
+ * are shared with class definitions; property writers shared by entries for
+ * differently configured instances are counted for each entry. Access
+ * statistics are approximate as well; see {@link CacheEntry}.
+ *
+ * @since 2.9
+ */
+public class JSONCacheStats
+{
+    // Rough estimates of sizes of commonly retained objects
+    private final static int OBJECT_SIZE = 16;
+    private final static int ENTRY_SIZE = 40;
+    private final static int KEY_SIZE = 32;
+    private final static int MEMBER_SIZE = 100;
+
+    /**
+     * Information on a single cache entry
+     */
+    public static class Entry
+    {
+        protected final Cache _cache;
+        protected final Class<?> _type;
+        protected final int _features;
+        protected final long _estimatedSize;
+        protected final int _hits;
+        protected final long _created;
+        protected final long _lastAccess;
+
+        public Entry(Cache cache, CacheEntry<?> entry, long estimatedSize)
+        {
+            _cache = cache;
+            _type = entry.type();
+            _features = entry.features();
+            _estimatedSize = estimatedSize;
+            _hits = entry.hitCount();
+            _created = entry.created();
+            _lastAccess = entry.lastAccess();
+        }
+
+        public Cache getCache() { return _cache; }
+
+        public Class<?> getType() { return _type; }
+
+        /**
+         * Bitmask of {@link JSON.Feature}s that affect caching that were
+         * enabled when entry was resolved; 0 for entries not affected by
+         * features.
+         */
+        public int getFeatures() { return _features; }
+
+        /**
+         * Estimate of number of bytes retained by entry.
+         */
+        public long getEstimatedSize() { return _estimatedSize; }
+
+        public int getHitCount() { return _hits; }
+
+        /**
+         * Time (as returned by {@link System#currentTimeMillis()}) entry was
+         * created.
+         */
+        public long getCreated() { return _created; }
+
+        /**
+         * Time (as returned by {@link System#currentTimeMillis()}) entry was
+         * last accessed (approximately; see {@link CacheEntry}); creation time
+         * if not accessed since.
+         */
+        public long getLastAccess() { return _lastAccess; }
+
+        @Override
+        public String toString() {
+            return String.format("[%s %s: features=0x%x, size=%d, hits=%d, lastAccess=%d]",
+                    _cache, _type.getName(), _features, _estimatedSize, _hits, _lastAccess);
+        }
+    }
+
+    protected final List<Entry> _entries;
+
+    public JSONCacheStats(List<Entry> entries) {
+        _entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Factory method for constructing snapshot of given reader and
+     * writer caches (which may be the same), as well as global class
+     * definition cache.
+     */
+    public static JSONCacheStats construct(TypeDetector readers, TypeDetector writers)
+    {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (CacheEntry<ValueReader> entry : readers.readerCacheEntries()) {
+            entries.add(new Entry(Cache.READERS, entry, _readerSize(entry.value())));
+        }
+        for (CacheEntry<BeanPropertyWriter[]> entry : writers.serializationCacheEntries()) {
+            entries.add(new Entry(Cache.WRITERS, entry, _writerSize(entry.value())));
+        }
+        for (CacheEntry<POJODefinition> entry : POJODefinition.cacheEntries()) {
+            entries.add(new Entry(Cache.POJO_DEFINITIONS, entry, _definitionSize(entry.value())));
+        }
+        return new JSONCacheStats(entries);
+    }
+
+    /*
+    /**********************************************************************
+    /* Accessors
+    /**********************************************************************
+     */
+
+    public List<Entry> entries() {
+        return _entries;
+    }
+
+    public List<Entry> entries(Cache cache)
+    {
+        List<Entry> result = new ArrayList<Entry>();
+        for (Entry entry : _entries) {
+            if (entry._cache == cache) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Accessor for finding entries for given type in given cache: there may be
+     * multiple, for differently configured {@link JSON} instances.
+     */
+    public List<Entry> entries(Cache cache, Class<?> type)
+    {
+        List<Entry> result = new ArrayList<Entry>();
+        for (Entry entry : _entries) {
+            if ((entry._cache == cache) && (entry._type == type)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public int size(Cache cache)
+    {
+        int count = 0;
+        for (Entry entry : _entries) {
+            if (entry._cache == cache) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    public long estimatedSize(Cache cache)
+    {
+        long total = 0L;
+        for (Entry entry : _entries) {
+            if (entry._cache == cache) {
+                total += entry._estimatedSize;
+            }
+        }
+        return total;
+    }
+
+    public long estimatedSize()
+    {
+        long total = 0L;
+        for (Entry entry : _entries) {
+            total += entry._estimatedSize;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder(100);
+        sb.append("[JSONCacheStats:");
+        for (Cache cache : Cache.values()) {
+            sb.append(' ').append(cache).append("(entries=").append(size(cache))
+                .append(", size=").append(estimatedSize(cache)).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, size estimation
+    /**********************************************************************
+     */
+
+    private static long _readerSize(ValueReader r)
+    {
+        long size = ENTRY_SIZE + KEY_SIZE + OBJECT_SIZE;
+        if (r instanceof BeanReader) {
+            // HashMap entries, property readers, property names
+            for (String name : ((BeanReader) r).propertiesByName().keySet()) {
+                size += 3 * OBJECT_SIZE + _stringSize(name);
+            }
+        }
+        return size;
+    }
+
+    private static long _writerSize(BeanPropertyWriter[] props)
+    {
+        long size = ENTRY_SIZE + KEY_SIZE;
+        if (props != null) {
+            size += OBJECT_SIZE + 4 * props.length;
+            for (BeanPropertyWriter prop : props) {
+                // writer itself, SerializedString with cached encodings
+                size += 2 * OBJECT_SIZE + 3 * _stringSize(prop.name.getValue());
+            }
+        }
+        return size;
+    }
+
+    private static long _definitionSize(POJODefinition def)
+    {
+        long size = ENTRY_SIZE + KEY_SIZE + OBJECT_SIZE;
+        size += MEMBER_SIZE * (_count(def.defaultCtor) + _count(def.stringCtor) + _count(def.longCtor));
+        POJODefinition.Prop[] props = def.properties();
+        size += OBJECT_SIZE + 4 * props.length;
+        for (POJODefinition.Prop prop : props) {
+            size += OBJECT_SIZE + _stringSize(prop.name)
+                    + MEMBER_SIZE * (_count(prop.getter) + _count(prop.isGetter)
+                            + _count(prop.setter) + _count(prop.field));
+        }
+        return size;
+    }
+
+    private static long _stringSize(String str) {
+        return 2 * OBJECT_SIZE + 2 * str.length();
+    }
+
+    private static int _count(Object ob) {
+        return (ob == null) ? 0 : 1;
+    }
+}
@@ -5,10 +5,12 @@ import java.util.*;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.io.SegmentedStringWriter;
+import com.fasterxml.jackson.core.util.BufferRecycler;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 
 import com.fasterxml.jackson.jr.ob.JSON.Feature;
 import com.fasterxml.jackson.jr.ob.comp.SequenceComposer;
+import com.fasterxml.jackson.jr.ob.impl.BufferRecyclerPool;
 
 /**
  * Root-level composer object that acts as streaming "builder"
@@ -31,7 +33,20 @@ public class JSONComposer<T>
     protected SegmentedStringWriter _stringWriter;
     
     protected ByteArrayBuilder _byteWriter;
-    
+
+    /**
+     * Pool to return {@link #_recycler} to once composition is finished,
+     * if recycler used was acquired from one.
+     *
+     * @since 2.9
+     */
+    protected BufferRecyclerPool _recyclerPool;
+
+    /**
+     * @since 2.9
+     */
+    protected BufferRecycler _recycler;
+
     public JSONComposer(int features, JsonGenerator gen, boolean closeGenerator)
     {
         super(gen);
@@ -100,6 +115,17 @@ public class JSONComposer<T>
             Map<String,Object> map) {
         return new JSONComposer<Map<String,Object>>(features, map);
     }
+
+    /**
+     * Method called to make composer return recycler used by generator (and
+     * output buffer) to given pool when composition is finished.
+     *
+     * @since 2.9
+     */
+    protected void _recycleWith(BufferRecyclerPool pool, BufferRecycler br) {
+        _recyclerPool = pool;
+        _recycler = br;
+    }
     
     /*
     /**********************************************************************
@@ -111,8 +137,22 @@ public class JSONComposer<T>
      * Method to call to complete composition, flush any pending content,
      * and return instance of specified result type.
      */
-    @SuppressWarnings("unchecked")
     public T finish() throws IOException
+    {
+        try {
+            return _finishComposition();
+        } finally {
+            if (_recyclerPool != null) {
+                BufferRecyclerPool pool = _recyclerPool;
+                _recyclerPool = null;
+                pool.release(_recycler);
+                _recycler = null;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T _finishComposition() throws IOException
     {
         if (_open) {
             _closeChild();
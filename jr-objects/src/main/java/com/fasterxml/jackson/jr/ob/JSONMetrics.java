@@ -0,0 +1,328 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listener that {@link JSON} (and helper objects it uses) call to report
+ * read and write operations, as well as behavior of internal caches
+ * used for introspection, for purposes of monitoring.
+ * Metrics are configured using {@link JSON#with(JSONMetrics)}; by default
+ * {@link #nopInstance()} is used, which ignores all calls: since it is of
+ * a <code>final</code> type with empty methods, and does not even
+ * access the clock, JIT is able to eliminate calls altogether.
+ *<p>
+ * Implementations need to be thread-safe, as a single instance is
+ * shared by all operations of a {@link JSON} instance; and since callbacks
+ * are made from within read and write operations, they should be fast.
+ *<p>
+ * Read and write operations are only reported for methods where {@link JSON}
+ * itself constructs the parser or generator: operations on caller-provided
+ * {@link com.fasterxml.jackson.core.JsonParser}s and
+ * {@link com.fasterxml.jackson.core.JsonGenerator}s are not, since their
+ * boundaries are controlled by the caller.
+ *
+ * @since 2.9
+ */
+public abstract class JSONMetrics
+{
+    /**
+     * Shared caches for which hits, misses and evictions are reported.
+     */
+    public enum Cache {
+        /**
+         * Cache of readers (deserializers) by type, in
+         * {@link com.fasterxml.jackson.jr.ob.impl.TypeDetector}
+         */
+        READERS,
+
+        /**
+         * Cache of serialization type information (including Bean property
+         * writers), in {@link com.fasterxml.jackson.jr.ob.impl.TypeDetector}
+         */
+        WRITERS,
+
+        /**
+         * Cache of introspected class definitions, in
+         * {@link com.fasterxml.jackson.jr.ob.impl.POJODefinition}
+         */
+        POJO_DEFINITIONS;
+    }
+
+    protected JSONMetrics() { }
+
+    /**
+     * Accessor for the "no-operation" implementation that ignores all calls.
+     */
+    public static JSONMetrics nopInstance() {
+        return Nop.instance;
+    }
+
+    /*
+    /**********************************************************************
+    /* Callbacks
+    /**********************************************************************
+     */
+
+    /**
+     * Method called at the beginning of an operation to be timed; value
+     * returned is passed to the completion callback. Default implementation
+     * returns {@link System#nanoTime()}.
+     */
+    public long startTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Method called after successful completion of a read operation.
+     *
+     * @param type Type of value read: either requested type (for Beans), or
+     *    general category ({@link java.util.Map}, {@link java.util.List},
+     *    {@link Object}), or type of tree node read
+     * @param features Bitmask of {@link JSON.Feature}s enabled for the
+     *    {@link JSON} instance used
+     * @param bytes Number of bytes read, for byte-based sources; number of
+     *    characters for textual sources; or -1 if not known
+     * @param startTime Value returned by {@link #startTime()} at the
+     *    beginning of the operation
+     */
+    public void readCompleted(Class<?> type, int features, long bytes, long startTime) { }
+
+    /**
+     * Method called after successful completion of a write operation.
+     *
+     * @param type Type of the value written (<code>null</code> for
+     *    <code>null</code>s)
+     * @param features Bitmask of {@link JSON.Feature}s enabled for the
+     *    {@link JSON} instance used
+     * @param bytes Number of bytes (or characters, for textual output) written,
+     *    if known; -1 if not
+     * @param startTime Value returned by {@link #startTime()} at the
+     *    beginning of the operation
+     */
+    public void writeCompleted(Class<?> type, int features, long bytes, long startTime) { }
+
+    /**
+     * Method called when a lookup from specified cache found information
+     * for given type.
+     */
+    public void cacheHit(Cache cache, Class<?> type) { }
+
+    /**
+     * Method called when a lookup from specified cache failed to find
+     * information for given type, which then has to be resolved.
+     */
+    public void cacheMiss(Cache cache, Class<?> type) { }
+
+    /**
+     * Method called when specified number of entries were evicted from
+     * specified cache.
+     */
+    public void cacheEvicted(Cache cache, int count) { }
+
+    /**
+     * Method called after introspecting definition of given type (which
+     * only occurs on {@link Cache#POJO_DEFINITIONS} misses).
+     *
+     * @param startTime Value returned by {@link #startTime()} at the
+     *    beginning of introspection
+     */
+    public void introspected(Class<?> type, long startTime) { }
+
+    /*
+    /**********************************************************************
+    /* Standard implementations
+    /**********************************************************************
+     */
+
+    /**
+     * Implementation that ignores all calls.
+     */
+    private final static class Nop extends JSONMetrics
+    {
+        final static Nop instance = new Nop();
+
+        @Override
+        public long startTime() {
+            return 0L;
+        }
+    }
+
+    /**
+     * Simple implementation that keeps track of all metrics in memory,
+     * and offers accessors for them; mostly useful for testing, and
+     * for exposing metrics using other metrics systems that can poll values.
+     *<p>
+     * Read and write metrics are kept by name of the type, so that metrics
+     * do not prevent unloading of classes; as a consequence, metrics of
+     * same-named classes from different class loaders are combined.
+     */
+    public static class InMemory extends JSONMetrics
+    {
+        protected final ConcurrentHashMap<String, OperationStats> _reads
+            = new ConcurrentHashMap<String, OperationStats>(16, 0.75f, 4);
+
+        protected final ConcurrentHashMap<String, OperationStats> _writes
+            = new ConcurrentHashMap<String, OperationStats>(16, 0.75f, 4);
+
+        protected final CacheStats[] _caches;
+
+        protected final OperationStats _introspections = new OperationStats();
+
+        private final static OperationStats EMPTY_STATS = new OperationStats();
+
+        public InMemory()
+        {
+            Cache[] caches = Cache.values();
+            _caches = new CacheStats[caches.length];
+            for (int i = 0; i < caches.length; ++i) {
+                _caches[i] = new CacheStats();
+            }
+        }
+
+        /*
+        /**********************************************************************
+        /* Callbacks
+        /**********************************************************************
+         */
+
+        @Override
+        public void readCompleted(Class<?> type, int features, long bytes, long startTime) {
+            _stats(_reads, type).add(bytes, System.nanoTime() - startTime);
+        }
+
+        @Override
+        public void writeCompleted(Class<?> type, int features, long bytes, long startTime) {
+            _stats(_writes, type).add(bytes, System.nanoTime() - startTime);
+        }
+
+        @Override
+        public void cacheHit(Cache cache, Class<?> type) {
+            _caches[cache.ordinal()].hits.incrementAndGet();
+        }
+
+        @Override
+        public void cacheMiss(Cache cache, Class<?> type) {
+            _caches[cache.ordinal()].misses.incrementAndGet();
+        }
+
+        @Override
+        public void cacheEvicted(Cache cache, int count) {
+            _caches[cache.ordinal()].evictions.addAndGet(count);
+        }
+
+        @Override
+        public void introspected(Class<?> type, long startTime) {
+            _introspections.add(0L, System.nanoTime() - startTime);
+        }
+
+        /*
+        /**********************************************************************
+        /* Accessors
+        /**********************************************************************
+         */
+
+        public long readCount(Class<?> type) { return _find(_reads, type).count.get(); }
+        public long readBytes(Class<?> type) { return _find(_reads, type).bytes.get(); }
+        public long readNanos(Class<?> type) { return _find(_reads, type).nanos.get(); }
+
+        public long writeCount(Class<?> type) { return _find(_writes, type).count.get(); }
+        public long writeBytes(Class<?> type) { return _find(_writes, type).bytes.get(); }
+        public long writeNanos(Class<?> type) { return _find(_writes, type).nanos.get(); }
+
+        public long cacheHits(Cache cache) { return _caches[cache.ordinal()].hits.get(); }
+        public long cacheMisses(Cache cache) { return _caches[cache.ordinal()].misses.get(); }
+        public long cacheEvictions(Cache cache) { return _caches[cache.ordinal()].evictions.get(); }
+
+        public long introspectionCount() { return _introspections.count.get(); }
+        public long introspectionNanos() { return _introspections.nanos.get(); }
+
+        /**
+         * Method for resetting all metrics; not atomic with respect to
+         * concurrently reported metrics.
+         */
+        public void reset()
+        {
+            _reads.clear();
+            _writes.clear();
+            for (CacheStats stats : _caches) {
+                stats.reset();
+            }
+            _introspections.reset();
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder sb = new StringBuilder(100);
+            sb.append("[JSONMetrics.InMemory: reads=").append(_reads.keySet())
+                .append(", writes=").append(_writes.keySet());
+            for (Cache c : Cache.values()) {
+                sb.append(", ").append(c).append("(hits=").append(cacheHits(c))
+                    .append(", misses=").append(cacheMisses(c))
+                    .append(", evictions=").append(cacheEvictions(c)).append(')');
+            }
+            sb.append(", introspections=").append(introspectionCount()).append(']');
+            return sb.toString();
+        }
+
+        protected OperationStats _find(ConcurrentHashMap<String, OperationStats> map, Class<?> type)
+        {
+            OperationStats stats = map.get(_key(type));
+            return (stats == null) ? EMPTY_STATS : stats;
+        }
+
+        protected OperationStats _stats(ConcurrentHashMap<String, OperationStats> map, Class<?> type)
+        {
+            final String key = _key(type);
+            OperationStats stats = map.get(key);
+            if (stats == null) {
+                stats = new OperationStats();
+                OperationStats old = map.putIfAbsent(key, stats);
+                if (old != null) {
+                    stats = old;
+                }
+            }
+            return stats;
+        }
+
+        protected static String _key(Class<?> type) {
+            return (type == null) ? Void.class.getName() : type.getName();
+        }
+    }
+
+    protected static class OperationStats
+    {
+        public final AtomicLong count = new AtomicLong();
+        public final AtomicLong bytes = new AtomicLong();
+        public final AtomicLong nanos = new AtomicLong();
+
+        public void add(long byteCount, long time)
+        {
+            count.incrementAndGet();
+            if (byteCount > 0L) {
+                bytes.addAndGet(byteCount);
+            }
+            nanos.addAndGet(time);
+        }
+
+        public void reset() {
+            count.set(0L);
+            bytes.set(0L);
+            nanos.set(0L);
+        }
+    }
+
+    protected static class CacheStats
+    {
+        public final AtomicLong hits = new AtomicLong();
+        public final AtomicLong misses = new AtomicLong();
+        public final AtomicLong evictions = new AtomicLong();
+
+        public void reset() {
+            hits.set(0L);
+            misses.set(0L);
+            evictions.set(0L);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.jr.ob.impl.JSONWriter;
+
+/**
+ * Writer for sequences of root-level JSON values, constructed using
+ * {@link JSON#sequenceWriter(OutputStream, String)}: used for bulk export
+ * of things like line-delimited JSON ("NDJSON"). Unlike calling
+ * {@link JSON#write(Object, OutputStream)} for each value, a single
+ * {@link JsonGenerator} and per-operation {@link JSONWriter} are used
+ * for all values.
+ *<p>
+ * Configured separator (if any) is written after each value, so that for
+ * NDJSON, separator of <code>"\n"</code> is used.
+ * In addition, underlying output is flushed whenever amount of content
+ * written since the last flush exceeds configured threshold.
+ *<p>
+ * If writing of a value fails, output is left in the middle of that value,
+ * and writer is considered failed: further writes fail with
+ * {@link IllegalStateException}, {@link #flush} does nothing, and
+ * {@link #close} does not try to complete the partial value.
+ *<p>
+ * Instances are NOT thread-safe.
+ *
+ * @since 2.9
+ */
+public class JSONSequenceWriter
+    implements Closeable, Flushable
+{
+    /**
+     * Default number of bytes to output before underlying stream is flushed.
+     */
+    public final static int DEFAULT_FLUSH_THRESHOLD = 64000;
+
+    protected final JSON _json;
+
+    /**
+     * Recycler used by generator, to release once writer is closed
+     * (see {@link JSON#with(com.fasterxml.jackson.jr.ob.impl.BufferRecyclerPool)}).
+     *
+     * @since 2.9
+     */
+    protected final BufferRecycler _recycler;
+
+    protected final JsonGenerator _generator;
+
+    protected final JSONWriter _writer;
+
+    protected final SerializableString _separator;
+
+    protected final CountingOutputStream _out;
+
+    protected final int _flushThreshold;
+
+    protected long _flushedAt;
+
+    protected int _valueCount;
+
+    protected boolean _closed;
+
+    /**
+     * Exception that caused a write to fail, if any; once set, no more
+     * content may be written.
+     */
+    protected Exception _failure;
+
+    protected JSONSequenceWriter(JSON json, OutputStream out, String separator,
+            int flushThreshold)
+        throws IOException
+    {
+        _out = new CountingOutputStream(out);
+        _separator = (separator == null || separator.isEmpty()) ? null : new SerializedString(separator);
+        _flushThreshold = flushThreshold;
+        _json = json;
+        _recycler = json._acquireRecycler();
+        JsonGenerator g = null;
+        try {
+            g = json._config(json._generator(_out, _recycler));
+        } finally {
+            if (g == null) {
+                json._releaseRecycler(_recycler);
+            }
+        }
+        // we will take care of separators ourselves
+        g.setRootValueSeparator(null);
+        PrettyPrinter pp = g.getPrettyPrinter();
+        if (pp instanceof DefaultPrettyPrinter) {
+            g.setPrettyPrinter(((DefaultPrettyPrinter) pp).withRootSeparator((SerializableString) null));
+        }
+        _generator = g;
+        _writer = json._writerForOperation(g);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public JSONSequenceWriter write(Object value) throws IOException, JSONObjectException
+    {
+        if (_closed) {
+            throw new IllegalStateException("Can not write: "+getClass().getSimpleName()+" already closed");
+        }
+        if (_failure != null) {
+            throw new IllegalStateException("Can not write: "+getClass().getSimpleName()
+                    +" failed to write an earlier value", _failure);
+        }
+        try {
+            _writer.writeValue(value);
+            if (_separator != null) {
+                _generator.writeRaw(_separator);
+            }
+            ++_valueCount;
+            if ((_out.count() + _generator.getOutputBuffered() - _flushedAt) >= _flushThreshold) {
+                flush();
+            }
+        } catch (IOException e) {
+            _failure = e;
+            throw e;
+        } catch (RuntimeException e) {
+            _failure = e;
+            throw e;
+        }
+        return this;
+    }
+
+    public JSONSequenceWriter writeAll(Iterable<?> values) throws IOException, JSONObjectException
+    {
+        for (Object value : values) {
+            write(value);
+        }
+        return this;
+    }
+
+    /**
+     * Accessor for number of values written so far.
+     */
+    public int getValueCount() {
+        return _valueCount;
+    }
+
+    /**
+     * Accessor for checking whether a write has failed, leaving output
+     * in the middle of a value.
+     */
+    public boolean isFailed() {
+        return _failure != null;
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        // no point in flushing partial value after failure
+        if (!_closed && (_failure == null)) {
+            _generator.flush();
+            _flushedAt = _out.count();
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (!_closed) {
+            _closed = true;
+            if (_failure != null) { // do not close Objects, Arrays of partial value
+                _generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            }
+            try {
+                _generator.close();
+            } finally {
+                _json._releaseRecycler(_recycler);
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Simple wrapper used to keep track of number of bytes passed to the
+     * actual target, to know when to flush.
+     */
+    protected final static class CountingOutputStream extends FilterOutputStream
+    {
+        protected long _count;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        public long count() { return _count; }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ++_count;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            _count += len;
+        }
+    }
+}
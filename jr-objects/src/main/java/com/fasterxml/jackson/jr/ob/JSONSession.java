@@ -0,0 +1,367 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.jr.ob.impl.ByteOutputBuffer;
+import com.fasterxml.jackson.jr.ob.impl.JSONReader;
+import com.fasterxml.jackson.jr.ob.impl.JSONWriter;
+
+/**
+ * Stateful helper object, constructed using {@link JSON#newSession()}, that
+ * holds on to per-operation objects (reader, writer, type detectors,
+ * builders, generators and output buffers) and reuses them across
+ * sequential read and write operations. This makes repeated processing of
+ * small messages much cheaper than using {@link JSON} methods directly, which
+ * construct all of these for every call.
+ *<p>
+ * Unlike {@link JSON}, instances are NOT thread-safe, and must be confined
+ * to a single thread: the expected usage is to keep one instance per thread
+ * (for example, via {@link ThreadLocal}). Instances must not be handed between
+ * threads, as generators hold on to buffer recyclers acquired by the thread
+ * that first used them, until session is closed.
+ * Note, too, that parsers can not be reused with <code>jackson-core</code>
+ * API, so one is still constructed for each read operation.
+ *<p>
+ * Buffer recyclers are acquired from the {@link com.fasterxml.jackson.jr.ob.impl.BufferRecyclerPool},
+ * if one is configured: for reads, just for the duration of the call; for writes,
+ * until {@link #close} is called.
+ *<p>
+ * Generators are kept open between calls, with root value separators
+ * disabled; this works for default pretty-printer, but custom
+ * {@link PrettyPrinter}s may still output their root value separator.
+ *
+ * @since 2.9
+ */
+public class JSONSession
+    implements Closeable
+{
+    /**
+     * Number of writes after which per-operation writers (and their type
+     * detectors) are discarded and re-created, to bound the amount of
+     * per-operation state (ids of Bean types encountered) they accumulate.
+     */
+    protected final static int MAX_WRITES_PER_WRITER = 1000;
+
+    protected final JSON _json;
+
+    /**
+     * Reusable reader instance, if one has been constructed (and not
+     * discarded due to a failure).
+     */
+    protected JSONReader _reader;
+
+    protected ByteOutputBuffer _bytes;
+
+    protected BufferRecycler _byteRecycler;
+
+    protected JsonGenerator _byteGenerator;
+
+    protected JSONWriter _byteWriter;
+
+    protected int _byteWrites;
+
+    protected CharArrayWriter _chars;
+
+    protected BufferRecycler _charRecycler;
+
+    protected JsonGenerator _charGenerator;
+
+    protected JSONWriter _charWriter;
+
+    protected int _charWrites;
+
+    protected JSONSession(JSON json) {
+        _json = json;
+    }
+
+    /*
+    /**********************************************************************
+    /* API: writing
+    /**********************************************************************
+     */
+
+    public String asString(Object value) throws IOException, JSONObjectException
+    {
+        if (_charWriter == null) {
+            if (_charGenerator == null) {
+                if (_chars == null) {
+                    _chars = new CharArrayWriter(200);
+                }
+                _charRecycler = _json._acquireRecycler();
+                try {
+                    _charGenerator = _generator(_json._generator(_chars, _charRecycler));
+                } finally {
+                    if (_charGenerator == null) {
+                        _discardCharGenerator();
+                    }
+                }
+            }
+            _charWriter = _json._writerForOperation(_charGenerator);
+            _charWrites = 0;
+        }
+        _chars.reset();
+        try {
+            _charWriter.writeValue(value);
+            _charGenerator.flush();
+        } catch (IOException e) {
+            _discardCharGenerator();
+            throw e;
+        } catch (RuntimeException e) {
+            _discardCharGenerator();
+            throw e;
+        }
+        if (++_charWrites == MAX_WRITES_PER_WRITER) {
+            _charWriter = null;
+        }
+        return _chars.toString();
+    }
+
+    public byte[] asBytes(Object value) throws IOException, JSONObjectException
+    {
+        return asBuffer(value).toByteArray();
+    }
+
+    /**
+     * Method for writing given value as UTF-8 encoded JSON into the reusable
+     * byte buffer this session owns, and returning that buffer.
+     * Contents of the returned buffer are only valid until the next write
+     * operation using this session.
+     */
+    public ByteOutputBuffer asBuffer(Object value) throws IOException, JSONObjectException
+    {
+        if (_byteWriter == null) {
+            if (_byteGenerator == null) {
+                if (_bytes == null) {
+                    _bytes = new ByteOutputBuffer();
+                }
+                _byteRecycler = _json._acquireRecycler();
+                try {
+                    _byteGenerator = _generator(_json._generator(_bytes, _byteRecycler));
+                } finally {
+                    if (_byteGenerator == null) {
+                        _discardByteGenerator();
+                    }
+                }
+            }
+            _byteWriter = _json._writerForOperation(_byteGenerator);
+            _byteWrites = 0;
+        }
+        _bytes.reset();
+        try {
+            _byteWriter.writeValue(value);
+            _byteGenerator.flush();
+        } catch (IOException e) {
+            _discardByteGenerator();
+            throw e;
+        } catch (RuntimeException e) {
+            _discardByteGenerator();
+            throw e;
+        }
+        if (++_byteWrites == MAX_WRITES_PER_WRITER) {
+            _byteWriter = null;
+        }
+        return _bytes;
+    }
+
+    /*
+    /**********************************************************************
+    /* API: reading
+    /**********************************************************************
+     */
+
+    public Object anyFrom(Object source) throws IOException, JSONObjectException
+    {
+        final BufferRecycler br = _json._acquireRecycler();
+        JsonParser p = null;
+        try {
+            p = _parser(source, br);
+            Object result = _reader(p).readValue();
+            JsonParser p0 = p;
+            p = null;
+            _json._close(p0, null);
+            return result;
+        } catch (Exception e) {
+            _reader = null;
+            _json._close(p, e);
+            return null;
+        } finally {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Map<T,Object> mapFrom(Object source) throws IOException, JSONObjectException
+    {
+        final BufferRecycler br = _json._acquireRecycler();
+        JsonParser p = null;
+        try {
+            p = _parser(source, br);
+            Map<Object,Object> result = _reader(p).readMap();
+            JsonParser p0 = p;
+            p = null;
+            _json._close(p0, null);
+            return (Map<T,Object>) result;
+        } catch (Exception e) {
+            _reader = null;
+            _json._close(p, e);
+            return null;
+        } finally {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    public List<Object> listFrom(Object source) throws IOException, JSONObjectException
+    {
+        final BufferRecycler br = _json._acquireRecycler();
+        JsonParser p = null;
+        try {
+            p = _parser(source, br);
+            List<Object> result = _reader(p).readList();
+            JsonParser p0 = p;
+            p = null;
+            _json._close(p0, null);
+            return result;
+        } catch (Exception e) {
+            _reader = null;
+            _json._close(p, e);
+            return null;
+        } finally {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    public <T> List<T> listOfFrom(Class<T> type, Object source) throws IOException, JSONObjectException
+    {
+        final BufferRecycler br = _json._acquireRecycler();
+        JsonParser p = null;
+        try {
+            p = _parser(source, br);
+            List<T> result = _reader(p).readListOf(type);
+            JsonParser p0 = p;
+            p = null;
+            _json._close(p0, null);
+            return result;
+        } catch (Exception e) {
+            _reader = null;
+            _json._close(p, e);
+            return null;
+        } finally {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    public <T> T beanFrom(Class<T> type, Object source) throws IOException, JSONObjectException
+    {
+        final BufferRecycler br = _json._acquireRecycler();
+        JsonParser p = null;
+        try {
+            p = _parser(source, br);
+            T result = _reader(p).readBean(type);
+            JsonParser p0 = p;
+            p = null;
+            _json._close(p0, null);
+            return result;
+        } catch (Exception e) {
+            _reader = null;
+            _json._close(p, e);
+            return null;
+        } finally {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Closeable
+    /**********************************************************************
+     */
+
+    /**
+     * Method that will release any resources (like recyclable buffers of
+     * generators, and buffer recyclers acquired from a pool) held by this
+     * session. Session may still be used after closing, but will then need
+     * to re-create these resources.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (_byteGenerator != null) {
+            _discardByteGenerator();
+        }
+        if (_charGenerator != null) {
+            _discardCharGenerator();
+        }
+        _reader = null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected JSONReader _reader(JsonParser p)
+    {
+        if (_reader == null) {
+            _reader = _json._readerForOperation(p);
+            return _reader;
+        }
+        return _reader.reuseFor(p);
+    }
+
+    protected JsonParser _parser(Object source, BufferRecycler br) throws IOException
+    {
+        if (source instanceof JsonParser) {
+            throw new IllegalArgumentException("Can not use JsonParser as source for "
+                    +getClass().getSimpleName()+"; use JSON read methods instead");
+        }
+        return _json._initForReading(_json._config(_json._parser(source, br)));
+    }
+
+    protected JsonGenerator _generator(JsonGenerator g)
+    {
+        _json._config(g);
+        // Since generator is kept open, must prevent separators between root values
+        g.setRootValueSeparator(null);
+        PrettyPrinter pp = g.getPrettyPrinter();
+        if (pp instanceof DefaultPrettyPrinter) {
+            g.setPrettyPrinter(((DefaultPrettyPrinter) pp).withRootSeparator((SerializableString) null));
+        }
+        return g;
+    }
+
+    protected void _discardByteGenerator()
+    {
+        JsonGenerator g = _byteGenerator;
+        BufferRecycler br = _byteRecycler;
+        _byteGenerator = null;
+        _byteWriter = null;
+        _byteRecycler = null;
+        if (g != null) {
+            _json._close(g);
+        }
+        if (br != null) {
+            _json._releaseRecycler(br);
+        }
+    }
+
+    protected void _discardCharGenerator()
+    {
+        JsonGenerator g = _charGenerator;
+        BufferRecycler br = _charRecycler;
+        _charGenerator = null;
+        _charWriter = null;
+        _charRecycler = null;
+        if (g != null) {
+            _json._close(g);
+        }
+        if (br != null) {
+            _json._releaseRecycler(br);
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.fasterxml.jackson.jr.ob.impl;
 import static com.fasterxml.jackson.core.JsonTokenId.*;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.TreeNode;
 
 import com.fasterxml.jackson.jr.ob.*;
 
@@ -85,6 +88,64 @@ public class AnyReader extends ValueReader
         throw JSONObjectException.from(p, "Unexpected value token: "+_tokenDesc(p));
     }
 
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException
+    {
+        if (node == null) {
+            return null;
+        }
+        final JSONReader r = binder._reader;
+        if (node.isObject()) {
+            MapBuilder b = r._mapBuilder;
+            Iterator<String> it = node.fieldNames();
+            if (!it.hasNext()) {
+                return b.emptyMap();
+            }
+            b = b.start();
+            do {
+                String name = it.next();
+                b = b.put(fromKey(name), binder.read(this, node.get(name)));
+            } while (it.hasNext());
+            return b.build();
+        }
+        if (node.isArray()) {
+            CollectionBuilder b = r._collectionBuilder;
+            final int len = node.size();
+            if (len == 0) {
+                return r.arraysAsLists() ? b.emptyCollection() : b.emptyArray();
+            }
+            b = b.start();
+            for (int i = 0; i < len; ++i) {
+                b = b.add(binder.read(this, node.get(i)));
+            }
+            return r.arraysAsLists() ? b.buildCollection() : b.buildArray();
+        }
+        Object value = binder.scalarValue(node);
+        switch (node.asToken()) {
+        case VALUE_STRING:
+            return fromString((String) value);
+        case VALUE_TRUE:
+            return fromBoolean(true);
+        case VALUE_FALSE:
+            return fromBoolean(false);
+        case VALUE_NUMBER_FLOAT:
+            if (JSON.Feature.USE_BIG_DECIMAL_FOR_FLOATS.isEnabled(r._features)
+                    && !(value instanceof BigDecimal)) {
+                if (value instanceof BigInteger) {
+                    return new BigDecimal((BigInteger) value);
+                }
+                return new BigDecimal(value.toString());
+            }
+            return value;
+        case VALUE_NUMBER_INT:
+            return value;
+        case VALUE_EMBEDDED_OBJECT:
+            return fromEmbedded(value);
+        default:
+        }
+        throw binder._unexpected(node, "a value");
+    }
+
     public Map<Object,Object> readFromObject(JSONReader r, JsonParser p, MapBuilder b) throws IOException
     {
         // First, a minor optimization for empty Maps
@@ -58,4 +58,28 @@ public class ArrayReader extends ValueReader
         } while (p.nextToken() != JsonToken.END_ARRAY);
         return b.buildArray(_elementType);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException {
+        if (node == null) {
+            return null;
+        }
+        if (!node.isArray()) {
+            throw binder._unexpected(node, "JSON Array");
+        }
+        CollectionBuilder b = binder._reader._collectionBuilder(null);
+        final int len = node.size();
+        if (len == 0) {
+            return b.emptyArray(_elementType);
+        }
+        Object value = binder.read(_valueReader, node.get(0));
+        if (len == 1) {
+            return b.singletonArray(_elementType, value);
+        }
+        b = b.start().add(value);
+        for (int i = 1; i < len; ++i) {
+            b = b.add(binder.read(_valueReader, node.get(i)));
+        }
+        return b.buildArray(_elementType);
+    }
+}
@@ -2,10 +2,12 @@ package com.fasterxml.jackson.jr.ob.impl;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.Iterator;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.jr.ob.JSON;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 
@@ -141,6 +143,45 @@ public class BeanReader
                 _type.getName(), _tokenDesc(p));
     }
     
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException
+    {
+        if (node == null) {
+            return null;
+        }
+        try {
+            if (node.isObject()) {
+                Object bean = create();
+                for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                    String propName = it.next();
+                    BeanPropertyReader prop = findProperty(propName);
+                    if (prop == null) {
+                        handleUnknown(binder._reader, propName);
+                        continue;
+                    }
+                    prop.setValueFor(bean, binder.read(prop.getReader(), node.get(propName)));
+                }
+                return bean;
+            }
+            if (!node.isContainerNode()) {
+                Object value = binder.scalarValue(node);
+                if (value instanceof String) {
+                    return create((String) value);
+                }
+                if (node.asToken() == JsonToken.VALUE_NUMBER_INT) {
+                    return create(((Number) value).longValue());
+                }
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JSONObjectException(String.format(
+                    "Failed to create an instance of %s due to (%s): %s",
+                    _type.getName(), e.getClass().getName(), e.getMessage()), e);
+        }
+        throw binder._mismatch(_type, node);
+    }
+
     protected Object create() throws Exception {
         if (_defaultCtor == null) {
             throw new IllegalStateException("Class "+_type.getName()+" does not have default constructor to use");
@@ -171,6 +212,19 @@ public class BeanReader
         parser.skipChildren();
     }
 
+    /**
+     * Variant of {@link #handleUnknown(JSONReader, JsonParser, String)} used when
+     * binding from trees: there is nothing to skip.
+     *
+     * @since 2.9
+     */
+    protected void handleUnknown(JSONReader reader, String fieldName) throws IOException {
+        if (JSON.Feature.FAIL_ON_UNKNOWN_BEAN_PROPERTY.isEnabled(reader._features)) {
+            throw new JSONObjectException("Unrecognized JSON property '"
+                    +fieldName+"' for Bean type "+_type.getName());
+        }
+    }
+
     protected IOException _reportProblem(JsonParser p) {
         return JSONObjectException.from(p, "Unexpected token "+p.getCurrentToken()+"; should get FIELD_NAME or END_OBJECT");
     }
@@ -0,0 +1,195 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * Pool of {@link BufferRecycler} instances, used as an alternative to the
+ * default per-thread recycling that <code>jackson-core</code> uses.
+ * Thread-local recycling works well with small number of long-lived threads,
+ * but not with large number of short-lived threads (such as per-request
+ * threads, or virtual threads), where recycled buffers are rarely reused
+ * and each thread retains its own set of buffers.
+ *<p>
+ * Pool is used by configuring {@link com.fasterxml.jackson.jr.ob.JSON} with
+ * {@link com.fasterxml.jackson.jr.ob.JSON#with(BufferRecyclerPool)}; each
+ * read or write operation then acquires a recycler for its duration and
+ * releases it afterwards. Composers and sequence writers hold one until
+ * finished or closed. Parsers and generators constructed directly using
+ * the streaming factory, or via <code>ObjectCodec</code> returned by
+ * {@link com.fasterxml.jackson.jr.ob.JSON#asCodec()}, use the default
+ * thread-local recycling.
+ *<p>
+ * Pools keep simple usage statistics, accessible with {@link #getHitCount()},
+ * {@link #getMissCount()} and related methods.
+ *
+ * @since 2.9
+ */
+public abstract class BufferRecyclerPool
+{
+    protected final AtomicLong _hits = new AtomicLong();
+    protected final AtomicLong _misses = new AtomicLong();
+    protected final AtomicLong _drops = new AtomicLong();
+
+    /**
+     * Factory method for constructing the default pool implementation,
+     * {@link Bounded}, with specified maximum number of pooled recyclers.
+     */
+    public static BufferRecyclerPool bounded(int maxPooled) {
+        return new Bounded(maxPooled);
+    }
+
+    /*
+    /**********************************************************************
+    /* Abstract API
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to get a {@link BufferRecycler} for exclusive use by
+     * caller, until it is returned by calling {@link #release}.
+     * Will either return a pooled instance, or construct a new one.
+     */
+    public abstract BufferRecycler acquire();
+
+    /**
+     * Method called to return a recycler previously gotten using {@link #acquire};
+     * caller may not use it after the call.
+     */
+    public abstract void release(BufferRecycler br);
+
+    /*
+    /**********************************************************************
+    /* Metrics
+    /**********************************************************************
+     */
+
+    /**
+     * Number of {@link #acquire} calls that were served by a pooled instance.
+     */
+    public long getHitCount() {
+        return _hits.get();
+    }
+
+    /**
+     * Number of {@link #acquire} calls that required construction of a new
+     * recycler.
+     */
+    public long getMissCount() {
+        return _misses.get();
+    }
+
+    /**
+     * Number of {@link #release} calls for which recycler was discarded
+     * since pool was full.
+     */
+    public long getDropCount() {
+        return _drops.get();
+    }
+
+    /**
+     * Ratio of acquisitions served from the pool; 0.0 if none yet made.
+     */
+    public double getHitRate() {
+        long hits = _hits.get();
+        long total = hits + _misses.get();
+        return (total == 0L) ? 0.0 : ((double) hits) / total;
+    }
+
+    /*
+    /**********************************************************************
+    /* Default implementation
+    /**********************************************************************
+     */
+
+    /**
+     * Default pool implementation: fixed-size, lock-free, shared between all
+     * threads. Recyclers are stored in slots of an {@link AtomicReferenceArray}
+     * (one per pooled recycler, so that at most the configured number are
+     * retained); both acquisition and release scan slots starting from a
+     * thread-dependant offset (to reduce contention) and claim one with
+     * compare-and-set.
+     * If no pooled instance is available, a new one is constructed; if
+     * there is no room for a released one, it is simply dropped.
+     */
+    public static class Bounded extends BufferRecyclerPool
+    {
+        protected final AtomicReferenceArray<BufferRecycler> _slots;
+
+        public Bounded(int maxPooled)
+        {
+            if (maxPooled < 1) {
+                throw new IllegalArgumentException("Invalid pool size ("+maxPooled+"): must be at least 1");
+            }
+            _slots = new AtomicReferenceArray<BufferRecycler>(maxPooled);
+        }
+
+        @Override
+        public BufferRecycler acquire()
+        {
+            final int len = _slots.length();
+            int ix = _start(len);
+            for (int i = 0; i < len; ++i) {
+                BufferRecycler br = _slots.get(ix);
+                if ((br != null) && _slots.compareAndSet(ix, br, null)) {
+                    _hits.incrementAndGet();
+                    return br;
+                }
+                if (++ix == len) {
+                    ix = 0;
+                }
+            }
+            _misses.incrementAndGet();
+            return new BufferRecycler();
+        }
+
+        @Override
+        public void release(BufferRecycler br)
+        {
+            final int len = _slots.length();
+            int ix = _start(len);
+            for (int i = 0; i < len; ++i) {
+                if ((_slots.get(ix) == null) && _slots.compareAndSet(ix, null, br)) {
+                    return;
+                }
+                if (++ix == len) {
+                    ix = 0;
+                }
+            }
+            _drops.incrementAndGet();
+        }
+
+        /**
+         * Accessor for number of recyclers currently pooled; only approximate
+         * with concurrent access.
+         */
+        public int pooledCount()
+        {
+            int count = 0;
+            for (int i = 0, len = _slots.length(); i < len; ++i) {
+                if (_slots.get(i) != null) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Accessor for maximum number of recyclers pooled.
+         */
+        public int capacity() {
+            return _slots.length();
+        }
+
+        /**
+         * @param len Number of slots
+         *
+         * @return Index of slot to start scanning from, for the current thread
+         */
+        protected int _start(int len) {
+            return (int) ((Thread.currentThread().getId() & Long.MAX_VALUE) % len);
+        }
+    }
+}
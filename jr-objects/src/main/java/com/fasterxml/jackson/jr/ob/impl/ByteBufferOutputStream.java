@@ -0,0 +1,75 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Simple {@link OutputStream} implementation that writes contents directly
+ * into given {@link ByteBuffer} (heap or direct), without intermediate copies.
+ * If buffer does not have enough room for content, a
+ * {@link BufferOverflowException} is thrown; nothing is written in that case
+ * for the call that failed.
+ *<p>
+ * Note that closing of the stream does NOT affect the underlying buffer.
+ *
+ * @since 2.9
+ */
+public class ByteBufferOutputStream extends OutputStream
+{
+    protected final ByteBuffer _buffer;
+
+    protected final int _startPosition;
+
+    public ByteBufferOutputStream(ByteBuffer buf) {
+        _buffer = buf;
+        _startPosition = buf.position();
+    }
+
+    /*
+    /**********************************************************************
+    /* OutputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        _buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        _buffer.put(b, off, len);
+    }
+
+    @Override
+    public void close() { }
+
+    /*
+    /**********************************************************************
+    /* Extended API
+    /**********************************************************************
+     */
+
+    public ByteBuffer getBuffer() {
+        return _buffer;
+    }
+
+    /**
+     * Accessor for finding number of bytes written via this stream
+     * (since construction or last {@link #rewind()}).
+     */
+    public int bytesWritten() {
+        return _buffer.position() - _startPosition;
+    }
+
+    /**
+     * Method for discarding anything written via this stream, by resetting
+     * position of the underlying buffer back to where it was when stream
+     * was constructed.
+     */
+    public void rewind() {
+        _buffer.position(_startPosition);
+    }
+}
@@ -0,0 +1,124 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Simple growable byte buffer meant for reuse across multiple write operations,
+ * to avoid having to allocate a new <code>byte[]</code> for each serialized
+ * value: caller calls {@link #reset()} between uses, and accesses contents
+ * with {@link #array()} and {@link #length()}.
+ *<p>
+ * Instances are not thread-safe; typical usage is to keep one instance
+ * per thread (or per connection).
+ *
+ * @since 2.9
+ */
+public class ByteOutputBuffer extends OutputStream
+{
+    protected final static int DEFAULT_INITIAL_SIZE = 1000;
+
+    /**
+     * Let's try to avoid "too big" increases; cap growth at 256k per step.
+     */
+    protected final static int MAX_GROWTH = 256 * 1024;
+
+    protected byte[] _buffer;
+
+    protected int _length;
+
+    public ByteOutputBuffer() {
+        this(DEFAULT_INITIAL_SIZE);
+    }
+
+    public ByteOutputBuffer(int initialSize) {
+        _buffer = new byte[Math.max(16, initialSize)];
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for clearing contents of the buffer, without releasing
+     * underlying array.
+     */
+    public ByteOutputBuffer reset() {
+        _length = 0;
+        return this;
+    }
+
+    /**
+     * Accessor for the underlying array; note that only first {@link #length()}
+     * bytes contain valid content. Array may change when buffer needs to grow,
+     * so caller should not hold on to it across writes.
+     */
+    public byte[] array() {
+        return _buffer;
+    }
+
+    public int length() {
+        return _length;
+    }
+
+    /**
+     * Accessor for the current capacity of the buffer (length of the underlying
+     * array).
+     */
+    public int capacity() {
+        return _buffer.length;
+    }
+
+    /**
+     * Method for constructing a copy of the current contents of the buffer;
+     * unlike {@link #array()}, this requires allocation.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(_buffer, _length);
+    }
+
+    /*
+    /**********************************************************************
+    /* OutputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        if (_length >= _buffer.length) {
+            _grow(1);
+        }
+        _buffer[_length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if ((_length + len) > _buffer.length) {
+            _grow(len);
+        }
+        System.arraycopy(b, off, _buffer, _length, len);
+        _length += len;
+    }
+
+    @Override
+    public void close() { }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected void _grow(int needed)
+    {
+        final int len = _buffer.length;
+        int newLen = len + Math.min(len, MAX_GROWTH);
+        if (newLen < _length + needed) {
+            newLen = _length + needed;
+        }
+        _buffer = Arrays.copyOf(_buffer, newLen);
+    }
+}
@@ -0,0 +1,64 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+/**
+ * Container for a value held in one of shared type caches (of
+ * {@link TypeDetector} and {@link POJODefinition}), along with the type
+ * it was resolved for and access statistics used for diagnostics
+ * (see {@link com.fasterxml.jackson.jr.ob.JSON#cacheStats()}).
+ *<p>
+ * Statistics are updated without synchronization, to keep lookups cheap:
+ * hit counts may miss some concurrent updates. To avoid reading the clock
+ * on every lookup, access time is only updated for the first 16 hits, and
+ * on every 16th hit after that.
+ *
+ * @since 2.9
+ */
+public class CacheEntry<T>
+{
+    protected final Class<?> _type;
+
+    protected final int _features;
+
+    protected final T _value;
+
+    protected final long _created;
+
+    protected int _hits;
+
+    protected long _lastAccess;
+
+    public CacheEntry(Class<?> type, int features, T value)
+    {
+        _type = type;
+        _features = features;
+        _value = value;
+        _created = _lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Accessor for value, called on cache hits: updates access statistics.
+     */
+    public T access()
+    {
+        final int hits = ++_hits;
+        if ((hits < 16) || ((hits & 0xF) == 0)) {
+            _lastAccess = System.currentTimeMillis();
+        }
+        return _value;
+    }
+
+    /**
+     * Accessor for value that does not update access statistics.
+     */
+    public T value() { return _value; }
+
+    public Class<?> type() { return _type; }
+
+    public int features() { return _features; }
+
+    public int hitCount() { return _hits; }
+
+    public long created() { return _created; }
+
+    public long lastAccess() { return _lastAccess; }
+}
@@ -0,0 +1,62 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Simple {@link OutputStream} implementation that writes contents into
+ * given {@link WritableByteChannel}, by wrapping (not copying) chunks
+ * passed by the generator.
+ *<p>
+ * Note that channels are assumed to be in blocking mode: partial writes
+ * are retried until all content has been written.
+ * Also note that closing of the stream does NOT close the underlying channel,
+ * since channels are typically longer-lived than a single write operation.
+ *
+ * @since 2.9
+ */
+public class ChannelOutputStream extends OutputStream
+{
+    protected final WritableByteChannel _channel;
+
+    protected long _bytesWritten;
+
+    public ChannelOutputStream(WritableByteChannel ch) {
+        _channel = ch;
+    }
+
+    /*
+    /**********************************************************************
+    /* OutputStream implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ByteBuffer bb = ByteBuffer.wrap(b, off, len);
+        while (bb.hasRemaining()) {
+            _channel.write(bb);
+        }
+        _bytesWritten += len;
+    }
+
+    @Override
+    public void close() { }
+
+    /*
+    /**********************************************************************
+    /* Extended API
+    /**********************************************************************
+     */
+
+    public long bytesWritten() {
+        return _bytesWritten;
+    }
+}
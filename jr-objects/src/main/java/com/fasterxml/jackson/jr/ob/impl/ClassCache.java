@@ -0,0 +1,233 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent cache of per-class {@link CacheEntry}s (used by {@link TypeDetector},
+ * {@link POJODefinition} and {@link com.fasterxml.jackson.jr.type.TypeResolver}),
+ * designed so that cached entries do not prevent unloading of classes
+ * (and their class loaders), for example when web applications are redeployed.
+ *<p>
+ * Since cached values refer to their classes (if not directly, then via
+ * reflection objects), weak keys alone would not allow classes to be collected.
+ * Instead, entries for classes loaded by descendants of the class loader
+ * that loaded Jackson jr (like web application classes, when Jackson jr is
+ * loaded by a shared loader) are held strongly by the class itself (using
+ * <code>java.lang.ClassValue</code>), and only weakly by the cache: they are
+ * retained as long as the class is, and removed from cache once class has been
+ * collected. Entries for other classes (like JDK types, that can not be
+ * unloaded before Jackson jr itself) are held strongly.
+ *<p>
+ * On platforms without <code>ClassValue</code> (Java 6, older Android versions)
+ * all entries are held strongly, and retained until cache is cleared.
+ *
+ * @since 2.9
+ */
+public final class ClassCache<E extends CacheEntry<?>>
+{
+    private final static ClassLoader OWN_LOADER = ClassCache.class.getClassLoader();
+
+    /**
+     * Helper object used for anchoring entries to their classes; <code>null</code>
+     * if not supported by platform.
+     */
+    private final static Anchors ANCHORS = Anchors.find();
+
+    /**
+     * Cached entries, either directly (for entries held strongly),
+     * or as {@link EntryReference}s.
+     */
+    private final ConcurrentHashMap<ClassKey, Object> _entries;
+
+    /**
+     * Queue for references of keys of collected classes.
+     */
+    private final ReferenceQueue<Class<?>> _queue = new ReferenceQueue<Class<?>>();
+
+    public ClassCache(int initialCapacity) {
+        _entries = new ConcurrentHashMap<ClassKey, Object>(initialCapacity, 0.75f, 4);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public E get(ClassKey key) {
+        return _entry(_entries.get(key));
+    }
+
+    /**
+     * Method for adding given entry in cache, unless there already is an
+     * entry for the same type and features: if so, that entry is returned
+     * instead.
+     */
+    public E putIfAbsent(E entry)
+    {
+        _expungeStale();
+        final Class<?> type = entry.type();
+        if ((ANCHORS == null) || !_isDescendantLoader(type.getClassLoader())) {
+            Object old = _entries.putIfAbsent(new ClassKey(type, entry.features()), entry);
+            return (old == null) ? entry : _entry(old);
+        }
+        ANCHORS.pin(type, entry);
+        ClassKey key = new ClassKey(type, entry.features(), _queue);
+        EntryReference ref = new EntryReference(entry);
+        Object old = _entries.putIfAbsent(key, ref);
+        if (old != null) {
+            E oldEntry = _entry(old);
+            if (oldEntry != null) {
+                ANCHORS.unpin(type, entry);
+                return oldEntry;
+            }
+            // should not occur (entries live as long as their class), but just in case
+            _entries.put(key, ref);
+        }
+        return entry;
+    }
+
+    /**
+     * Method for removing all entries.
+     */
+    public void clear()
+    {
+        if (ANCHORS != null) {
+            for (Object ob : _entries.values()) {
+                CacheEntry<?> entry = _entry(ob);
+                if ((entry != null) && (ob != entry)) {
+                    ANCHORS.unpin(entry.type(), entry);
+                }
+            }
+        }
+        _entries.clear();
+    }
+
+    /**
+     * Approximate number of entries: may include entries for classes that
+     * have been collected very recently.
+     */
+    public int size() {
+        _expungeStale();
+        return _entries.size();
+    }
+
+    /**
+     * Accessor for snapshot of current entries.
+     */
+    public List<E> entries()
+    {
+        _expungeStale();
+        List<E> result = new ArrayList<E>(_entries.size());
+        for (Object ob : _entries.values()) {
+            E entry = _entry(ob);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    @SuppressWarnings("unchecked")
+    private E _entry(Object ob) {
+        if (ob instanceof EntryReference) {
+            return (E) ((EntryReference) ob).get();
+        }
+        return (E) ob;
+    }
+
+    private void _expungeStale()
+    {
+        Reference<? extends Class<?>> ref;
+        while ((ref = _queue.poll()) != null) {
+            _entries.remove(((ClassKey.KeyReference) ref).key);
+        }
+    }
+
+    /**
+     * Helper method for checking whether given class loader is a (strict)
+     * descendant of the loader that loaded Jackson jr.
+     */
+    private static boolean _isDescendantLoader(ClassLoader loader)
+    {
+        if ((loader == null) || (loader == OWN_LOADER)) {
+            return false;
+        }
+        try {
+            for (ClassLoader l = loader.getParent(); l != null; l = l.getParent()) {
+                if (l == OWN_LOADER) {
+                    return true;
+                }
+            }
+        } catch (SecurityException e) {
+            return false;
+        }
+        // if loaded by bootstrap loader, all loaders are descendants
+        return (OWN_LOADER == null);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    private final static class EntryReference extends WeakReference<CacheEntry<?>>
+    {
+        EntryReference(CacheEntry<?> entry) {
+            super(entry);
+        }
+    }
+
+    /**
+     * Abstraction for holding values strongly from classes, to isolate
+     * dependency to <code>ClassValue</code> (which is only available on
+     * Java 7 and above).
+     */
+    abstract static class Anchors
+    {
+        public abstract void pin(Class<?> type, Object value);
+
+        public abstract void unpin(Class<?> type, Object value);
+
+        static Anchors find() {
+            // Must be loaded dynamically, to allow running on platforms without ClassValue
+            try {
+                Class<?> impl = Class.forName(ClassCache.class.getName()+"$ClassValueAnchors");
+                return (Anchors) impl.getDeclaredConstructor().newInstance();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+    }
+
+    final static class ClassValueAnchors extends Anchors
+    {
+        private final ClassValue<Set<Object>> _values = new ClassValue<Set<Object>>() {
+            @Override
+            protected Set<Object> computeValue(Class<?> type) {
+                return Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>(4, 0.75f, 2));
+            }
+        };
+
+        @Override
+        public void pin(Class<?> type, Object value) {
+            _values.get(type).add(value);
+        }
+
+        @Override
+        public void unpin(Class<?> type, Object value) {
+            _values.get(type).remove(value);
+        }
+    }
+}
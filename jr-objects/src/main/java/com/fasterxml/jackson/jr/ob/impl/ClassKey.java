@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.jr.ob.impl;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
 /**
  * Key class, used as an efficient and accurate key
  * for locating per-class values from {@link java.util.Map}s.
@@ -14,6 +17,9 @@ package com.fasterxml.jackson.jr.ob.impl;
  *<p>
  * Note: since class is not strictly immutable, caller must
  * know what it is doing, if changing field values.
+ *<p>
+ * Since 2.9, keys may also refer to class weakly (see {@link ClassCache});
+ * such keys are only equal to themselves once class has been collected.
  */
 public final class ClassKey
 {
@@ -35,6 +41,14 @@ public final class ClassKey
      */
     private int _hashCode;
 
+    /**
+     * Weak reference to class, used instead of {@link #_class} for keys
+     * that should not prevent class from being unloaded.
+     *
+     * @since 2.9
+     */
+    private KeyReference _classRef;
+
     public ClassKey() 
     {
         _class = null;
@@ -50,15 +64,44 @@ public final class ClassKey
         _hashCode = _className.hashCode() + flags;
     }
 
+    /**
+     * Constructor for keys that only refer to class weakly: reference
+     * is enqueued to given queue once class has been collected.
+     *
+     * @since 2.9
+     */
+    ClassKey(Class<?> clz, int flags, ReferenceQueue<Class<?>> queue)
+    {
+        _class = null;
+        _classRef = new KeyReference(clz, this, queue);
+        _flags = flags;
+        _className = clz.getName();
+        _hashCode = _className.hashCode() + flags;
+    }
+
     public ClassKey with(Class<?> clz, int flags)
     {
         _class = clz;
         _className = clz.getName();
         _hashCode = _className.hashCode() + flags;
         _flags = flags;
+        _classRef = null;
         return this;
     }
 
+    /**
+     * Accessor for class this key is for; <code>null</code> if key only
+     * refers to class weakly and class has been collected.
+     *
+     * @since 2.9
+     */
+    public Class<?> rawClass() {
+        if (_class == null) {
+            return (_classRef == null) ? null : _classRef.get();
+        }
+        return _class;
+    }
+
     /*
     /**********************************************************
     /* Standard methods
@@ -81,10 +124,38 @@ public final class ClassKey
             && (other._className.equals(_className))
             && (other._class.getClassLoader() == _class.getClassLoader());
         */
-        return (other._flags == _flags) && (other._class == _class);
+        if (other._flags != _flags) return false;
+        if ((_classRef == null) && (other._classRef == null)) {
+            return (other._class == _class);
+        }
+        // weak key for collected class only equal to itself
+        Class<?> cls = rawClass();
+        return (cls != null) && (cls == other.rawClass());
     }
 
     @Override public int hashCode() { return _hashCode; }
 
     @Override public String toString() { return _className; }
+
+    /*
+    /**********************************************************
+    /* Helper classes
+    /**********************************************************
+     */
+
+    /**
+     * Weak reference to class of a key, which also links back to the key,
+     * so that stale entries may be removed once class has been collected.
+     *
+     * @since 2.9
+     */
+    final static class KeyReference extends WeakReference<Class<?>>
+    {
+        final ClassKey key;
+
+        KeyReference(Class<?> clz, ClassKey key, ReferenceQueue<Class<?>> queue) {
+            super(clz, queue);
+            this.key = key;
+        }
+    }
 }
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 
 /**
@@ -41,15 +42,36 @@ public class EnumReader extends ValueReader
     @Override
     public Object read(JSONReader reader, JsonParser p) throws IOException {
         if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
-            int ix = p.getIntValue();
-            if (ix < 0 || ix >= _byIndex.length) {
-                throw new JSONObjectException("Failed to bind Enum "+desc()+" with index "+ix
-                        +" (has "+_byIndex.length+" values)");
-            }
-            return _byIndex[ix];
+            return _enum(p.getIntValue());
         }
         return _enum(p.getValueAsString().trim());
     }
+
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException {
+        if (node == null) {
+            return null;
+        }
+        if (!node.isContainerNode()) {
+            Object value = binder.scalarValue(node);
+            if (node.asToken() == JsonToken.VALUE_NUMBER_INT) {
+                return _enum(((Number) value).intValue());
+            }
+            if (value != null) {
+                return _enum(value.toString().trim());
+            }
+        }
+        throw binder._mismatch(_byIndex[0].getClass(), node);
+    }
+
+    private Object _enum(int ix) throws IOException
+    {
+        if (ix < 0 || ix >= _byIndex.length) {
+            throw new JSONObjectException("Failed to bind Enum "+desc()+" with index "+ix
+                    +" (has "+_byIndex.length+" values)");
+        }
+        return _byIndex[ix];
+    }
     
     private Object _enum(String id) throws IOException
     {
@@ -4,6 +4,7 @@ import java.io.*;
 import java.util.*;
 
 import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 import com.fasterxml.jackson.jr.ob.JSON.Feature;
 
@@ -51,7 +52,12 @@ public class JSONReader
     /**********************************************************************
      */
 
-    protected final JsonParser _parser;
+    /**
+     * Parser used for reading; assigned for per-operation instances.
+     * Not final since 2.9, to allow reuse of per-operation instances
+     * via {@link #reuseFor}.
+     */
+    protected JsonParser _parser;
 
     /*
     /**********************************************************************
@@ -121,6 +127,40 @@ public class JSONReader
         if (_collectionBuilder == lb) return this;
         return _with(_features, _typeDetector, _treeCodec, lb, _mapBuilder);
     }
+
+    /**
+     * @since 2.9
+     */
+    public JSONReader with(TreeCodec tc) {
+        if (_treeCodec == tc) return this;
+        return _with(_features, _typeDetector, tc, _collectionBuilder, _mapBuilder);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public JSONReader with(JSONMetrics metrics) {
+        TypeDetector td = _typeDetector.withMetrics(metrics);
+        if (td == _typeDetector) return this;
+        return _with(_features, td, _treeCodec, _collectionBuilder, _mapBuilder);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public JSONMetrics metrics() {
+        return _typeDetector.metrics();
+    }
+
+    /**
+     * Accessor for the blueprint {@link TypeDetector} used; needed for
+     * accessing (and clearing) its caches.
+     *
+     * @since 2.9
+     */
+    public TypeDetector typeDetector() {
+        return _typeDetector;
+    }
     
     /**
      * Overridable method that all mutant factories call if a new instance
@@ -150,6 +190,21 @@ public class JSONReader
                 _typeDetector.perOperationInstance(features), p);
     }
 
+    /**
+     * Method for re-binding a per-operation instance to another parser, so that
+     * it (along with its {@link TypeDetector} and builders) may be reused for
+     * a sequence of read operations, instead of constructing a new instance
+     * for each one. Must NOT be called on blueprint instances; caller is
+     * responsible for ensuring that previous operation has completed.
+     *
+     * @since 2.9
+     */
+    public JSONReader reuseFor(JsonParser p)
+    {
+        _parser = p;
+        return this;
+    }
+
     /*
     /**********************************************************************
     /* Simple accessors
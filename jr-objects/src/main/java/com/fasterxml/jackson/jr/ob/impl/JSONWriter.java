@@ -7,6 +7,7 @@ import java.util.*;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 import com.fasterxml.jackson.jr.ob.JSON.Feature;
 
@@ -100,6 +101,34 @@ public class JSONWriter
         return _with(_features, _typeDetector, tc);
     }
 
+    /**
+     * @since 2.9
+     */
+    public JSONWriter with(JSONMetrics metrics) {
+        TypeDetector td = _typeDetector.withMetrics(metrics);
+        if (td == _typeDetector) {
+            return this;
+        }
+        return _with(_features, td, _treeCodec);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public JSONMetrics metrics() {
+        return _typeDetector.metrics();
+    }
+
+    /**
+     * Accessor for the blueprint {@link TypeDetector} used; needed for
+     * accessing (and clearing) its caches.
+     *
+     * @since 2.9
+     */
+    public TypeDetector typeDetector() {
+        return _typeDetector;
+    }
+
     /**
      * Overridable method that all mutant factories call if a new instance
      * is to be constructed
@@ -5,6 +5,7 @@ import java.util.*;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 
 /**
@@ -93,4 +94,30 @@ public class MapReader extends ValueReader
     protected IOException _reportProblem(JsonParser p) {
         return JSONObjectException.from(p, "Unexpected token "+p.getCurrentToken()+"; should get FIELD_NAME or END_OBJECT");
     }
+
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException {
+        if (node == null) {
+            return null;
+        }
+        if (!node.isObject()) {
+            throw binder._unexpected(node, "JSON Object");
+        }
+        MapBuilder b = binder._reader._mapBuilder(_mapType);
+        Iterator<String> it = node.fieldNames();
+        if (!it.hasNext()) {
+            return b.emptyMap();
+        }
+        String propName0 = it.next();
+        Object value = binder.read(_valueReader, node.get(propName0));
+        if (!it.hasNext()) {
+            return b.singletonMap(propName0, value);
+        }
+        b = b.start().put(propName0, value);
+        do {
+            String propName = it.next();
+            b = b.put(propName, binder.read(_valueReader, node.get(propName)));
+        } while (it.hasNext());
+        return b.build();
+    }
 }
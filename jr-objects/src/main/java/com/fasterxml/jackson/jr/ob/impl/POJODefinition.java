@@ -5,12 +5,17 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
 
 /**
  * Definition of a single Bean-style Java class, without assumptions
  * on usage for serialization or deserialization, used as input
  * for constructing bean readers and writers.
+ *<p>
+ * Definitions are shared by all {@link TypeDetector}s, regardless of
+ * {@link com.fasterxml.jackson.jr.ob.JSON.Feature}s enabled; as are
+ * (since 2.9) property writers constructed for properties.
  *
  * @since 2.8
  */
@@ -26,8 +31,12 @@ public class POJODefinition
     
     private final static Prop[] NO_PROPS = new Prop[0];
 
-    protected final static ConcurrentHashMap<Class<?>, POJODefinition> DEFS
-        = new ConcurrentHashMap<Class<?>, POJODefinition>(50, 0.75f, 4);
+    /**
+     * Cached definitions; since 2.9 does not prevent unloading of classes
+     * (see {@link ClassCache}).
+     */
+    protected final static ClassCache<CacheEntry<POJODefinition>> DEFS
+        = new ClassCache<CacheEntry<POJODefinition>>(50);
     
     protected final Class<?> _type;
 
@@ -57,18 +66,61 @@ public class POJODefinition
      */
     
     public static POJODefinition find(Class<?> forType) {
-        POJODefinition def = DEFS.get(forType);
-        if (def == null) {
-            def = _construct(forType);
+        return find(forType, JSONMetrics.nopInstance());
+    }
+
+    /**
+     * @since 2.9
+     */
+    public static POJODefinition find(Class<?> forType, JSONMetrics metrics) {
+        return find(forType, null, metrics);
+    }
+
+    /**
+     * Lookup method that uses given reusable key (if not <code>null</code>)
+     * for cache lookup, instead of constructing a new one.
+     *
+     * @since 2.9
+     */
+    static POJODefinition find(Class<?> forType, ClassKey key, JSONMetrics metrics) {
+        key = (key == null) ? new ClassKey(forType, 0) : key.with(forType, 0);
+        CacheEntry<POJODefinition> entry = DEFS.get(key);
+        if (entry == null) {
+            metrics.cacheMiss(JSONMetrics.Cache.POJO_DEFINITIONS, forType);
+            final long start = metrics.startTime();
+            POJODefinition def = _construct(forType);
+            metrics.introspected(forType, start);
             // Instead of trying to do LRU or just (which gets tricky with concurrent
             // access), let's just do "flush when full". In practice tends to work
             // quite well.
-            if (DEFS.size() >= MAX_CACHED) {
+            final int count = DEFS.size();
+            if (count >= MAX_CACHED) {
                 DEFS.clear();
+                metrics.cacheEvicted(JSONMetrics.Cache.POJO_DEFINITIONS, count);
             }
-            DEFS.putIfAbsent(forType, def);
+            DEFS.putIfAbsent(new CacheEntry<POJODefinition>(forType, 0, def));
+            return def;
         }
-        return def;
+        metrics.cacheHit(JSONMetrics.Cache.POJO_DEFINITIONS, forType);
+        return entry.access();
+    }
+
+    /**
+     * Accessor for snapshot of currently cached definitions.
+     *
+     * @since 2.9
+     */
+    public static Collection<CacheEntry<POJODefinition>> cacheEntries() {
+        return DEFS.entries();
+    }
+
+    /**
+     * Method for removing all cached definitions.
+     *
+     * @since 2.9
+     */
+    public static void clearCache() {
+        DEFS.clear();
     }
 
     public Prop[] properties() {
@@ -213,7 +265,16 @@ public class POJODefinition
 
         public Method setter, getter, isGetter;
         public Field field;
-        
+
+        /**
+         * Writers for this property, using getter, is-getter or field,
+         * lazily constructed and shared by differently configured
+         * {@link TypeDetector}s.
+         *
+         * @since 2.9
+         */
+        protected final BeanPropertyWriter[] _writers = new BeanPropertyWriter[3];
+
         public Prop(String name) {
             this.name = name;
         }
@@ -221,5 +282,35 @@ public class POJODefinition
         public boolean hasSetter() {
             return (setter != null) || (field != null);
         }
+
+        /**
+         * Accessor for shared writer that uses given accessor (getter or
+         * is-getter of this property; or field, if <code>null</code>), if one
+         * has been constructed.
+         *
+         * @since 2.9
+         */
+        public BeanPropertyWriter writer(Method accessor) {
+            return _writers[_writerIndex(accessor)];
+        }
+
+        /**
+         * Method for registering shared writer that uses given accessor.
+         * Not synchronized: concurrent calls may construct equivalent writers,
+         * one of which is retained.
+         *
+         * @since 2.9
+         */
+        public BeanPropertyWriter writer(Method accessor, BeanPropertyWriter w) {
+            _writers[_writerIndex(accessor)] = w;
+            return w;
+        }
+
+        private int _writerIndex(Method accessor) {
+            if (accessor == null) {
+                return 2;
+            }
+            return (accessor == getter) ? 0 : 1;
+        }
     }
 }
@@ -0,0 +1,115 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.*;
+import java.net.URL;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * {@link JsonFactory} extension that adds parser and generator factory methods
+ * that take an explicit {@link BufferRecycler}, instead of using the default
+ * thread-local one; used along with {@link BufferRecyclerPool} by
+ * {@link com.fasterxml.jackson.jr.ob.JSON} when it has been configured
+ * with a pool. All other configuration is copied from the source factory.
+ *
+ * @since 2.9
+ */
+public class PooledJsonFactory extends JsonFactory
+{
+    private static final long serialVersionUID = 1L;
+
+    protected final transient BufferRecyclerPool _recyclerPool;
+
+    public PooledJsonFactory(JsonFactory src, BufferRecyclerPool pool) {
+        super(src, src.getCodec());
+        _recyclerPool = pool;
+    }
+
+    @Override
+    public JsonFactory copy() {
+        return new PooledJsonFactory(this, _recyclerPool);
+    }
+
+    public BufferRecyclerPool getRecyclerPool() {
+        return _recyclerPool;
+    }
+
+    /*
+    /**********************************************************************
+    /* Parser construction with explicit recycler
+    /**********************************************************************
+     */
+
+    public JsonParser createParser(byte[] data, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, data, true);
+        if (_inputDecorator != null) {
+            InputStream in = _inputDecorator.decorate(ctxt, data, 0, data.length);
+            if (in != null) {
+                return _createParser(in, ctxt);
+            }
+        }
+        return _createParser(data, 0, data.length, ctxt);
+    }
+
+    public JsonParser createParser(String content, BufferRecycler br) throws IOException
+    {
+        final int strLen = content.length();
+        // as with the default factory, only copy reasonably short content
+        if (_inputDecorator != null || strLen > 0x8000 || !canUseCharArrays()) {
+            return createParser(new StringReader(content), br);
+        }
+        IOContext ctxt = new IOContext(br, content, true);
+        char[] buf = ctxt.allocTokenBuffer(strLen);
+        content.getChars(0, strLen, buf, 0);
+        return _createParser(buf, 0, strLen, ctxt, true);
+    }
+
+    public JsonParser createParser(InputStream in, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, in, false);
+        return _createParser(_decorate(in, ctxt), ctxt);
+    }
+
+    public JsonParser createParser(Reader r, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, r, false);
+        return _createParser(_decorate(r, ctxt), ctxt);
+    }
+
+    public JsonParser createParser(URL url, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, url, true);
+        InputStream in = _optimizedStreamFromURL(url);
+        return _createParser(_decorate(in, ctxt), ctxt);
+    }
+
+    /*
+    /**********************************************************************
+    /* Generator construction with explicit recycler
+    /**********************************************************************
+     */
+
+    public JsonGenerator createGenerator(OutputStream out, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, out, false);
+        ctxt.setEncoding(JsonEncoding.UTF8);
+        return _createUTF8Generator(_decorate(out, ctxt), ctxt);
+    }
+
+    public JsonGenerator createGenerator(Writer w, BufferRecycler br) throws IOException
+    {
+        IOContext ctxt = new IOContext(br, w, false);
+        return _createGenerator(_decorate(w, ctxt), ctxt);
+    }
+
+    public JsonGenerator createGenerator(File f, BufferRecycler br) throws IOException
+    {
+        OutputStream out = new FileOutputStream(f);
+        IOContext ctxt = new IOContext(br, out, true);
+        ctxt.setEncoding(JsonEncoding.UTF8);
+        return _createUTF8Generator(_decorate(out, ctxt), ctxt);
+    }
+}
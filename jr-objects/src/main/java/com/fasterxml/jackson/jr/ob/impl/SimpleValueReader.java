@@ -4,12 +4,15 @@ import static com.fasterxml.jackson.jr.ob.impl.TypeDetector.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.jr.ob.JSONObjectException;
 
 /**
@@ -165,6 +168,109 @@ public class SimpleValueReader extends ValueReader
                 "Can not create a "+_rawType.getName()+" instance out of "+_tokenDesc(p));
     }    
 
+    @Override
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException
+    {
+        if (_typeId == SER_TREE_NODE) {
+            return node;
+        }
+        if (node == null) {
+            return _nullValue();
+        }
+        if (!node.isContainerNode()) {
+            // NOTE: only direct conversions here; coercions (like from String to
+            // number) are handled by token-based reading, same as for JSON content
+            Object value = binder.scalarValue(node);
+            switch (_typeId) {
+            case SER_STRING:
+            case SER_CHARACTER_SEQUENCE:
+                if (value instanceof String) {
+                    return value;
+                }
+                break;
+            case SER_CHAR_ARRAY:
+                if (value instanceof String) {
+                    return ((String) value).toCharArray();
+                }
+                break;
+            case SER_BOOLEAN:
+                if (value instanceof Boolean) {
+                    return value;
+                }
+                break;
+            case SER_NUMBER_FLOAT:
+                if (value instanceof Number) {
+                    return Float.valueOf(((Number) value).floatValue());
+                }
+                break;
+            case SER_NUMBER_DOUBLE:
+                if (value instanceof Number) {
+                    return Double.valueOf(((Number) value).doubleValue());
+                }
+                break;
+            case SER_NUMBER_BYTE:
+                if (value instanceof Number) {
+                    return Byte.valueOf(((Number) value).byteValue());
+                }
+                break;
+            case SER_NUMBER_SHORT:
+                if (value instanceof Number) {
+                    return Short.valueOf(((Number) value).shortValue());
+                }
+                break;
+            case SER_NUMBER_INTEGER:
+                if (value instanceof Number) {
+                    return Integer.valueOf(((Number) value).intValue());
+                }
+                break;
+            case SER_NUMBER_LONG:
+                if (value instanceof Number) {
+                    return Long.valueOf(((Number) value).longValue());
+                }
+                break;
+            case SER_NUMBER_BIG_DECIMAL:
+                if (value instanceof BigDecimal) {
+                    return value;
+                }
+                break;
+            case SER_NUMBER_BIG_INTEGER:
+                if (value instanceof BigInteger) {
+                    return value;
+                }
+                break;
+            }
+        }
+        return binder.readUsingParser(this, node);
+    }
+
+    /**
+     * Helper method for determining value to use for JSON null when binding
+     * from trees: same as what token-based reading would produce.
+     */
+    protected Object _nullValue()
+    {
+        switch (_typeId) {
+        case SER_NUMBER_FLOAT:
+            return Float.valueOf(0.0f);
+        case SER_NUMBER_DOUBLE:
+            return Double.valueOf(0.0);
+        case SER_NUMBER_BYTE:
+            return Byte.valueOf((byte) 0);
+        case SER_NUMBER_SHORT:
+            return Short.valueOf((short) 0);
+        case SER_NUMBER_INTEGER:
+            return Integer.valueOf(0);
+        case SER_NUMBER_LONG:
+            return Long.valueOf(0L);
+        case SER_BOOLEAN:
+            return Boolean.FALSE;
+        case SER_CHAR:
+            return ' ';
+        default:
+        }
+        return null;
+    }
+
     /*
     /**********************************************************************
     /* Read methods for scalars
@@ -175,10 +281,42 @@ public class SimpleValueReader extends ValueReader
         return p.getBinaryValue();
     }
     
+    /**
+     * Method for reading <code>int[]</code>: elements are read the same
+     * way as {@link Integer} values are (see {@link #readNext}), so
+     * textual and floating-point numbers are coerced; only structured
+     * values are not accepted.
+     */
     protected int[] _readIntArray(JsonParser p) throws IOException
     {
-        // !!! TODO
-        throw new JSONObjectException("Reading of int[] not yet implemented");
+        JsonToken t = p.getCurrentToken();
+        if (t == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (t != JsonToken.START_ARRAY) {
+            throw JSONObjectException.from(p, "Can not read int[]: expect to see START_ARRAY ('['), instead got: "
+                    +_tokenDesc(p, t));
+        }
+        int[] result = new int[8];
+        int count = 0;
+        while (true) {
+            int i = p.nextIntValue(-2);
+            if (i == -2) {
+                t = p.getCurrentToken();
+                if (t == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (t == JsonToken.START_ARRAY || t == JsonToken.START_OBJECT) {
+                    throw JSONObjectException.from(p, "Can not read int[] element from "+_tokenDesc(p, t));
+                }
+                i = p.getValueAsInt();
+            }
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count + (count >> 1));
+            }
+            result[count++] = i;
+        }
+        return (count == result.length) ? result : Arrays.copyOf(result, count);
     }
 
     protected long _fetchLong(JsonParser p) throws IOException
@@ -0,0 +1,1125 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+import com.fasterxml.jackson.jr.ob.PackageVersion;
+
+/**
+ * In-memory buffer of JSON tokens: {@link JsonGenerator} that stores
+ * tokens written (instead of encoding them as JSON), and that may be
+ * read back any number of times using {@link JsonParser}s constructed
+ * with {@link #asParser()}. Useful for converting between representations
+ * (Beans, {@link java.util.Map}s, trees) without having to encode content
+ * as JSON and parse it back; as well as for buffering content that needs
+ * to be processed more than once.
+ *<p>
+ * Tokens are stored in fixed-size segments, each containing type codes of
+ * 16 tokens packed in a single <code>long</code>, values of
+ * <code>int</code>, <code>long</code> and <code>double</code> tokens
+ * without boxing in a <code>long[]</code>, and all other values
+ * (Strings, property names, other numbers) in an <code>Object[]</code>.
+ *<p>
+ * Raw content is stored as {@link RawValue}s: raw values are exposed by parsers
+ * as {@link JsonToken#VALUE_EMBEDDED_OBJECT}s, other raw content is only
+ * replayed by {@link #serialize}, and skipped by parsers.
+ *<p>
+ * Instances are not thread-safe; but parsers may be constructed and
+ * used as long as no more content is being appended.
+ *
+ * @since 2.9
+ */
+public class TokenBuffer extends JsonGenerator
+{
+    protected final static int DEFAULT_GENERATOR_FEATURES = JsonGenerator.Feature.collectDefaults();
+
+    // Type codes for tokens; 4 bits per token, 0 means "no token"
+
+    protected final static int T_START_OBJECT = 1;
+    protected final static int T_END_OBJECT = 2;
+    protected final static int T_START_ARRAY = 3;
+    protected final static int T_END_ARRAY = 4;
+    protected final static int T_FIELD_NAME = 5;
+    protected final static int T_STRING = 6;
+    protected final static int T_INT = 7;
+    protected final static int T_LONG = 8;
+    protected final static int T_DOUBLE = 9;
+    protected final static int T_BIG_INTEGER = 10;
+    /**
+     * Floating-point values other than <code>double</code>s: {@link BigDecimal}s,
+     * {@link Float}s and non-integral numbers written as Strings
+     */
+    protected final static int T_FLOAT_OTHER = 11;
+    protected final static int T_TRUE = 12;
+    protected final static int T_FALSE = 13;
+    protected final static int T_NULL = 14;
+    protected final static int T_EMBEDDED = 15;
+
+    protected final static JsonToken[] TOKENS = new JsonToken[] {
+        null,
+        JsonToken.START_OBJECT, JsonToken.END_OBJECT,
+        JsonToken.START_ARRAY, JsonToken.END_ARRAY,
+        JsonToken.FIELD_NAME, JsonToken.VALUE_STRING,
+        JsonToken.VALUE_NUMBER_INT, JsonToken.VALUE_NUMBER_INT,
+        JsonToken.VALUE_NUMBER_FLOAT, JsonToken.VALUE_NUMBER_INT,
+        JsonToken.VALUE_NUMBER_FLOAT,
+        JsonToken.VALUE_TRUE, JsonToken.VALUE_FALSE, JsonToken.VALUE_NULL,
+        JsonToken.VALUE_EMBEDDED_OBJECT
+    };
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    protected ObjectCodec _codec;
+
+    protected int _generatorFeatures;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    protected final Segment _first;
+
+    protected Segment _last;
+
+    /**
+     * Index of the next token to append within {@link #_last}
+     */
+    protected int _appendAt;
+
+    /**
+     * Number of tokens appended
+     */
+    protected int _size;
+
+    protected JsonWriteContext _writeContext;
+
+    protected boolean _closed;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public TokenBuffer() {
+        this(null);
+    }
+
+    public TokenBuffer(ObjectCodec codec)
+    {
+        _codec = codec;
+        _generatorFeatures = DEFAULT_GENERATOR_FEATURES;
+        _writeContext = JsonWriteContext.createRootContext(null);
+        _first = _last = new Segment();
+    }
+
+    /**
+     * Method for constructing a parser for reading contents of this buffer,
+     * starting from the first token.
+     */
+    public JsonParser asParser() {
+        return asParser(_codec);
+    }
+
+    public JsonParser asParser(ObjectCodec codec) {
+        return new Parser(_first, codec);
+    }
+
+    /**
+     * Accessor for number of tokens in this buffer.
+     */
+    public int size() {
+        return _size;
+    }
+
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Method for writing contents of this buffer using given generator.
+     */
+    public void serialize(JsonGenerator g) throws IOException
+    {
+        Segment segment = _first;
+        int ptr = 0;
+        for (int i = 0; i < _size; ++i, ++ptr) {
+            if (ptr == Segment.TOKENS_PER_SEGMENT) {
+                segment = segment._next;
+                ptr = 0;
+            }
+            switch (segment.type(ptr)) {
+            case T_START_OBJECT:
+                g.writeStartObject();
+                break;
+            case T_END_OBJECT:
+                g.writeEndObject();
+                break;
+            case T_START_ARRAY:
+                g.writeStartArray();
+                break;
+            case T_END_ARRAY:
+                g.writeEndArray();
+                break;
+            case T_FIELD_NAME:
+                g.writeFieldName((String) segment._objects[ptr]);
+                break;
+            case T_STRING:
+                g.writeString((String) segment._objects[ptr]);
+                break;
+            case T_INT:
+                g.writeNumber((int) segment._primitives[ptr]);
+                break;
+            case T_LONG:
+                g.writeNumber(segment._primitives[ptr]);
+                break;
+            case T_DOUBLE:
+                g.writeNumber(Double.longBitsToDouble(segment._primitives[ptr]));
+                break;
+            case T_BIG_INTEGER:
+                g.writeNumber((BigInteger) segment._objects[ptr]);
+                break;
+            case T_FLOAT_OTHER:
+                {
+                    Object n = segment._objects[ptr];
+                    if (n instanceof BigDecimal) {
+                        g.writeNumber((BigDecimal) n);
+                    } else if (n instanceof Float) {
+                        g.writeNumber(((Float) n).floatValue());
+                    } else {
+                        g.writeNumber((String) n);
+                    }
+                }
+                break;
+            case T_TRUE:
+                g.writeBoolean(true);
+                break;
+            case T_FALSE:
+                g.writeBoolean(false);
+                break;
+            case T_NULL:
+                g.writeNull();
+                break;
+            case T_EMBEDDED:
+                {
+                    Object ob = segment._objects[ptr];
+                    if (ob instanceof byte[]) {
+                        g.writeBinary((byte[]) ob);
+                    } else if (ob instanceof RawValue) {
+                        ((RawValue) ob).serialize(g);
+                    } else {
+                        g.writeObject(ob);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Internal error: unrecognized token type "+segment.type(ptr));
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("[TokenBuffer: ");
+        JsonParser p = asParser();
+        try {
+            JsonToken t;
+            for (int count = 0; (t = p.nextToken()) != null; ++count) {
+                if (count > 0) {
+                    sb.append(", ");
+                }
+                if (count >= 100) {
+                    sb.append("...(").append(_size - count).append(" more)");
+                    break;
+                }
+                sb.append(t.toString());
+                if (t == JsonToken.FIELD_NAME) {
+                    sb.append('(').append(p.getCurrentName()).append(')');
+                }
+            }
+        } catch (IOException e) { // should never occur
+            throw new IllegalStateException(e);
+        }
+        return sb.append(']').toString();
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonGenerator implementation: configuration
+    /**********************************************************************
+     */
+
+    @Override
+    public Version version() {
+        return PackageVersion.VERSION;
+    }
+
+    @Override
+    public JsonGenerator setCodec(ObjectCodec oc) {
+        _codec = oc;
+        return this;
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return _codec;
+    }
+
+    @Override
+    public JsonGenerator enable(Feature f) {
+        _generatorFeatures |= f.getMask();
+        return this;
+    }
+
+    @Override
+    public JsonGenerator disable(Feature f) {
+        _generatorFeatures &= ~f.getMask();
+        return this;
+    }
+
+    @Override
+    public boolean isEnabled(Feature f) {
+        return (_generatorFeatures & f.getMask()) != 0;
+    }
+
+    @Override
+    public int getFeatureMask() {
+        return _generatorFeatures;
+    }
+
+    @Override
+    @Deprecated
+    public JsonGenerator setFeatureMask(int values) {
+        _generatorFeatures = values;
+        return this;
+    }
+
+    @Override
+    public JsonGenerator useDefaultPrettyPrinter() {
+        // no indentation for buffered tokens
+        return this;
+    }
+
+    @Override
+    public boolean canWriteBinaryNatively() {
+        return true;
+    }
+
+    @Override
+    public JsonStreamContext getOutputContext() {
+        return _writeContext;
+    }
+
+    @Override
+    public void flush() { }
+
+    @Override
+    public void close() {
+        _closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return _closed;
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonGenerator implementation: structural and textual values
+    /**********************************************************************
+     */
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _writeContext.writeValue();
+        _append(T_START_ARRAY);
+        _writeContext = _writeContext.createChildArrayContext();
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        _append(T_END_ARRAY);
+        JsonWriteContext c = _writeContext.getParent();
+        if (c != null) {
+            _writeContext = c;
+        }
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _writeContext.writeValue();
+        _append(T_START_OBJECT);
+        _writeContext = _writeContext.createChildObjectContext();
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        _append(T_END_OBJECT);
+        JsonWriteContext c = _writeContext.getParent();
+        if (c != null) {
+            _writeContext = c;
+        }
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        _writeContext.writeFieldName(name);
+        _append(T_FIELD_NAME, name);
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+        writeFieldName(name.getValue());
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+        } else {
+            _appendValue(T_STRING, text);
+        }
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeString(SerializableString text) throws IOException {
+        if (text == null) {
+            writeNull();
+        } else {
+            _appendValue(T_STRING, text.getValue());
+        }
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, "UTF-8"));
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeString(new String(text, offset, length, "UTF-8"));
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _append(T_EMBEDDED, new RawValue(text, false));
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        writeRaw(text.substring(offset, offset+len));
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        writeRaw(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        writeRaw(String.valueOf(c));
+    }
+
+    @Override
+    public void writeRawValue(String text) throws IOException {
+        _appendValue(T_EMBEDDED, new RawValue(text, true));
+    }
+
+    @Override
+    public void writeRawValue(String text, int offset, int len) throws IOException {
+        writeRawValue(text.substring(offset, offset+len));
+    }
+
+    @Override
+    public void writeRawValue(char[] text, int offset, int len) throws IOException {
+        writeRawValue(new String(text, offset, len));
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonGenerator implementation: other scalar values
+    /**********************************************************************
+     */
+
+    @Override
+    public void writeNumber(int v) throws IOException {
+        _appendPrimitive(T_INT, v);
+    }
+
+    @Override
+    public void writeNumber(long v) throws IOException {
+        // report same number type as parser would, for values that fit in int
+        _appendPrimitive(((int) v == v) ? T_INT : T_LONG, v);
+    }
+
+    @Override
+    public void writeNumber(double v) throws IOException {
+        _appendPrimitive(T_DOUBLE, Double.doubleToRawLongBits(v));
+    }
+
+    @Override
+    public void writeNumber(float v) throws IOException {
+        _appendValue(T_FLOAT_OTHER, Float.valueOf(v));
+    }
+
+    @Override
+    public void writeNumber(BigInteger v) throws IOException {
+        if (v == null) {
+            writeNull();
+        } else {
+            _appendValue(T_BIG_INTEGER, v);
+        }
+    }
+
+    @Override
+    public void writeNumber(BigDecimal v) throws IOException {
+        if (v == null) {
+            writeNull();
+        } else {
+            _appendValue(T_FLOAT_OTHER, v);
+        }
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+        } else if (_isIntegral(encodedValue)) {
+            // report same number type as parser would for integral values
+            if (encodedValue.length() <= 18) {
+                writeNumber(Long.parseLong(encodedValue));
+            } else {
+                BigInteger big = new BigInteger(encodedValue);
+                if (big.bitLength() <= 63) {
+                    writeNumber(big.longValue());
+                } else {
+                    _appendValue(T_BIG_INTEGER, big);
+                }
+            }
+        } else {
+            // lazily converted, if and when accessed as number
+            _appendValue(T_FLOAT_OTHER, encodedValue);
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _appendValue(state ? T_TRUE : T_FALSE, null);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _appendValue(T_NULL, null);
+    }
+
+    @Override
+    public void writeBinary(Base64Variant b64variant, byte[] data, int offset, int len) throws IOException
+    {
+        byte[] copy = new byte[len];
+        System.arraycopy(data, offset, copy, 0, len);
+        _appendValue(T_EMBEDDED, copy);
+    }
+
+    @Override
+    public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((dataLength < 0) ? 1000 : dataLength);
+        byte[] buf = new byte[4000];
+        int left = (dataLength < 0) ? Integer.MAX_VALUE : dataLength;
+        int count;
+        while ((left > 0) && (count = data.read(buf, 0, Math.min(left, buf.length))) > 0) {
+            bytes.write(buf, 0, count);
+            left -= count;
+        }
+        byte[] result = bytes.toByteArray();
+        _appendValue(T_EMBEDDED, result);
+        return result.length;
+    }
+
+    @Override
+    public void writeObject(Object value) throws IOException
+    {
+        if (value == null) {
+            writeNull();
+        } else if (_codec != null) {
+            _codec.writeValue(this, value);
+        } else if (value instanceof byte[]) {
+            writeBinary((byte[]) value);
+        } else {
+            _appendValue(T_EMBEDDED, value);
+        }
+    }
+
+    @Override
+    public void writeTree(TreeNode node) throws IOException
+    {
+        if (node == null) {
+            writeNull();
+        } else if (_codec == null) {
+            throw new IllegalStateException("No ObjectCodec defined for TokenBuffer: can not write TreeNode");
+        } else {
+            _codec.writeTree(this, node);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected final void _appendValue(int type, Object value) {
+        _writeContext.writeValue();
+        _append(type, value);
+    }
+
+    protected final void _append(int type) {
+        _append(type, null);
+    }
+
+    protected final void _append(int type, Object value)
+    {
+        Segment seg = _nextSegment();
+        seg.set(_appendAt, type);
+        if (value != null) {
+            seg._objects[_appendAt] = value;
+        }
+        ++_appendAt;
+        ++_size;
+    }
+
+    protected final void _appendPrimitive(int type, long value)
+    {
+        _writeContext.writeValue();
+        Segment seg = _nextSegment();
+        seg.set(_appendAt, type);
+        seg.primitives()[_appendAt] = value;
+        ++_appendAt;
+        ++_size;
+    }
+
+    /**
+     * Helper method for checking whether given encoded number is a valid
+     * integral number (optional minus sign followed by digits).
+     */
+    private static boolean _isIntegral(String str)
+    {
+        final int len = str.length();
+        int i = (len > 0 && str.charAt(0) == '-') ? 1 : 0;
+        if (i == len) {
+            return false;
+        }
+        for (; i < len; ++i) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Segment _nextSegment()
+    {
+        if (_appendAt == Segment.TOKENS_PER_SEGMENT) {
+            Segment seg = new Segment();
+            _last._next = seg;
+            _last = seg;
+            _appendAt = 0;
+        }
+        return _last;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Individual segment of tokens
+     */
+    protected final static class Segment
+    {
+        public final static int TOKENS_PER_SEGMENT = 16;
+
+        /**
+         * Type codes of tokens, 4 bits per token
+         */
+        protected long _types;
+
+        protected final Object[] _objects = new Object[TOKENS_PER_SEGMENT];
+
+        /**
+         * Values of <code>int</code>, <code>long</code> and <code>double</code>
+         * tokens (latter as raw bits); allocated when first needed
+         */
+        protected long[] _primitives;
+
+        protected Segment _next;
+
+        public int type(int index) {
+            return ((int) (_types >>> (index << 2))) & 0xF;
+        }
+
+        public void set(int index, int type) {
+            _types |= ((long) type) << (index << 2);
+        }
+
+        public long[] primitives() {
+            if (_primitives == null) {
+                _primitives = new long[TOKENS_PER_SEGMENT];
+            }
+            return _primitives;
+        }
+    }
+
+    /**
+     * Container for raw content: either complete raw values (written using
+     * <code>writeRawValue</code>), or other raw content (<code>writeRaw</code>).
+     */
+    public final static class RawValue
+    {
+        protected final String _text;
+
+        protected final boolean _value;
+
+        public RawValue(String text, boolean value) {
+            _text = text;
+            _value = value;
+        }
+
+        /**
+         * Whether this is a complete value; and not just raw content inserted
+         * as is.
+         */
+        public boolean isValue() {
+            return _value;
+        }
+
+        public String getText() {
+            return _text;
+        }
+
+        public void serialize(JsonGenerator g) throws IOException {
+            if (_value) {
+                g.writeRawValue(_text);
+            } else {
+                g.writeRaw(_text);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return _text;
+        }
+    }
+
+    /**
+     * {@link JsonParser} implementation used for reading buffered tokens.
+     */
+    protected final static class Parser extends ParserMinimalBase
+    {
+        protected ObjectCodec _codec;
+
+        protected Segment _segment;
+
+        /**
+         * Index of current token within {@link #_segment}
+         */
+        protected int _segmentPtr;
+
+        /**
+         * Type code of the current token
+         */
+        protected int _currType;
+
+        protected JsonReadContext _parsingContext;
+
+        /**
+         * Value of the current number token, if written as String and
+         * converted: retained by this parser, since segments may be shared
+         * by parsers used from different threads.
+         */
+        protected Number _convertedNumber;
+
+        protected boolean _closed;
+
+        public Parser(Segment first, ObjectCodec codec)
+        {
+            super(0);
+            _segment = first;
+            _segmentPtr = -1;
+            _codec = codec;
+            _parsingContext = JsonReadContext.createRootContext(null);
+        }
+
+        @Override
+        public Version version() {
+            return PackageVersion.VERSION;
+        }
+
+        @Override
+        public ObjectCodec getCodec() {
+            return _codec;
+        }
+
+        @Override
+        public void setCodec(ObjectCodec c) {
+            _codec = c;
+        }
+
+        @Override
+        public void close() {
+            _closed = true;
+            _segment = null;
+            _currToken = null;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return _closed;
+        }
+
+        /*
+        /******************************************************************
+        /* Traversal
+        /******************************************************************
+         */
+
+        @Override
+        public JsonToken nextToken() throws IOException
+        {
+            _convertedNumber = null;
+            int type;
+            do {
+                if (_segment == null) {
+                    return null;
+                }
+                if (++_segmentPtr == Segment.TOKENS_PER_SEGMENT) {
+                    _segmentPtr = 0;
+                    _segment = _segment._next;
+                    if (_segment == null) {
+                        return (_currToken = null);
+                    }
+                }
+                type = _segment.type(_segmentPtr);
+                if (type == 0) { // end of content (for now)
+                    --_segmentPtr;
+                    return (_currToken = null);
+                }
+                // raw content other than values can not be exposed as tokens
+            } while ((type == T_EMBEDDED) && _isRawContent(_segment._objects[_segmentPtr]));
+            _currType = type;
+            JsonToken t = TOKENS[type];
+            _currToken = t;
+            switch (type) {
+            case T_FIELD_NAME:
+                _parsingContext.setCurrentName((String) _segment._objects[_segmentPtr]);
+                break;
+            case T_START_OBJECT:
+                _parsingContext = _parsingContext.createChildObjectContext(-1, -1);
+                break;
+            case T_START_ARRAY:
+                _parsingContext = _parsingContext.createChildArrayContext(-1, -1);
+                break;
+            case T_END_OBJECT:
+            case T_END_ARRAY:
+                {
+                    JsonReadContext c = _parsingContext.getParent();
+                    if (c != null) {
+                        _parsingContext = c;
+                    }
+                }
+                break;
+            default:
+            }
+            return t;
+        }
+
+        @Override
+        protected void _handleEOF() { }
+
+        @Override
+        public JsonStreamContext getParsingContext() {
+            return _parsingContext;
+        }
+
+        @Override
+        public String getCurrentName() {
+            if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+                JsonReadContext parent = _parsingContext.getParent();
+                return (parent == null) ? null : parent.getCurrentName();
+            }
+            return _parsingContext.getCurrentName();
+        }
+
+        @Override
+        public void overrideCurrentName(String name) {
+            JsonReadContext ctxt = _parsingContext;
+            if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+                ctxt = ctxt.getParent();
+            }
+            if (ctxt != null) {
+                try {
+                    ctxt.setCurrentName(name);
+                } catch (IOException e) { // only with duplicate detection, not used
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public JsonLocation getTokenLocation() {
+            return JsonLocation.NA;
+        }
+
+        @Override
+        public JsonLocation getCurrentLocation() {
+            return JsonLocation.NA;
+        }
+
+        /*
+        /******************************************************************
+        /* Textual access
+        /******************************************************************
+         */
+
+        @Override
+        public String getText() throws IOException
+        {
+            if (_currToken == null) {
+                return null;
+            }
+            switch (_currType) {
+            case T_FIELD_NAME:
+            case T_STRING:
+                return (String) _segment._objects[_segmentPtr];
+            case T_INT:
+            case T_LONG:
+            case T_DOUBLE:
+            case T_BIG_INTEGER:
+            case T_FLOAT_OTHER:
+                return String.valueOf(_segment._objects[_segmentPtr] == null
+                        ? _numberValue() : _segment._objects[_segmentPtr]);
+            case T_EMBEDDED:
+                {
+                    Object ob = _segment._objects[_segmentPtr];
+                    return (ob == null) ? null : ob.toString();
+                }
+            default:
+                return _currToken.asString();
+            }
+        }
+
+        @Override
+        public char[] getTextCharacters() throws IOException {
+            String str = getText();
+            return (str == null) ? null : str.toCharArray();
+        }
+
+        @Override
+        public int getTextLength() throws IOException {
+            String str = getText();
+            return (str == null) ? 0 : str.length();
+        }
+
+        @Override
+        public int getTextOffset() {
+            return 0;
+        }
+
+        @Override
+        public boolean hasTextCharacters() {
+            return false;
+        }
+
+        /*
+        /******************************************************************
+        /* Numeric and other typed access
+        /******************************************************************
+         */
+
+        @Override
+        public NumberType getNumberType() throws IOException
+        {
+            switch (_currType) {
+            case T_INT:
+                return NumberType.INT;
+            case T_LONG:
+                return NumberType.LONG;
+            case T_DOUBLE:
+                return NumberType.DOUBLE;
+            case T_BIG_INTEGER:
+                return NumberType.BIG_INTEGER;
+            case T_FLOAT_OTHER:
+                return (_segment._objects[_segmentPtr] instanceof Float)
+                        ? NumberType.FLOAT : NumberType.BIG_DECIMAL;
+            default:
+            }
+            return null;
+        }
+
+        @Override
+        public Number getNumberValue() throws IOException {
+            _checkNumeric();
+            return _numberValue();
+        }
+
+        @Override
+        public int getIntValue() throws IOException {
+            if (_currType == T_INT) {
+                return (int) _segment._primitives[_segmentPtr];
+            }
+            Number n = getNumberValue();
+            final int i = n.intValue();
+            if (_currType == T_LONG) {
+                if (n.longValue() != i) {
+                    _reportOverflow("int", Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            } else {
+                double d = n.doubleValue();
+                if ((d < Integer.MIN_VALUE) || (d > Integer.MAX_VALUE)) {
+                    _reportOverflow("int", Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            }
+            return i;
+        }
+
+        @Override
+        public long getLongValue() throws IOException {
+            if ((_currType == T_INT) || (_currType == T_LONG)) {
+                return _segment._primitives[_segmentPtr];
+            }
+            Number n = getNumberValue();
+            if ((_currType == T_BIG_INTEGER) && (((BigInteger) n).bitLength() > 63)) {
+                _reportOverflow("long", Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+            return n.longValue();
+        }
+
+        @Override
+        public double getDoubleValue() throws IOException {
+            if (_currType == T_DOUBLE) {
+                return Double.longBitsToDouble(_segment._primitives[_segmentPtr]);
+            }
+            return getNumberValue().doubleValue();
+        }
+
+        @Override
+        public float getFloatValue() throws IOException {
+            return (float) getDoubleValue();
+        }
+
+        @Override
+        public BigInteger getBigIntegerValue() throws IOException
+        {
+            Number n = getNumberValue();
+            if (n instanceof BigInteger) {
+                return (BigInteger) n;
+            }
+            if (n instanceof BigDecimal) {
+                return ((BigDecimal) n).toBigInteger();
+            }
+            return BigInteger.valueOf(n.longValue());
+        }
+
+        @Override
+        public BigDecimal getDecimalValue() throws IOException
+        {
+            Number n = getNumberValue();
+            if (n instanceof BigDecimal) {
+                return (BigDecimal) n;
+            }
+            if (n instanceof BigInteger) {
+                return new BigDecimal((BigInteger) n);
+            }
+            if ((_currType == T_INT) || (_currType == T_LONG)) {
+                return BigDecimal.valueOf(n.longValue());
+            }
+            return new BigDecimal(n.toString());
+        }
+
+        @Override
+        public Object getEmbeddedObject() {
+            if (_currType == T_EMBEDDED) {
+                return _segment._objects[_segmentPtr];
+            }
+            return null;
+        }
+
+        @Override
+        public byte[] getBinaryValue(Base64Variant b64variant) throws IOException
+        {
+            if (_currType == T_EMBEDDED) {
+                Object ob = _segment._objects[_segmentPtr];
+                if (ob instanceof byte[]) {
+                    return (byte[]) ob;
+                }
+            } else if (_currType == T_STRING) {
+                try {
+                    return b64variant.decode((String) _segment._objects[_segmentPtr]);
+                } catch (IllegalArgumentException e) {
+                    throw _constructError("Failed to decode base64 content: "+e.getMessage());
+                }
+            }
+            throw _constructError("Current token ("+_currToken+") not VALUE_STRING or VALUE_EMBEDDED_OBJECT, can not access as binary");
+        }
+
+        protected void _checkNumeric() throws IOException
+        {
+            if (_currToken != JsonToken.VALUE_NUMBER_INT && _currToken != JsonToken.VALUE_NUMBER_FLOAT) {
+                throw _constructError("Current token ("+_currToken+") not numeric, can not use numeric value accessors");
+            }
+        }
+
+        protected Number _numberValue() throws IOException
+        {
+            switch (_currType) {
+            case T_INT:
+                return Integer.valueOf((int) _segment._primitives[_segmentPtr]);
+            case T_LONG:
+                return Long.valueOf(_segment._primitives[_segmentPtr]);
+            case T_DOUBLE:
+                return Double.valueOf(Double.longBitsToDouble(_segment._primitives[_segmentPtr]));
+            default:
+            }
+            Object ob = _segment._objects[_segmentPtr];
+            if (ob instanceof String) { // number written as String; convert and retain
+                if (_convertedNumber == null) {
+                    try {
+                        _convertedNumber = new BigDecimal((String) ob);
+                    } catch (NumberFormatException e) {
+                        throw _constructError("Invalid numeric value '"+ob+"'");
+                    }
+                }
+                return _convertedNumber;
+            }
+            return (Number) ob;
+        }
+
+        protected void _reportOverflow(String type, long min, long max) throws IOException {
+            _reportError("Numeric value ("+getText()+") out of range of "+type+" ("+min+" - "+max+")");
+        }
+
+        private static boolean _isRawContent(Object ob) {
+            return (ob instanceof RawValue) && !((RawValue) ob).isValue();
+        }
+    }
+}
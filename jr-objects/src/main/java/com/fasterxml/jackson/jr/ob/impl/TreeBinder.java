@@ -0,0 +1,306 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.jr.ob.JSONObjectException;
+import com.fasterxml.jackson.jr.ob.JSON.Feature;
+
+import static com.fasterxml.jackson.jr.ob.impl.TypeDetector.*;
+
+/**
+ * Object that handles binding of trees into Java values, and construction
+ * of trees out of Java values, directly, without converting trees to
+ * (or from) token streams: structure of trees is traversed using
+ * {@link TreeNode} methods, and scalar values accessed (as well as nodes
+ * constructed) using {@link TreeNodeAdapter} that the configured
+ * {@link TreeCodec} implements.
+ *<p>
+ * Reading is delegated to {@link ValueReader#readFromTree}; writing uses
+ * same type detection and {@link BeanPropertyWriter}s as {@link JSONWriter}.
+ * Similar to {@link JSONReader} and {@link JSONWriter}, instances
+ * are constructed for each operation.
+ *
+ * @since 2.9
+ */
+public class TreeBinder
+{
+    protected final TreeNodeAdapter _adapter;
+
+    protected final TreeCodec _treeCodec;
+
+    /**
+     * Per-operation reader instance; only assigned when binding trees
+     * into Java values.
+     */
+    protected final JSONReader _reader;
+
+    /**
+     * Per-operation writer instance; only assigned when constructing
+     * trees out of Java values.
+     */
+    protected final JSONWriter _writer;
+
+    public TreeBinder(TreeNodeAdapter adapter, TreeCodec codec,
+            JSONReader r, JSONWriter w)
+    {
+        _adapter = adapter;
+        _treeCodec = codec;
+        _reader = r;
+        _writer = w;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, reading
+    /**********************************************************************
+     */
+
+    @SuppressWarnings("unchecked")
+    public <T> T readBean(Class<T> type, TreeNode node) throws IOException {
+        return (T) read(_reader._typeDetector.findReader(type), node);
+    }
+
+    /**
+     * Method called by {@link ValueReader}s to bind contained values.
+     */
+    public Object read(ValueReader vr, TreeNode node) throws IOException
+    {
+        if ((node != null)
+                && (node.isMissingNode() || (node.asToken() == JsonToken.VALUE_NULL))) {
+            node = null;
+        }
+        return vr.readFromTree(this, node);
+    }
+
+    /**
+     * Accessor for value of given scalar (non-container) node; see
+     * {@link TreeNodeAdapter#scalarValue} for details.
+     */
+    public Object scalarValue(TreeNode node) {
+        return _adapter.scalarValue(node);
+    }
+
+    /**
+     * Fallback method used by {@link ValueReader}s that can not bind
+     * tree nodes directly: node is converted to a token stream, and bound
+     * like regular JSON content.
+     */
+    public Object readUsingParser(ValueReader vr, TreeNode node) throws IOException
+    {
+        if (node == null) {
+            return null;
+        }
+        JsonParser p = _treeCodec.treeAsTokens(node);
+        try {
+            p.nextToken();
+            return vr.read(_reader, p);
+        } finally {
+            p.close();
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, writing
+    /**********************************************************************
+     */
+
+    public TreeNode write(Object value) throws IOException
+    {
+        if (value == null) {
+            return _adapter.nullNode();
+        }
+        return write(value, _writer._typeDetector.findSerializationType(value.getClass()));
+    }
+
+    protected TreeNode write(Object value, int type) throws IOException
+    {
+        switch (type) {
+
+        // Structured types:
+        case SER_MAP:
+            return writeMap((Map<?,?>) value);
+        case SER_LIST:
+        case SER_COLLECTION:
+        case SER_ITERABLE:
+            {
+                List<TreeNode> nodes = new ArrayList<TreeNode>();
+                for (Object ob : (Iterable<?>) value) {
+                    nodes.add(write(ob));
+                }
+                return _adapter.arrayNode(nodes);
+            }
+        case SER_OBJECT_ARRAY:
+            {
+                Object[] v = (Object[]) value;
+                List<TreeNode> nodes = new ArrayList<TreeNode>(v.length);
+                for (int i = 0, len = v.length; i < len; ++i) {
+                    nodes.add(write(v[i]));
+                }
+                return _adapter.arrayNode(nodes);
+            }
+        case SER_INT_ARRAY:
+            {
+                int[] v = (int[]) value;
+                List<TreeNode> nodes = new ArrayList<TreeNode>(v.length);
+                for (int i = 0, len = v.length; i < len; ++i) {
+                    nodes.add(_adapter.numberNode(Integer.valueOf(v[i])));
+                }
+                return _adapter.arrayNode(nodes);
+            }
+        case SER_LONG_ARRAY:
+            {
+                long[] v = (long[]) value;
+                List<TreeNode> nodes = new ArrayList<TreeNode>(v.length);
+                for (int i = 0, len = v.length; i < len; ++i) {
+                    nodes.add(_adapter.numberNode(Long.valueOf(v[i])));
+                }
+                return _adapter.arrayNode(nodes);
+            }
+        case SER_BOOLEAN_ARRAY:
+            {
+                boolean[] v = (boolean[]) value;
+                List<TreeNode> nodes = new ArrayList<TreeNode>(v.length);
+                for (int i = 0, len = v.length; i < len; ++i) {
+                    nodes.add(_adapter.booleanNode(v[i]));
+                }
+                return _adapter.arrayNode(nodes);
+            }
+        case SER_TREE_NODE:
+            return (TreeNode) value;
+
+        // Textual types, related:
+        case SER_STRING:
+            return _adapter.stringNode((String) value);
+        case SER_CHAR_ARRAY:
+            return _adapter.stringNode(new String((char[]) value));
+        case SER_CHARACTER_SEQUENCE:
+        case SER_CHAR:
+            return _adapter.stringNode(value.toString());
+        case SER_BYTE_ARRAY:
+            return _adapter.stringNode(Base64Variants.getDefaultVariant().encode((byte[]) value));
+
+        // Number types:
+        case SER_NUMBER_FLOAT: // fall through
+        case SER_NUMBER_DOUBLE:
+            return _adapter.numberNode(Double.valueOf(((Number) value).doubleValue()));
+        case SER_NUMBER_BYTE: // fall through
+        case SER_NUMBER_SHORT: // fall through
+        case SER_NUMBER_INTEGER:
+            return _adapter.numberNode(Integer.valueOf(((Number) value).intValue()));
+        case SER_NUMBER_LONG:
+            return _adapter.numberNode(Long.valueOf(((Number) value).longValue()));
+        case SER_NUMBER_BIG_DECIMAL:
+        case SER_NUMBER_BIG_INTEGER:
+            return _adapter.numberNode((Number) value);
+
+        // Other scalar types:
+        case SER_BOOLEAN:
+            return _adapter.booleanNode(((Boolean) value).booleanValue());
+        case SER_CALENDAR:
+            return _dateNode(((Calendar) value).getTime());
+        case SER_DATE:
+            return _dateNode((Date) value);
+        case SER_ENUM:
+            if (Feature.WRITE_ENUMS_USING_INDEX.isEnabled(_writer._features)) {
+                return _adapter.numberNode(Integer.valueOf(((Enum<?>) value).ordinal()));
+            }
+            return _adapter.stringNode(value.toString());
+        case SER_CLASS:
+            return _adapter.stringNode(((Class<?>) value).getName());
+        case SER_FILE:
+            return _adapter.stringNode(((File) value).getAbsolutePath());
+        case SER_UUID:
+        case SER_URL:
+        case SER_URI:
+            return _adapter.stringNode(value.toString());
+
+        case SER_UNKNOWN:
+            _writer._checkUnknown(value);
+            return _adapter.stringNode(value.toString());
+        }
+
+        if (type < 0) { // Bean type!
+            BeanPropertyWriter[] props = _writer._typeDetector.getPropertyWriters(type);
+            if (props != null) { // sanity check
+                return writeBean(props, value);
+            }
+        }
+        throw new IllegalStateException(String.format(
+                "Unsupported type: %s (%s)", type, value.getClass().getName()));
+    }
+
+    protected TreeNode writeMap(Map<?,?> v) throws IOException
+    {
+        Map<String,TreeNode> props = new LinkedHashMap<String,TreeNode>();
+        for (Map.Entry<?,?> entry : v.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                if (_writer._writeNullValues) {
+                    props.put(_writer.keyToString(entry.getKey()), _adapter.nullNode());
+                }
+                continue;
+            }
+            props.put(_writer.keyToString(entry.getKey()), write(value));
+        }
+        return _adapter.objectNode(props);
+    }
+
+    protected TreeNode writeBean(BeanPropertyWriter[] props, Object bean) throws IOException
+    {
+        Map<String,TreeNode> nodes = new LinkedHashMap<String,TreeNode>();
+        for (int i = 0, end = props.length; i < end; ++i) {
+            BeanPropertyWriter property = props[i];
+            Object value = property.getValueFor(bean);
+            if (value == null) {
+                if (_writer._writeNullValues) {
+                    nodes.put(property.name.getValue(), _adapter.nullNode());
+                }
+                continue;
+            }
+            int typeId = property.typeId;
+            if (typeId == 0) {
+                typeId = _writer._typeDetector.findSerializationType(value.getClass());
+            }
+            nodes.put(property.name.getValue(), write(value, typeId));
+        }
+        return _adapter.objectNode(nodes);
+    }
+
+    protected TreeNode _dateNode(Date value) {
+        if (Feature.WRITE_DATES_AS_TIMESTAMP.isEnabled(_writer._features)) {
+            return _adapter.numberNode(Long.valueOf(value.getTime()));
+        }
+        return _adapter.stringNode(_writer.dateToString(value));
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods for ValueReaders
+    /**********************************************************************
+     */
+
+    protected JSONObjectException _mismatch(Class<?> type, TreeNode node) {
+        return new JSONObjectException(String.format("Can not create a %s instance out of %s",
+                type.getName(), _nodeDesc(node)));
+    }
+
+    protected JSONObjectException _unexpected(TreeNode node, String expected) {
+        return new JSONObjectException(String.format("Unexpected %s; should get %s",
+                _nodeDesc(node), expected));
+    }
+
+    protected static String _nodeDesc(TreeNode node) {
+        if (node == null) {
+            return "'null'";
+        }
+        try {
+            return ValueReader._tokenDesc(null, node.asToken());
+        } catch (IOException e) { // can not occur without parser
+            return String.valueOf(node.asToken());
+        }
+    }
+}
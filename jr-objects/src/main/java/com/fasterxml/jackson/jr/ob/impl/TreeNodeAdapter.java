@@ -0,0 +1,55 @@
+package com.fasterxml.jackson.jr.ob.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.TreeCodec;
+import com.fasterxml.jackson.core.TreeNode;
+
+/**
+ * Optional interface that {@link TreeCodec} implementations may implement
+ * to allow binding of trees into Java values (and vice versa) directly,
+ * without converting trees into token streams: {@link TreeNode} only exposes
+ * structure of the tree, but not values of scalar nodes, nor a way to
+ * construct nodes.
+ *
+ * @since 2.9
+ */
+public interface TreeNodeAdapter
+{
+    /**
+     * Method for accessing value of a scalar node: should return
+     * {@link String} for textual nodes, {@link Number} for numeric nodes,
+     * {@link Boolean} for boolean nodes, embedded value for embedded
+     * object nodes, and <code>null</code> for null (or missing) nodes.
+     * Will not be called for Object or Array nodes.
+     */
+    public Object scalarValue(TreeNode node);
+
+    /**
+     * Method for constructing a node to represent JSON null value; may
+     * return <code>null</code> if tree model represents nulls with Java
+     * <code>null</code>s.
+     */
+    public TreeNode nullNode();
+
+    public TreeNode booleanNode(boolean state);
+
+    public TreeNode stringNode(String text);
+
+    public TreeNode numberNode(Number nr);
+
+    /**
+     * Method for constructing an Object node with given properties; all values
+     * have been constructed by this adapter. Adapter may retain the
+     * {@link Map} passed.
+     */
+    public TreeNode objectNode(Map<String,TreeNode> properties);
+
+    /**
+     * Method for constructing an Array node with given elements; all values
+     * have been constructed by this adapter. Adapter may retain the
+     * {@link List} passed.
+     */
+    public TreeNode arrayNode(List<TreeNode> elements);
+}
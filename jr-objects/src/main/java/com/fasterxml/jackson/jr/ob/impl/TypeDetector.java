@@ -7,11 +7,10 @@ import java.math.BigInteger;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
 import com.fasterxml.jackson.jr.type.ResolvedType;
 import com.fasterxml.jackson.jr.type.TypeBindings;
 import com.fasterxml.jackson.jr.type.TypeResolver;
@@ -40,6 +39,23 @@ public class TypeDetector
      */
     protected final static int MAX_CACHED_READERS = 500;
 
+    /**
+     * Similarly, limit number of cached serialization types (including Bean
+     * property writers), to avoid unbounded growth with dynamically generated
+     * types (like proxies).
+     *
+     * @since 2.9
+     */
+    protected final static int MAX_CACHED_WRITERS = 500;
+
+    /**
+     * Number of Bean types within a single operation up to which type ids
+     * are found using linear search; beyond which an identity map is used.
+     *
+     * @since 2.9
+     */
+    protected final static int MAX_LINEAR_BEAN_TYPES = 16;
+
     /*
     /**********************************************************************
     /* Value constants for serialization
@@ -156,12 +172,14 @@ public class TypeDetector
      */
 
     /**
-     * Mapping from classes to resolved type constants or indexes, to use
-     * for serialization.
+     * Mapping from classes to resolved type constants, and for Bean types,
+     * property writers to use for serialization.
+     *<p>
+     * NOTE: since 2.9 contains property writers directly, instead of indexes to
+     * separate list of writers; and does not prevent unloading of classes
+     * (see {@link ClassCache}).
      */
-    protected final ConcurrentHashMap<ClassKey, Integer> _knownSerTypes;
-
-    protected final CopyOnWriteArrayList<BeanPropertyWriter[]> _knownWriters;
+    protected final ClassCache<SerType> _knownSerTypes;
 
     /*
     /**********************************************************************
@@ -177,8 +195,10 @@ public class TypeDetector
     
     /**
      * Set of {@link ValueReader}s that we have resolved
+     *<p>
+     * NOTE: since 2.9 does not prevent unloading of classes (see {@link ClassCache}).
      */
-    protected final ConcurrentHashMap<ClassKey, ValueReader> _knownReaders;
+    protected final ClassCache<CacheEntry<ValueReader>> _knownReaders;
 
     /**
      * During resolution, some readers may be in-progress, but need to be
@@ -187,7 +207,14 @@ public class TypeDetector
     protected Map<ClassKey, ValueReader> _incompleteReaders;
 
     protected final Object _readerLock;
-    
+
+    /**
+     * Listener to report cache hits, misses and evictions to.
+     *
+     * @since 2.9
+     */
+    protected final JSONMetrics _metrics;
+
     /*
     /**********************************************************************
     /* Instance state
@@ -203,6 +230,29 @@ public class TypeDetector
 
     protected int _prevType;
 
+    /**
+     * Property writers for Bean types this per-operation instance has
+     * encountered: type ids for Bean types are indexes to this array (as
+     * <code>-(index+1)</code>), instead of to a shared list, so that shared
+     * caches may be cleared without affecting operations in progress.
+     *
+     * @since 2.9
+     */
+    protected BeanPropertyWriter[][] _beanWriters;
+
+    /**
+     * @since 2.9
+     */
+    protected int _beanWriterCount;
+
+    /**
+     * Lookup map from property writers to type ids, constructed if number of
+     * Bean types within operation exceeds {@link #MAX_LINEAR_BEAN_TYPES}.
+     *
+     * @since 2.9
+     */
+    protected Map<BeanPropertyWriter[], Integer> _beanWriterIds;
+
     protected int _features;
     
     /*
@@ -217,20 +267,28 @@ public class TypeDetector
     protected TypeDetector(int features)
     {
         _features = features;
-        _knownSerTypes = new ConcurrentHashMap<ClassKey, Integer>(50, 0.75f, 4);
-        _knownWriters = new CopyOnWriteArrayList<BeanPropertyWriter[]>();
-        _knownReaders = new ConcurrentHashMap<ClassKey, ValueReader>(50, 0.75f, 4);
+        _knownSerTypes = new ClassCache<SerType>(50);
+        _knownReaders = new ClassCache<CacheEntry<ValueReader>>(50);
         _typeResolver = new TypeResolver();
         _readerLock = new Object();
+        _metrics = JSONMetrics.nopInstance();
     }
 
     protected TypeDetector(TypeDetector base, int features) {
+        this(base, features, base._metrics);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected TypeDetector(TypeDetector base, int features, JSONMetrics metrics) {
         _features = features;
         _knownSerTypes = base._knownSerTypes;
-        _knownWriters = base._knownWriters;
         _knownReaders = base._knownReaders;
         _typeResolver = base._typeResolver;
         _readerLock = base._readerLock;
+        _metrics = metrics;
+        _key = new ClassKey();
     }
 
     public final static TypeDetector blueprint(int features) {
@@ -241,6 +299,63 @@ public class TypeDetector
         return new TypeDetector(this, features & CACHE_FLAGS);
     }
 
+    /**
+     * Mutant factory for constructing a blueprint instance that shares
+     * caches with this instance, but reports to specified metrics listener.
+     *
+     * @since 2.9
+     */
+    public TypeDetector withMetrics(JSONMetrics metrics) {
+        if (metrics == _metrics) {
+            return this;
+        }
+        return new TypeDetector(this, _features, metrics);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public JSONMetrics metrics() {
+        return _metrics;
+    }
+
+    /*
+    /**********************************************************************
+    /* Cache access, diagnostics
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for snapshot of currently cached serialization type information
+     * (including Bean property writers).
+     *
+     * @since 2.9
+     */
+    public Collection<? extends CacheEntry<BeanPropertyWriter[]>> serializationCacheEntries() {
+        return _knownSerTypes.entries();
+    }
+
+    /**
+     * Accessor for snapshot of currently cached readers.
+     *
+     * @since 2.9
+     */
+    public Collection<CacheEntry<ValueReader>> readerCacheEntries() {
+        return _knownReaders.entries();
+    }
+
+    /**
+     * Method for removing all cached readers and serialization type information
+     * (shared by all instances created from the same blueprint). Operations in
+     * progress are not affected.
+     *
+     * @since 2.9
+     */
+    public void clearCaches() {
+        _knownReaders.clear();
+        _knownSerTypes.clear();
+    }
+
     /*
     /**********************************************************************
     /* Methods for ser and deser
@@ -250,7 +365,7 @@ public class TypeDetector
     protected POJODefinition resolvePOJODefinition(Class<?> raw)
     {
         try {
-            return POJODefinition.find(raw);
+            return POJODefinition.find(raw, _key, _metrics);
         } catch (Exception e) {
             throw new IllegalArgumentException(String.format
                     ("Failed to introspect ClassDefinition for type '%s': %s",
@@ -387,12 +502,15 @@ public class TypeDetector
         if (index < 0) {
             index = -(index+1);
         }
-        return _knownWriters.get(index);
+        return (index < _beanWriterCount) ? _beanWriters[index] : null;
     }
-    
+
     /**
      * The main lookup method used to find type identifier for
      * given raw class; including Bean types (if allowed).
+     *<p>
+     * NOTE: type ids of Bean types are only valid for this (per-operation)
+     * instance.
      */
     public final int findSerializationType(Class<?> raw)
     {
@@ -403,46 +521,93 @@ public class TypeDetector
             return SER_STRING;
         }
         ClassKey k = (_key == null) ? new ClassKey(raw, _features) : _key.with(raw, _features);
-        int type;
+        SerType serType = _knownSerTypes.get(k);
+        BeanPropertyWriter[] props;
 
-        Integer I = _knownSerTypes.get(k);
-
-        if (I == null) {
-            type = _findPOJOSerializationType(raw);
-            _knownSerTypes.put(new ClassKey(raw, _features), Integer.valueOf(type));
+        if (serType == null) {
+            _metrics.cacheMiss(JSONMetrics.Cache.WRITERS, raw);
+            serType = _resolveSerializationType(raw);
+            props = serType.value();
         } else {
-            type = I.intValue();
+            _metrics.cacheHit(JSONMetrics.Cache.WRITERS, raw);
+            props = serType.access();
         }
+        int type = (props == null) ? serType.typeId : _beanTypeId(props);
         _prevType = type;
         _prevClass = raw;
         return type;
     }
 
-    protected int _findPOJOSerializationType(Class<?> raw)
+    /**
+     * @since 2.9
+     */
+    protected SerType _resolveSerializationType(Class<?> raw)
     {
         int type = _findSimple(raw, true);
+        BeanPropertyWriter[] props = null;
         if (type == SER_UNKNOWN) {
             if (JSON.Feature.HANDLE_JAVA_BEANS.isEnabled(_features)) {
                 POJODefinition cd = resolvePOJODefinition(raw);
-                BeanPropertyWriter[] props = resolveBeanForSer(raw, cd);
-                // Due to concurrent access, possible that someone might have added it
-                synchronized (_knownWriters) {
-                    // Important: do NOT try to reuse shared instance; caller needs it
-                    ClassKey k = new ClassKey(raw, _features);
-                    Integer I = _knownSerTypes.get(k);
-                    // if it was already concurrently added, we'll just discard this copy, return earlier
-                    if (I != null) {
-                        return I.intValue();
+                props = resolveBeanForSer(raw, cd);
+            }
+        }
+        // As with readers, "flush when full"; since Bean type ids are only
+        // assigned by per-operation instances, operations in progress not affected
+        final int count = _knownSerTypes.size();
+        if (count >= MAX_CACHED_WRITERS) {
+            _knownSerTypes.clear();
+            _metrics.cacheEvicted(JSONMetrics.Cache.WRITERS, count);
+        }
+        // Due to concurrent access, possible that someone might have added it:
+        // if so, use that copy
+        return _knownSerTypes.putIfAbsent(new SerType(raw, _features, type, props));
+    }
+
+    /**
+     * Helper method for finding (or assigning) id for given Bean property
+     * writers within this per-operation instance. Number of distinct Bean
+     * types within a single operation is typically low, so linear search
+     * is used, until there are more than {@link #MAX_LINEAR_BEAN_TYPES}
+     * types (as may happen with dynamically generated types).
+     *
+     * @since 2.9
+     */
+    protected int _beanTypeId(BeanPropertyWriter[] props)
+    {
+        BeanPropertyWriter[][] writers = _beanWriters;
+        final int count = _beanWriterCount;
+        if (writers == null) {
+            _beanWriters = writers = new BeanPropertyWriter[4][];
+        } else {
+            if (_beanWriterIds == null) {
+                for (int i = 0; i < count; ++i) {
+                    if (writers[i] == props) {
+                        return -(i+1);
                     }
-                    // otherwise add at the end, use -(index+1) as id
-                    _knownWriters.add(props);
-                    int typeId = -_knownWriters.size();
-                    _knownSerTypes.put(k, Integer.valueOf(typeId));
-                    return typeId;
                 }
+            } else {
+                Integer id = _beanWriterIds.get(props);
+                if (id != null) {
+                    return id.intValue();
+                }
+            }
+            if (count == writers.length) {
+                _beanWriters = writers = Arrays.copyOf(writers, count + count);
             }
         }
-        return type;
+        writers[count] = props;
+        _beanWriterCount = count+1;
+        final int id = -(count+1);
+        if (_beanWriterIds != null) {
+            _beanWriterIds.put(props, id);
+        } else if (count >= MAX_LINEAR_BEAN_TYPES) {
+            Map<BeanPropertyWriter[], Integer> ids = new IdentityHashMap<BeanPropertyWriter[], Integer>();
+            for (int i = 0; i <= count; ++i) {
+                ids.put(writers[i], -(i+1));
+            }
+            _beanWriterIds = ids;
+        }
+        return id;
     }
 
     protected BeanPropertyWriter[] resolveBeanForSer(Class<?> raw, POJODefinition classDef)
@@ -472,20 +637,22 @@ public class TypeDetector
             if (!includeReadOnly && !rawProp.hasSetter()) {
                 continue;
             }
-            Class<?> type;
-            if (m != null) {
-                type = m.getReturnType();
-                if (forceAccess) {
+            if (forceAccess) {
+                if (m != null) {
                     m.setAccessible(true);
-                }
-            } else {
-                type = f.getType();
-                if (forceAccess) {
+                } else {
                     f.setAccessible(true);
                 }
             }
-            int typeId = _findSimple(type, true);
-            props.add(new BeanPropertyWriter(typeId, rawProp.name, rawProp.field, m));
+            // Writers only depend on accessor used, so may be shared with
+            // differently configured instances
+            BeanPropertyWriter w = rawProp.writer(m);
+            if (w == null) {
+                Class<?> type = (m != null) ? m.getReturnType() : f.getType();
+                w = rawProp.writer(m, new BeanPropertyWriter(_findSimple(type, true),
+                        rawProp.name, rawProp.field, m));
+            }
+            props.add(w);
         }
         int plen = props.size();
         BeanPropertyWriter[] propArray = (plen == 0) ? NO_PROPS_FOR_WRITE
@@ -563,17 +730,21 @@ public class TypeDetector
     public ValueReader findReader(Class<?> raw)
     {
         ClassKey k = (_key == null) ? new ClassKey(raw, _features) : _key.with(raw, _features);
-        ValueReader vr = _knownReaders.get(k);
-        if (vr != null) {
-            return vr;
+        CacheEntry<ValueReader> entry = _knownReaders.get(k);
+        if (entry != null) {
+            _metrics.cacheHit(JSONMetrics.Cache.READERS, raw);
+            return entry.access();
         }
-        vr = createReader(null, raw, raw);
+        _metrics.cacheMiss(JSONMetrics.Cache.READERS, raw);
+        ValueReader vr = createReader(null, raw, raw);
         // 15-Jun-2016, tatu: Let's limit maximum number of readers to prevent
         //   unbounded memory retention (at least wrt readers)
-        if (_knownReaders.size() >= MAX_CACHED_READERS) {
+        final int count = _knownReaders.size();
+        if (count >= MAX_CACHED_READERS) {
             _knownReaders.clear();
+            _metrics.cacheEvicted(JSONMetrics.Cache.READERS, count);
         }
-        _knownReaders.putIfAbsent(new ClassKey(raw, _features), vr);
+        _knownReaders.putIfAbsent(new CacheEntry<ValueReader>(raw, _features, vr));
         return vr;
     }
     
@@ -700,4 +871,30 @@ public class TypeDetector
         }
         return TypeBindings.create(ctxt, (ResolvedType[]) null);
     }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Cached serialization type information: either one of type constants
+     * (for non-Bean types), or property writers for Bean types.
+     *
+     * @since 2.9
+     */
+    public final static class SerType extends CacheEntry<BeanPropertyWriter[]>
+    {
+        /**
+         * Type constant for non-Bean types; {@link #SER_UNKNOWN} for Bean types
+         * (which have non-null {@link #value()})
+         */
+        public final int typeId;
+
+        public SerType(Class<?> type, int features, int typeId, BeanPropertyWriter[] props) {
+            super(type, features, props);
+            this.typeId = typeId;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
 
 /**
  * Helper class used when reading values of complex types other
@@ -25,6 +26,20 @@ public abstract class ValueReader
 
     public abstract Object readNext(JSONReader reader, JsonParser p) throws IOException;
 
+    /**
+     * Method for binding value of given tree node directly, without first
+     * converting it into a token stream. Default implementation does use
+     * token stream (see {@link TreeBinder#readUsingParser}), so sub-classes
+     * should override it where possible.
+     *
+     * @param node Node to bind; <code>null</code> for JSON null
+     *
+     * @since 2.9
+     */
+    public Object readFromTree(TreeBinder binder, TreeNode node) throws IOException {
+        return binder.readUsingParser(this, node);
+    }
+
     /*
     /**********************************************************************
     /* Helper methods for sub-classes
@@ -4,6 +4,8 @@ import java.io.Serializable;
 import java.lang.reflect.*;
 import java.util.*;
 
+import com.fasterxml.jackson.jr.ob.impl.CacheEntry;
+import com.fasterxml.jackson.jr.ob.impl.ClassCache;
 import com.fasterxml.jackson.jr.ob.impl.ClassKey;
 
 /**
@@ -14,8 +16,8 @@ import com.fasterxml.jackson.jr.ob.impl.ClassKey;
  *<p>
  * Note that resolver instances are stateful in that resolvers cache resolved
  * types for efficiency. Since this is internal state and not directly visible
- * to callers, access to state is fully synchronized so that access from
- * multiple threads is safe.
+ * to callers, access to state is thread-safe. Cached types do not prevent
+ * unloading of classes (see {@link ClassCache}).
  */
 @SuppressWarnings("serial")
 public class TypeResolver implements Serializable
@@ -50,11 +52,21 @@ public class TypeResolver implements Serializable
     }
 
     // // Caching
-    
-    protected final Map<ClassKey,ResolvedType> _cache = new HashMap<ClassKey,ResolvedType>(16, 0.8f);
+
+    /**
+     * NOTE: since 2.9 does not prevent unloading of classes (see {@link ClassCache}),
+     * and is not serialized.
+     */
+    protected final transient ClassCache<CacheEntry<ResolvedType>> _cache
+        = new ClassCache<CacheEntry<ResolvedType>>(16);
 
     public TypeResolver() { }
 
+    // since cache is not serialized, need to re-create
+    protected Object readResolve() {
+        return new TypeResolver();
+    }
+
     /**
      * Factory method for resolving specified Java {@link java.lang.reflect.Type}, given
      * {@link TypeBindings} needed to resolve any type variables.
@@ -117,19 +129,15 @@ public class TypeResolver implements Serializable
 
         ResolvedType type;
         if (typeBindings.isEmpty()) {
-            synchronized (_cache) {
-                type = _cache.get(key);
-                if (type != null) {
-                    return type;
-                }
+            CacheEntry<ResolvedType> entry = _cache.get(key);
+            if (entry != null) {
+                return entry.value();
             }
             type = _constructType(context, rawType, typeBindings);
-            synchronized (_cache) {
-                if (_cache.size() >= 100) { // so hash table max 128 entries
-                    _cache.clear();
-                }
-                _cache.put(key, type);
+            if (_cache.size() >= 100) { // so hash table max 128 entries
+                _cache.clear();
             }
+            _cache.putIfAbsent(new CacheEntry<ResolvedType>(rawType, 0, type));
         } else {
             type = _constructType(context, rawType, typeBindings);
         }
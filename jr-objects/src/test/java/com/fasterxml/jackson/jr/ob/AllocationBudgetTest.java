@@ -0,0 +1,212 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Tests that verify that number of bytes allocated per operation for
+ * common "hot paths" (writing Beans via <code>JSONWriter</code>, reading
+ * Beans, arrays and "untyped" values with <code>BeanReader</code>,
+ * <code>ArrayReader</code> and <code>AnyReader</code>) stays within
+ * recorded budgets. Allocation is measured with per-thread allocation
+ * counters of <code>com.sun.management.ThreadMXBean</code>; tests pass
+ * without checking on JVMs that do not support them.
+ *<p>
+ * Allocations noted next to budgets were measured with JDK 17 (OpenJDK
+ * 17.0, x86-64), and budgets set about 50% above them: older JDKs
+ * allocate more, mostly since Strings (before JDK 9) are backed by
+ * <code>char[]</code> instead of compact Latin-1 <code>byte[]</code>,
+ * and differ in other implementation details. If a change reduces
+ * allocations, budgets should be lowered accordingly. Budgets assume
+ * compressed object pointers (default for heaps below 32 gigabytes), and
+ * are not checked if they are disabled, since object sizes then grow
+ * by up to 40%.
+ */
+public class AllocationBudgetTest extends TestBase
+{
+    private final static int WARMUP_ROUNDS = 2000;
+
+    private final static int MEASURED_ROUNDS = 1000;
+
+    // Budgets, in bytes per operation
+    private final static int BUDGET_WRITE_BEAN = 950; // measured (JDK 17): 632
+    private final static int BUDGET_WRITE_LIST = 850; // measured (JDK 17): 560
+    private final static int BUDGET_READ_BEAN = 1750; // measured (JDK 17): 1160
+    private final static int BUDGET_READ_INT_ARRAY = 4350; // measured (JDK 17): 2896
+    private final static int BUDGET_READ_DEFERRED_MAP = 1550; // measured (JDK 17): 1032
+    private final static int BUDGET_READ_MAP = 1850; // measured (JDK 17): 1240
+    private final static int BUDGET_READ_ANY = 2200; // measured (JDK 17): 1464
+
+    static class PrimitiveBean {
+        public int a = 1, b = -2, c = 300;
+        public long d = 123456789012L, e = -1L;
+        public boolean f = true, g = false;
+        public double h = 0.25, i = -1.5;
+        public short j = 7;
+    }
+
+    private final JSON JSON_F = JSON.std.with(JSON.Feature.USE_FIELDS);
+
+    private final OutputStream NOP_OUT = new OutputStream() {
+        @Override
+        public void write(int b) { }
+        @Override
+        public void write(byte[] b, int offset, int len) { }
+    };
+
+    private final byte[] BEAN_DOC;
+
+    private final byte[] INT_ARRAY_DOC;
+
+    private final byte[] MAP_DOC;
+
+    private final byte[] ANY_DOC;
+
+    public AllocationBudgetTest() throws IOException
+    {
+        BEAN_DOC = JSON_F.asBytes(new PrimitiveBean());
+        int[] ints = new int[100];
+        for (int i = 0; i < ints.length; ++i) {
+            ints[i] = i * 1000;
+        }
+        INT_ARRAY_DOC = JSON.std.asBytes(ints);
+        MAP_DOC = aposToQuotes("{'id':1234,'name':'Bob','active':true,'score':0.5}").getBytes("UTF-8");
+        ANY_DOC = aposToQuotes("[{'a':1,'b':[true,false,null]},'text',-12,{'x':{'y':2.5}}]").getBytes("UTF-8");
+    }
+
+    /*
+    /**********************************************************************
+    /* Scenarios
+    /**********************************************************************
+     */
+
+    public void testWriteBean() throws Exception
+    {
+        final PrimitiveBean bean = new PrimitiveBean();
+        _verify("write 10-field bean of primitives", BUDGET_WRITE_BEAN, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                JSON_F.write(bean, NOP_OUT);
+            }
+        });
+    }
+
+    public void testWriteList() throws Exception
+    {
+        final List<Object> list = Arrays.<Object>asList(1, "abc", true, 2.5, null);
+        _verify("write small List", BUDGET_WRITE_LIST, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                JSON.std.write(list, NOP_OUT);
+            }
+        });
+    }
+
+    public void testReadBean() throws Exception
+    {
+        _verify("read 10-field bean of primitives", BUDGET_READ_BEAN, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                JSON_F.beanFrom(PrimitiveBean.class, BEAN_DOC);
+            }
+        });
+    }
+
+    public void testReadIntArray() throws Exception
+    {
+        _verify("read int[] with 100 elements", BUDGET_READ_INT_ARRAY, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                JSON.std.beanFrom(int[].class, INT_ARRAY_DOC);
+            }
+        });
+    }
+
+    public void testReadDeferredMap() throws Exception
+    {
+        final JSON json = JSON.std.with(JSON.Feature.USE_DEFERRED_MAPS);
+        _verify("read small Map with deferred maps", BUDGET_READ_DEFERRED_MAP, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                json.mapFrom(MAP_DOC);
+            }
+        });
+    }
+
+    public void testReadMap() throws Exception
+    {
+        final JSON json = JSON.std.without(JSON.Feature.USE_DEFERRED_MAPS);
+        _verify("read small Map without deferred maps", BUDGET_READ_MAP, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                json.mapFrom(MAP_DOC);
+            }
+        });
+    }
+
+    public void testReadAny() throws Exception
+    {
+        _verify("read nested untyped value", BUDGET_READ_ANY, new Scenario() {
+            @Override
+            public void run() throws IOException {
+                JSON.std.anyFrom(ANY_DOC);
+            }
+        });
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    interface Scenario {
+        public void run() throws IOException;
+    }
+
+    private void _verify(String desc, int budget, Scenario scenario) throws IOException
+    {
+        com.sun.management.ThreadMXBean bean = _threadBean();
+        if (bean == null) { // not supported, can not check
+            return;
+        }
+        final long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            scenario.run();
+        }
+        final long start = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            scenario.run();
+        }
+        final long perOp = (bean.getThreadAllocatedBytes(threadId) - start) / MEASURED_ROUNDS;
+        if (perOp > budget) {
+            fail("Allocation budget exceeded for '"+desc+"': "+perOp+" bytes per operation, budget "+budget);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean _threadBean()
+    {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            com.sun.management.HotSpotDiagnosticMXBean diag = ManagementFactory.newPlatformMXBeanProxy(
+                    ManagementFactory.getPlatformMBeanServer(), "com.sun.management:type=HotSpotDiagnostic",
+                    com.sun.management.HotSpotDiagnosticMXBean.class);
+            if ("false".equals(diag.getVMOption("UseCompressedOops").getValue())) {
+                return null;
+            }
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return sunBean;
+                }
+            }
+        } catch (Throwable t) { // e.g. if class not present
+            ;
+        }
+        return null;
+    }
+}
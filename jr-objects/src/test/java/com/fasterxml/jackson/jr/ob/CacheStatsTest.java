@@ -0,0 +1,103 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics.Cache;
+
+public class CacheStatsTest extends TestBase
+{
+    static class StatsBean {
+        public int x = 1;
+        public String name = "abc";
+    }
+
+    static class OtherBean {
+        public boolean ok = true;
+    }
+
+    // Bean that clears caches while being written
+    static class ClearingBean {
+        private final JSON _json;
+
+        public ClearingBean(JSON json) { _json = json; }
+
+        public int getValue() {
+            _json.clearCaches();
+            return 3;
+        }
+    }
+
+    public void testCacheStats() throws Exception
+    {
+        // use separate caches, not shared with other tests
+        final JSON json = new JSON().with(JSON.Feature.USE_FIELDS);
+        final long start = System.currentTimeMillis();
+
+        final String DOC = aposToQuotes("{'name':'abc','x':1}");
+        assertEquals(DOC, json.asString(new StatsBean()));
+        assertEquals(DOC, json.asString(new StatsBean()));
+        json.beanFrom(StatsBean.class, DOC);
+        json.beanFrom(StatsBean.class, DOC);
+        json.beanFrom(StatsBean.class, DOC);
+
+        JSONCacheStats stats = json.cacheStats();
+        List<JSONCacheStats.Entry> entries = stats.entries(Cache.READERS, StatsBean.class);
+        assertEquals(1, entries.size());
+        JSONCacheStats.Entry entry = entries.get(0);
+        assertEquals(2, entry.getHitCount());
+        assertTrue(entry.getEstimatedSize() > 0L);
+        assertTrue(entry.getCreated() >= start);
+        assertTrue(entry.getLastAccess() >= entry.getCreated());
+        assertTrue(JSON.Feature.USE_FIELDS.isEnabled(entry.getFeatures()));
+
+        entries = stats.entries(Cache.WRITERS, StatsBean.class);
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).getHitCount());
+        assertEquals(1, stats.entries(Cache.POJO_DEFINITIONS, StatsBean.class).size());
+        assertTrue(stats.estimatedSize() > stats.estimatedSize(Cache.READERS));
+        assertEquals(stats.size(Cache.READERS), stats.entries(Cache.READERS).size());
+
+        // differently configured instances share caches, but have separate entries
+        JSON json2 = json.without(JSON.Feature.USE_FIELDS);
+        json2.asString(new StatsBean());
+        assertEquals(2, json.cacheStats().entries(Cache.WRITERS, StatsBean.class).size());
+        assertEquals(2, json2.cacheStats().entries(Cache.WRITERS, StatsBean.class).size());
+
+        // but not with other instances
+        assertEquals(0, new JSON().cacheStats().entries(Cache.WRITERS, StatsBean.class).size());
+    }
+
+    public void testClearCaches() throws Exception
+    {
+        final JSON json = new JSON().with(JSON.Feature.USE_FIELDS);
+        final String DOC = aposToQuotes("{'name':'abc','x':1}");
+        json.beanFrom(StatsBean.class, DOC);
+        json.asString(new StatsBean());
+        assertEquals(1, json.cacheStats().entries(Cache.READERS, StatsBean.class).size());
+
+        json.clearCaches();
+        JSONCacheStats stats = json.cacheStats();
+        assertEquals(0, stats.size(Cache.READERS));
+        assertEquals(0, stats.size(Cache.WRITERS));
+        assertEquals(0, stats.entries(Cache.POJO_DEFINITIONS, StatsBean.class).size());
+
+        // and everything still works after clearing
+        assertEquals(DOC, json.asString(new StatsBean()));
+        assertEquals(1, json.beanFrom(StatsBean.class, DOC).x);
+        assertEquals(1, json.cacheStats().entries(Cache.READERS, StatsBean.class).size());
+    }
+
+    // Clearing caches must not affect operations in progress
+    public void testClearDuringWrite() throws Exception
+    {
+        final JSON json = new JSON().with(JSON.Feature.USE_FIELDS);
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 3; ++i) {
+            values.add(new StatsBean());
+            values.add(new ClearingBean(json));
+            values.add(new OtherBean());
+        }
+        final String EXP_PART = aposToQuotes("{'name':'abc','x':1},{'value':3},{'ok':true}");
+        assertEquals("["+EXP_PART+","+EXP_PART+","+EXP_PART+"]", json.asString(values));
+    }
+}
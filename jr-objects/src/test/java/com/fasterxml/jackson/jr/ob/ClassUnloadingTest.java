@@ -0,0 +1,125 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics.Cache;
+
+/**
+ * Tests to verify that cached readers, writers and class definitions do not
+ * prevent classes (and their class loaders) from being unloaded.
+ */
+public class ClassUnloadingTest extends TestBase
+{
+    public static class UnloadableBean {
+        public String name;
+        public List<UnloadablePoint> points;
+    }
+
+    public static class UnloadablePoint {
+        public int x, y;
+    }
+
+    private final static String PREFIX = ClassUnloadingTest.class.getName()+"$Unloadable";
+
+    /**
+     * Class loader that defines (copies of) "unloadable" test classes itself,
+     * delegating loading of other classes to loader of this test.
+     */
+    static class ThrowawayLoader extends ClassLoader
+    {
+        public ThrowawayLoader() {
+            super(ClassUnloadingTest.class.getClassLoader());
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException
+        {
+            if (!name.startsWith(PREFIX)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> cls = findLoadedClass(name);
+            if (cls == null) {
+                byte[] data = _readClass(name);
+                cls = defineClass(name, data, 0, data.length);
+            }
+            return cls;
+        }
+
+        private byte[] _readClass(String name) throws ClassNotFoundException
+        {
+            InputStream in = getParent().getResourceAsStream(name.replace('.', '/')+".class");
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4000];
+                int count;
+                while ((count = in.read(buffer)) > 0) {
+                    bytes.write(buffer, 0, count);
+                }
+                in.close();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    public void testClassesUnloaded() throws Exception
+    {
+        try {
+            Class.forName("java.lang.ClassValue");
+        } catch (ClassNotFoundException e) { // classes can not be unloaded without it
+            return;
+        }
+        // use separate caches, not shared with other tests; metrics must not
+        // retain classes either
+        final JSONMetrics.InMemory metrics = new JSONMetrics.InMemory();
+        final JSON json = new JSON().with(JSON.Feature.USE_FIELDS).with(metrics);
+        WeakReference<ClassLoader> loaderRef = _useThrowawayClasses(json);
+
+        for (int i = 0; (loaderRef.get() != null) && (i < 20); ++i) {
+            System.gc();
+            Thread.sleep(50L);
+        }
+        assertNull("Class loader of cached classes was not collected", loaderRef.get());
+
+        JSONCacheStats stats = json.cacheStats();
+        assertEquals(0, stats.size(Cache.READERS));
+        assertEquals(0, stats.size(Cache.WRITERS));
+        for (JSONCacheStats.Entry entry : stats.entries(Cache.POJO_DEFINITIONS)) {
+            assertFalse(entry.getType().getName().startsWith(PREFIX));
+        }
+        // metrics kept by name, so they are available via same-named class
+        assertEquals(1L, metrics.readCount(UnloadableBean.class));
+        assertEquals(1L, metrics.writeCount(UnloadableBean.class));
+
+        // and caches remain usable for other types
+        UnloadablePoint p = json.beanFrom(UnloadablePoint.class, "{\"x\":1,\"y\":2}");
+        assertEquals(2, p.y);
+        assertEquals(1, json.cacheStats().size(Cache.READERS));
+    }
+
+    // Separate method, so that no references to classes remain on caller's stack
+    private WeakReference<ClassLoader> _useThrowawayClasses(JSON json) throws Exception
+    {
+        ClassLoader loader = new ThrowawayLoader();
+        Class<?> beanType = loader.loadClass(UnloadableBean.class.getName());
+        assertNotSame(UnloadableBean.class, beanType);
+
+        final String DOC = aposToQuotes("{'name':'test','points':[{'x':1,'y':2}]}");
+        Object bean = json.beanFrom(beanType, DOC);
+        assertSame(beanType, bean.getClass());
+        assertEquals(DOC, json.asString(bean));
+
+        JSONCacheStats stats = json.cacheStats();
+        assertEquals(1, stats.entries(Cache.READERS, beanType).size());
+        assertEquals(1, stats.entries(Cache.WRITERS, beanType).size());
+        assertEquals(1, stats.entries(Cache.POJO_DEFINITIONS, beanType).size());
+        return new WeakReference<ClassLoader>(loader);
+    }
+}
@@ -0,0 +1,125 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.impl.BufferRecyclerPool;
+import com.fasterxml.jackson.jr.ob.impl.ByteOutputBuffer;
+
+public class JSONSessionTest extends TestBase
+{
+    static class Point {
+        public int x, y;
+
+        public Point() { }
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public void testRepeatedWrites() throws Exception
+    {
+        JSONSession session = JSON.std.with(JSON.Feature.USE_FIELDS).newSession();
+        for (int i = 0; i < 5; ++i) {
+            Point p = new Point(i, -i);
+            String exp = aposToQuotes("{'x':"+i+",'y':"+(-i)+"}");
+            assertEquals(exp, session.asString(p));
+            assertEquals(exp, new String(session.asBytes(p), "UTF-8"));
+            ByteOutputBuffer buf = session.asBuffer(p);
+            assertEquals(exp, new String(buf.array(), 0, buf.length(), "UTF-8"));
+        }
+        session.close();
+        // usable after close, too
+        assertEquals("[1,2]", session.asString(new int[] { 1, 2 }));
+    }
+
+    public void testPrettyPrinting() throws Exception
+    {
+        JSON json = JSON.std.with(JSON.Feature.PRETTY_PRINT_OUTPUT);
+        JSONSession session = json.newSession();
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("a", 1);
+        final String exp = json.asString(map);
+        assertEquals(exp, session.asString(map));
+        assertEquals(exp, session.asString(map));
+        assertEquals(exp, new String(session.asBytes(map), "UTF-8"));
+        assertEquals(exp, new String(session.asBytes(map), "UTF-8"));
+    }
+
+    public void testRepeatedReads() throws Exception
+    {
+        JSONSession session = JSON.std.with(JSON.Feature.USE_FIELDS).newSession();
+        for (int i = 0; i < 3; ++i) {
+            Point p = session.beanFrom(Point.class, aposToQuotes("{'x':"+i+",'y':3}"));
+            assertEquals(i, p.x);
+            assertEquals(3, p.y);
+
+            Map<String,Object> map = session.mapFrom(aposToQuotes("{'a':[1,"+i+"],'b':{}}"));
+            assertEquals(2, map.size());
+            assertEquals(Arrays.asList(1, i), map.get("a"));
+
+            List<Point> points = session.listOfFrom(Point.class, "[{\"x\":1},{\"y\":2}]".getBytes("UTF-8"));
+            assertEquals(2, points.size());
+            assertEquals(2, points.get(1).y);
+
+            assertEquals(Arrays.asList("a", true), session.listFrom("[\"a\",true]"));
+            assertEquals(Integer.valueOf(i), session.anyFrom(String.valueOf(i)));
+        }
+    }
+
+    public void testRecyclerPool() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(4);
+        JSONSession session = JSON.std.with(pool).newSession();
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(Arrays.asList(i), session.listFrom("["+i+"]"));
+            assertEquals("["+i+"]", session.asString(Arrays.asList(i)));
+            assertEquals("["+i+"]", new String(session.asBytes(Arrays.asList(i)), "UTF-8"));
+        }
+        // reads only borrow recycler for the call; generators hold on to
+        // theirs until session is closed
+        assertEquals(1, pool.pooledCount());
+        session.close();
+        assertEquals(3, pool.pooledCount());
+        assertEquals(0L, pool.getDropCount());
+    }
+
+    public void testWritersRecreated() throws Exception
+    {
+        JSONSession session = JSON.std.with(JSON.Feature.USE_FIELDS).newSession();
+        session.asString(new Point(1, 2));
+        Object w = session._charWriter;
+        assertNotNull(w);
+        for (int i = 1; i < JSONSession.MAX_WRITES_PER_WRITER; ++i) {
+            assertSame(w, session._charWriter);
+            assertEquals(aposToQuotes("{'x':"+i+",'y':2}"), session.asString(new Point(i, 2)));
+        }
+        // writer (but not generator) discarded after max writes
+        assertNull(session._charWriter);
+        assertNotNull(session._charGenerator);
+        assertEquals("{\"x\":0,\"y\":0}", session.asString(new Point()));
+        assertNotSame(w, session._charWriter);
+    }
+
+    public void testRecoveryAfterFailure() throws Exception
+    {
+        JSONSession session = JSON.std.newSession();
+        try {
+            session.mapFrom("{\"a\":[1,2");
+            fail("Should not pass");
+        } catch (java.io.IOException e) {
+            verifyException(e, "end-of-input");
+        }
+        assertEquals(Collections.singletonMap("a", 1), session.mapFrom("{\"a\":1}"));
+
+        try {
+            session.asString(Collections.singletonMap("x", new Object() {
+                public int getValue() { throw new IllegalStateException("fail!"); }
+            }));
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Failed to access property");
+        }
+        assertEquals("{\"a\":1}", session.asString(Collections.singletonMap("a", 1)));
+    }
+}
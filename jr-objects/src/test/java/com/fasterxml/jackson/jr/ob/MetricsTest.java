@@ -0,0 +1,117 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSONMetrics.Cache;
+
+public class MetricsTest extends TestBase
+{
+    static class MetricsPoint {
+        public int x, y;
+
+        public MetricsPoint() { }
+        public MetricsPoint(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public void testDefaultsAndConfiguration() throws Exception
+    {
+        assertSame(JSONMetrics.nopInstance(), JSON.std.getMetrics());
+        assertEquals(0L, JSONMetrics.nopInstance().startTime());
+
+        JSONMetrics.InMemory metrics = new JSONMetrics.InMemory();
+        JSON json = JSON.std.with(metrics);
+        assertSame(metrics, json.getMetrics());
+        assertSame(json, json.with(metrics));
+        // metrics retained by other mutant factories
+        assertSame(metrics, json.with(JSON.Feature.PRETTY_PRINT_OUTPUT).getMetrics());
+
+        JSON json2 = json.with((JSONMetrics) null);
+        assertSame(JSONMetrics.nopInstance(), json2.getMetrics());
+    }
+
+    public void testReadsAndWrites() throws Exception
+    {
+        JSONMetrics.InMemory metrics = new JSONMetrics.InMemory();
+        JSON json = JSON.std.with(JSON.Feature.USE_FIELDS).with(metrics);
+
+        final String DOC = aposToQuotes("{'x':1,'y':2}");
+        for (int i = 0; i < 3; ++i) {
+            MetricsPoint p = json.beanFrom(MetricsPoint.class, DOC);
+            assertEquals(2, p.y);
+        }
+        assertEquals(3L, metrics.readCount(MetricsPoint.class));
+        assertEquals(3L * DOC.length(), metrics.readBytes(MetricsPoint.class));
+        assertTrue(metrics.readNanos(MetricsPoint.class) > 0L);
+
+        byte[] bytes = json.asBytes(new MetricsPoint(3, 4));
+        assertEquals(1L, metrics.writeCount(MetricsPoint.class));
+        assertEquals(bytes.length, metrics.writeBytes(MetricsPoint.class));
+        String str = json.asString(new MetricsPoint(3, 4));
+        assertEquals(2L, metrics.writeCount(MetricsPoint.class));
+        assertEquals(bytes.length + str.length(), metrics.writeBytes(MetricsPoint.class));
+
+        // "untyped" reads reported by category
+        Map<String,Object> map = json.mapFrom(new ByteArrayInputStream(bytes));
+        assertEquals(Integer.valueOf(4), map.get("y"));
+        assertEquals(1L, metrics.readCount(Map.class));
+        assertEquals(bytes.length, metrics.readBytes(Map.class));
+        json.listFrom("[1,2]");
+        assertEquals(1L, metrics.readCount(List.class));
+
+        // size of output not known for writes to streams
+        StringWriter sw = new StringWriter();
+        json.write(null, sw);
+        assertEquals("null", sw.toString());
+        assertEquals(1L, metrics.writeCount(null));
+        assertEquals(0L, metrics.writeBytes(null));
+
+        // nothing reported for failed reads
+        try {
+            json.mapFrom("[1]");
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "JSON Array");
+        }
+        assertEquals(1L, metrics.readCount(Map.class));
+
+        metrics.reset();
+        assertEquals(0L, metrics.readCount(MetricsPoint.class));
+        assertEquals(0L, metrics.cacheMisses(Cache.READERS));
+    }
+
+    public void testCacheMetrics() throws Exception
+    {
+        JSONMetrics.InMemory metrics = new JSONMetrics.InMemory();
+        JSON json = JSON.std.with(JSON.Feature.USE_FIELDS).with(metrics);
+
+        // first use of a type requires introspection...
+        json.beanFrom(MetricsBean.class, "{\"value\":3}");
+        assertEquals(1L, metrics.cacheMisses(Cache.READERS));
+        assertEquals(1L, metrics.cacheMisses(Cache.POJO_DEFINITIONS));
+        assertEquals(1L, metrics.introspectionCount());
+
+        // but not later on
+        json.beanFrom(MetricsBean.class, "{\"value\":4}");
+        assertEquals(1L, metrics.cacheMisses(Cache.READERS));
+        assertEquals(1L, metrics.cacheHits(Cache.READERS));
+        assertEquals(1L, metrics.introspectionCount());
+
+        // writer resolution shares the class definition
+        json.asString(new MetricsBean());
+        assertEquals(1L, metrics.cacheMisses(Cache.WRITERS));
+        assertEquals(1L, metrics.cacheHits(Cache.POJO_DEFINITIONS));
+        json.asString(new MetricsBean());
+        assertEquals(1L, metrics.cacheMisses(Cache.WRITERS));
+        assertEquals(1L, metrics.cacheHits(Cache.WRITERS));
+        assertEquals(1L, metrics.introspectionCount());
+        assertEquals(0L, metrics.cacheEvictions(Cache.READERS));
+    }
+
+    static class MetricsBean {
+        public int value;
+    }
+}
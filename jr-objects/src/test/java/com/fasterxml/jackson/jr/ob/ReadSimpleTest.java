@@ -53,6 +53,34 @@ public class ReadSimpleTest extends TestBase
         _testArray("[12]", 1);
     }
 
+    public void testIntArray() throws Exception
+    {
+        int[] result = JSON.std.beanFrom(int[].class, "[1,-2,3,4,5,6,7,8,9,10,11,12]");
+        assertEquals(12, result.length);
+        assertEquals(-2, result[1]);
+        assertEquals(12, result[11]);
+        assertEquals(0, JSON.std.beanFrom(int[].class, "[]").length);
+        assertNull(JSON.std.beanFrom(int[].class, "null"));
+
+        // elements coerced same way as Integer values
+        final String COERCED = "[\"1\",2.0,-3.5,true]";
+        result = JSON.std.beanFrom(int[].class, COERCED);
+        assertEquals(4, result.length);
+        assertEquals(1, result[0]);
+        assertEquals(2, result[1]);
+        assertEquals(-3, result[2]);
+        assertEquals(1, result[3]);
+        assertEquals(Arrays.asList(1, 2, -3, 1), JSON.std.listOfFrom(Integer.class, COERCED));
+
+        // but structured values can not be
+        try {
+            JSON.std.beanFrom(int[].class, "[1,[2]]");
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Can not read int[] element");
+        }
+    }
+
     private void _testArray(String input, int expCount) throws Exception
     {
         Object ob;
@@ -0,0 +1,170 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.jr.ob.impl.BufferRecyclerPool;
+import com.fasterxml.jackson.jr.ob.impl.PooledJsonFactory;
+
+public class RecyclerPoolTest extends TestBase
+{
+    static class Point {
+        public int x, y;
+
+        public Point() { }
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    public void testSimpleRoundtrip() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(4);
+        JSON json = JSON.std.with(JSON.Feature.USE_FIELDS).with(pool);
+        assertTrue(json.getStreamingFactory() instanceof PooledJsonFactory);
+        assertSame(json, json.with(pool));
+
+        for (int i = 0; i < 10; ++i) {
+            String str = json.asString(new Point(i, -i));
+            assertEquals(aposToQuotes("{'x':"+i+",'y':"+(-i)+"}"), str);
+            Point p = json.beanFrom(Point.class, str);
+            assertEquals(i, p.x);
+            p = json.beanFrom(Point.class, json.asBytes(p));
+            assertEquals(-i, p.y);
+            Map<String,Object> map = json.mapFrom(new StringReader(str));
+            assertEquals(Integer.valueOf(i), map.get("x"));
+
+            StringWriter sw = new StringWriter();
+            json.write(Arrays.asList(i), sw);
+            assertEquals("["+i+"]", sw.toString());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            json.write(Arrays.asList(i), bytes);
+            assertEquals(Arrays.asList(i), json.listFrom(new ByteArrayInputStream(bytes.toByteArray())));
+        }
+        // all but the very first operation should be served from the pool
+        assertEquals(1L, pool.getMissCount());
+        assertEquals(79L, pool.getHitCount());
+        assertEquals(0L, pool.getDropCount());
+        assertEquals(1, pool.pooledCount());
+        assertTrue(pool.getHitRate() > 0.9);
+    }
+
+    public void testReleaseOnFailure() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(2);
+        JSON json = JSON.std.with(pool);
+        try {
+            json.mapFrom("[1,2]");
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Can not read a Map");
+        }
+        assertEquals(1, pool.pooledCount());
+    }
+
+    public void testReleaseOnParserCreationFailure() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(2);
+        JSON json = JSON.std.with(pool);
+        try {
+            json.mapFrom(Integer.valueOf(3));
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Can not use Source");
+        }
+        assertEquals(1, pool.pooledCount());
+    }
+
+    public void testComposersAndSequenceWriters() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(2);
+        JSON json = JSON.std.with(pool);
+        String str = json.composeString()
+                .startObject()
+                    .put("a", 1)
+                .end()
+                .finish();
+        assertEquals(aposToQuotes("{'a':1}"), str);
+        assertEquals(1, pool.pooledCount());
+        byte[] bytes = json.composeBytes()
+                .startArray()
+                    .add(true)
+                .end()
+                .finish();
+        assertEquals("[true]", new String(bytes, "UTF-8"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.composeTo(out).startArray().end().finish();
+        assertEquals("[]", out.toString("UTF-8"));
+
+        out = new ByteArrayOutputStream();
+        JSONSequenceWriter w = json.sequenceWriter(out, "\n");
+        w.write(Arrays.asList(1));
+        w.close();
+        assertEquals("[1]\n", out.toString("UTF-8"));
+
+        assertEquals(1L, pool.getMissCount());
+        assertEquals(3L, pool.getHitCount());
+        assertEquals(1, pool.pooledCount());
+    }
+
+    public void testBound() throws Exception
+    {
+        BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(3);
+        assertEquals(3, pool.capacity());
+        for (int i = 0; i < 5; ++i) {
+            pool.release(new com.fasterxml.jackson.core.util.BufferRecycler());
+        }
+        assertEquals(3, pool.pooledCount());
+        assertEquals(2L, pool.getDropCount());
+    }
+
+    public void testConcurrentUse() throws Exception
+    {
+        final BufferRecyclerPool.Bounded pool = new BufferRecyclerPool.Bounded(2);
+        final JSON json = JSON.std.with(pool);
+        final AtomicReference<Throwable> fail = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[6];
+        for (int t = 0; t < threads.length; ++t) {
+            final int id = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 200; ++i) {
+                            List<Object> input = Arrays.<Object>asList(id, i, "thread-"+id);
+                            String str = json.asString(input);
+                            if (!input.equals(json.listFrom(str))) {
+                                throw new IllegalStateException("Mismatch for: "+str);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        fail.set(e);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (fail.get() != null) {
+            throw new Exception(fail.get());
+        }
+        assertEquals(2400L, pool.getHitCount() + pool.getMissCount());
+        assertTrue(pool.pooledCount() <= 2);
+    }
+
+    public void testInvalidPoolSize() throws Exception
+    {
+        try {
+            BufferRecyclerPool.bounded(0);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Invalid pool size");
+        }
+    }
+}
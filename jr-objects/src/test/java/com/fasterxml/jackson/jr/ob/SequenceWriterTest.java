@@ -0,0 +1,102 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+public class SequenceWriterTest extends TestBase
+{
+    static class Row {
+        public int id;
+        public String name;
+
+        public Row(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class FlushCountingStream extends ByteArrayOutputStream {
+        public int flushes;
+
+        @Override
+        public void flush() throws IOException {
+            ++flushes;
+        }
+    }
+
+    public void testLineDelimited() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JSONSequenceWriter w = JSON.std.with(JSON.Feature.USE_FIELDS)
+                .sequenceWriter(bytes, "\n");
+        w.write(new Row(1, "a"));
+        w.writeAll(Arrays.asList(new Row(2, "b"), Collections.singletonMap("x", true), null));
+        assertEquals(4, w.getValueCount());
+        w.close();
+        assertEquals(aposToQuotes("{'id':1,'name':'a'}\n{'id':2,'name':'b'}\n{'x':true}\nnull\n"),
+                bytes.toString("UTF-8"));
+        try {
+            w.write(3);
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "already closed");
+        }
+    }
+
+    public void testFailedWrite() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JSONSequenceWriter w = JSON.std.sequenceWriter(bytes, "\n");
+        w.write(Arrays.asList(1));
+        Map<String,Object> bad = new LinkedHashMap<String,Object>();
+        bad.put("a", 1);
+        bad.put("b", new Object() {
+            public int getValue() { throw new IllegalStateException("fail!"); }
+        });
+        try {
+            w.write(bad);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Failed to access property");
+        }
+        assertTrue(w.isFailed());
+        assertEquals(1, w.getValueCount());
+        try {
+            w.write(Arrays.asList(2));
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "failed to write an earlier value");
+            assertNotNull(e.getCause());
+        }
+        w.close();
+        // partial value not completed
+        String output = bytes.toString("UTF-8");
+        assertTrue(output.startsWith("[1]\n{"));
+        assertFalse(output.endsWith("}"));
+    }
+
+    public void testNoSeparator() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JSONSequenceWriter w = JSON.std.sequenceWriter(bytes, null);
+        w.writeAll(Arrays.asList(1, "x", new int[] { 2 }));
+        w.close();
+        assertEquals("1\"x\"[2]", bytes.toString("UTF-8"));
+    }
+
+    public void testFlushThreshold() throws Exception
+    {
+        FlushCountingStream out = new FlushCountingStream();
+        JSONSequenceWriter w = JSON.std.sequenceWriter(out, "\n", 100);
+        List<Object> rows = new ArrayList<Object>();
+        for (int i = 0; i < 20; ++i) {
+            rows.add("0123456789012345678901234567890123456789"); // 43 bytes with quotes, lf
+        }
+        w.writeAll(rows);
+        // 20 * 43 == 860 bytes; with 100 byte threshold, flush every 3rd value
+        assertEquals(6, out.flushes);
+        w.close();
+        assertEquals(860, out.size());
+    }
+}
@@ -0,0 +1,225 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.jr.ob.impl.TokenBuffer;
+
+public class TokenBufferTest extends TestBase
+{
+    static class Point {
+        public int x, y;
+        public String label;
+    }
+
+    private final JSON JSON_F = JSON.std.with(JSON.Feature.USE_FIELDS);
+
+    public void testBeanRoundtrip() throws Exception
+    {
+        MediaItem input = _buildItem();
+        TokenBuffer buf = new TokenBuffer();
+        JSON.std.write(input, buf);
+        assertFalse(buf.isEmpty());
+        // spans multiple segments
+        assertTrue(buf.size() > 16);
+
+        MediaItem result = JSON.std.beanFrom(MediaItem.class, buf);
+        assertEquals(JSON.std.asString(input), JSON.std.asString(result));
+        // may be read more than once
+        result = JSON.std.beanFrom(MediaItem.class, buf);
+        assertEquals(JSON.std.asString(input), JSON.std.asString(result));
+    }
+
+    public void testConvert() throws Exception
+    {
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("x", 3);
+        map.put("y", -7L);
+        map.put("label", "origin");
+        Point p = JSON_F.convert(map, Point.class);
+        assertEquals(3, p.x);
+        assertEquals(-7, p.y);
+        assertEquals("origin", p.label);
+
+        Map<?,?> map2 = (Map<?,?>) JSON_F.convert(p, Object.class);
+        assertEquals(3, map2.size());
+        assertEquals(Integer.valueOf(-7), map2.get("y"));
+        assertEquals("origin", map2.get("label"));
+
+        MediaItem item = _buildItem();
+        assertEquals(JSON.std.asString(item),
+                JSON.std.asString(JSON.std.convert(item, MediaItem.class)));
+        assertEquals(JSON.std.anyFrom(JSON.std.asString(item)),
+                JSON.std.convert(item, Object.class));
+        assertNull(JSON.std.convert(null, Point.class));
+    }
+
+    public void testScalarsAndReplay() throws Exception
+    {
+        TokenBuffer buf = new TokenBuffer();
+        buf.writeStartArray();
+        buf.writeNumber(1);
+        buf.writeNumber(Long.MAX_VALUE);
+        buf.writeNumber(0.25);
+        buf.writeNumber(BigInteger.TEN.pow(20));
+        buf.writeNumber(new BigDecimal("1.5"));
+        buf.writeNumber("2.75");
+        buf.writeString("abc");
+        buf.writeBoolean(true);
+        buf.writeNull();
+        buf.writeStartObject();
+        buf.writeFieldName("bytes");
+        buf.writeBinary(new byte[] { 1, 2, 3 });
+        buf.writeEndObject();
+        buf.writeEndArray();
+        assertEquals(15, buf.size());
+
+        JsonParser p = buf.asParser();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(1, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+        assertEquals(Long.MAX_VALUE, p.getLongValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.25, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(BigInteger.TEN.pow(20), p.getBigIntegerValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(new BigDecimal("1.5"), p.getDecimalValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(2.75, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("bytes", p.getCurrentName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("bytes", p.getCurrentName());
+        assertEquals(3, p.getBinaryValue().length);
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        StringWriter sw = new StringWriter();
+        JsonGenerator g = JSON.std.getStreamingFactory().createGenerator(sw);
+        buf.serialize(g);
+        g.close();
+        assertEquals("[1,"+Long.MAX_VALUE+",0.25,100000000000000000000,1.5,2.75,\"abc\",true,null,"
+                +"{\"bytes\":\"AQID\"}]", sw.toString());
+    }
+
+    public void testNumbersAsStrings() throws Exception
+    {
+        TokenBuffer buf = new TokenBuffer();
+        buf.writeStartArray();
+        buf.writeNumber("12");
+        buf.writeNumber("-3000000000");
+        buf.writeNumber("123456789012345678901234567890");
+        buf.writeNumber("0.5");
+        buf.writeEndArray();
+
+        JsonParser p = buf.asParser();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(12, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+        assertEquals(-3000000000L, p.getLongValue());
+        try {
+            p.getIntValue();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "out of range of int");
+        }
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.BIG_INTEGER, p.getNumberType());
+        assertEquals(new BigInteger("123456789012345678901234567890"), p.getBigIntegerValue());
+        try {
+            p.getLongValue();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "out of range of long");
+        }
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(new BigDecimal("0.5"), p.getDecimalValue());
+        assertEquals("0.5", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+
+        assertEquals(Arrays.asList(12, -3000000000L, new BigInteger("123456789012345678901234567890"),
+                new BigDecimal("0.5")), JSON.std.anyFrom(buf));
+    }
+
+    public void testRawContent() throws Exception
+    {
+        TokenBuffer buf = new TokenBuffer();
+        buf.writeStartArray();
+        buf.writeRawValue("{\"a\":1}");
+        buf.writeRaw(' ');
+        buf.writeRawValue("[2]".toCharArray(), 0, 3);
+        buf.writeEndArray();
+
+        JsonParser p = buf.asParser();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("{\"a\":1}", p.getText());
+        // raw content other than values is skipped
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals("[2]", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+
+        StringWriter sw = new StringWriter();
+        JsonGenerator g = JSON.std.getStreamingFactory().createGenerator(sw);
+        buf.serialize(g);
+        g.close();
+        assertEquals("[{\"a\":1} ,[2]]", sw.toString());
+    }
+
+    public void testEmpty() throws Exception
+    {
+        try {
+            JSON.std.beanFrom(Point.class, new TokenBuffer());
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "No content to map");
+        }
+    }
+
+    private static void assertToken(JsonToken expected, JsonToken actual) {
+        assertEquals(expected, actual);
+    }
+
+    private MediaItem _buildItem() {
+        MediaItem.Content content = new MediaItem.Content();
+        content.setUri("http://javaone.com/keynote.mpg");
+        content.setTitle("Javaone Keynote");
+        content.setWidth(640);
+        content.setHeight(480);
+        content.setFormat("video/mpg4");
+        content.setDuration(18000000);
+        content.setSize(58982400L);
+        content.setBitrate(262144);
+        content.setPlayer(MediaItem.Player.JAVA);
+        content.addPerson("Bill Gates");
+        content.addPerson("Steve Jobs");
+
+        MediaItem item = new MediaItem(content);
+        item.addPhoto(new MediaItem.Photo("http://javaone.com/keynote_large.jpg", "Javaone Keynote",
+                1024, 768, MediaItem.Size.LARGE));
+        return item;
+    }
+}
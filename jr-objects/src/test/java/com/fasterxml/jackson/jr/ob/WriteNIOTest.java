@@ -0,0 +1,81 @@
+package com.fasterxml.jackson.jr.ob;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.impl.ByteOutputBuffer;
+
+public class WriteNIOTest extends TestBase
+{
+    public void testWriteToHeapBuffer() throws Exception
+    {
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("a", 1);
+        map.put("b", Arrays.asList("x", true));
+        final String EXP = aposToQuotes("{'a':1,'b':['x',true]}");
+
+        ByteBuffer bb = ByteBuffer.allocate(100);
+        bb.put((byte) '#');
+        int count = JSON.std.writeTo(map, bb);
+        assertEquals(EXP.length(), count);
+        assertEquals(1 + count, bb.position());
+        assertEquals("#"+EXP, new String(bb.array(), 0, bb.position(), "UTF-8"));
+    }
+
+    public void testWriteToDirectBuffer() throws Exception
+    {
+        ByteBuffer bb = ByteBuffer.allocateDirect(50);
+        int count = JSON.std.writeTo(new int[] { 1, 2, 3 }, bb);
+        assertEquals(7, count);
+        bb.flip();
+        byte[] b = new byte[bb.remaining()];
+        bb.get(b);
+        assertEquals("[1,2,3]", new String(b, "UTF-8"));
+    }
+
+    public void testOverflow() throws Exception
+    {
+        ByteBuffer bb = ByteBuffer.allocate(10);
+        bb.position(2);
+        try {
+            JSON.std.writeTo("abcdefghijklmnopqrstuvwxyz", bb);
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Not enough room in ByteBuffer");
+            verifyException(e, "8 remaining");
+            assertTrue(e.getCause() instanceof BufferOverflowException);
+        }
+        assertEquals(2, bb.position());
+    }
+
+    public void testWriteToChannel() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JSON.std.writeTo(Collections.singletonMap("x", 3), Channels.newChannel(bytes));
+        assertEquals(aposToQuotes("{'x':3}"), bytes.toString("UTF-8"));
+    }
+
+    public void testWriteToReusableBuffer() throws Exception
+    {
+        ByteOutputBuffer buf = new ByteOutputBuffer(16);
+        for (int i = 0; i < 3; ++i) {
+            buf.reset();
+            Map<String,Object> map = new LinkedHashMap<String,Object>();
+            map.put("index", i);
+            map.put("text", "abcdefghijklmnopqrstuvwxyz");
+            int count = JSON.std.writeTo(map, buf);
+            assertEquals(count, buf.length());
+            String exp = JSON.std.asString(map);
+            assertEquals(exp, new String(buf.array(), 0, buf.length(), "UTF-8"));
+            assertEquals(exp, new String(buf.toByteArray(), "UTF-8"));
+        }
+        // and appending works as well
+        buf.reset();
+        JSON.std.writeTo(1, buf);
+        JSON.std.writeTo(2, buf);
+        assertEquals("12", new String(buf.toByteArray(), "UTF-8"));
+    }
+}
@@ -1,8 +1,10 @@
 package com.fasterxml.jackson.jr.ob.impl;
 
+import java.lang.reflect.*;
 import java.util.*;
 
 import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONMetrics;
 import com.fasterxml.jackson.jr.ob.TestBase;
 import com.fasterxml.jackson.jr.ob.impl.TypeDetector;
 
@@ -36,6 +38,11 @@ public class TypeDetectorTest extends TestBase
         }
     }
     
+    // must be public to allow creating proxies in other class loaders
+    public interface ValueBean {
+        public int getValue();
+    }
+
     /*
     /**********************************************************************
     /* Test methdods
@@ -63,4 +70,91 @@ public class TypeDetectorTest extends TestBase
         assertEquals(TypeDetector.SER_DATE, td.findSerializationType(new GregorianCalendar().getTime().getClass()));
         assertEquals(TypeDetector.SER_UUID, td.findSerializationType(UUID.class));
     }
+
+    // Differently configured instances should share introspected property writers
+    public void testSharedPropertyWriters() {
+        final int features = JSON.Feature.defaults();
+        TypeDetector td = TypeDetector.blueprint(features);
+        BeanPropertyWriter[] props1 = _writersFor(td, features);
+        assertEquals(2, props1.length);
+        assertEquals("name", props1[0].name.getValue());
+        assertEquals("x", props1[1].name.getValue());
+
+        BeanPropertyWriter[] props2 = _writersFor(td,
+                JSON.Feature.WRITE_READONLY_BEAN_PROPERTIES.mask() ^ features);
+        assertEquals(1, props2.length);
+        assertSame(props1[1], props2[0]);
+
+        // (no public fields to use, so same writers)
+        BeanPropertyWriter[] props3 = _writersFor(td,
+                JSON.Feature.USE_FIELDS.mask() | features);
+        assertEquals(2, props3.length);
+        assertSame(props1[0], props3[0]);
+        assertSame(props1[1], props3[1]);
+    }
+
+    private BeanPropertyWriter[] _writersFor(TypeDetector blueprint, int features) {
+        TypeDetector td = blueprint.perOperationInstance(features);
+        return td.getPropertyWriters(td.findSerializationType(TestBean.class));
+    }
+
+    // Writing lots of dynamically generated types should not grow caches
+    // without limit, nor break operations in progress when caches are flushed
+    public void testBoundedWriterCache() throws Exception
+    {
+        JSONMetrics.InMemory metrics = new JSONMetrics.InMemory();
+        JSON json = new JSON().with(metrics);
+
+        final int COUNT = TypeDetector.MAX_CACHED_WRITERS + 100;
+        List<Object> values = new ArrayList<Object>(COUNT);
+        StringBuilder exp = new StringBuilder().append('[');
+        for (int i = 0; i < COUNT; ++i) {
+            values.add(_proxy(i));
+            if (i > 0) {
+                exp.append(',');
+            }
+            exp.append("{\"value\":").append(i).append('}');
+        }
+        exp.append(']');
+        // write each value twice, to verify ids are retained within operation
+        List<Object> twice = new ArrayList<Object>(values);
+        twice.addAll(values);
+        assertEquals("["+exp.substring(1, exp.length()-1)+","+exp.substring(1), json.asString(twice));
+
+        assertTrue(metrics.cacheEvictions(JSONMetrics.Cache.WRITERS) > 0L);
+        assertTrue(json.cacheStats().size(JSONMetrics.Cache.WRITERS) <= TypeDetector.MAX_CACHED_WRITERS);
+
+        // and after flushing, operations continue to work as expected
+        assertEquals(exp.toString(), json.asString(values));
+    }
+
+    public void testReusedLookupKey() {
+        TypeDetector td = TypeDetector.blueprint(JSON.Feature.defaults())
+                .perOperationInstance(JSON.Feature.defaults());
+        ClassKey key = td._key;
+        assertNotNull(key);
+        POJODefinition def = td.resolvePOJODefinition(TestBean.class);
+        assertSame(def, POJODefinition.find(TestBean.class));
+        assertSame(def, td.resolvePOJODefinition(TestBean.class));
+        // same key instance used for all lookups
+        assertSame(key, td._key);
+        assertSame(TestBean.class, key.rawClass());
+    }
+
+    // each proxy created by separate class loader, to get distinct classes
+    private Object _proxy(final int value)
+    {
+        ClassLoader loader = new ClassLoader(getClass().getClassLoader()) { };
+        return Proxy.newProxyInstance(loader, new Class<?>[] { ValueBean.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Exception {
+                        if ("getValue".equals(method.getName())) {
+                            return value;
+                        }
+                        // equals(), hashCode(), toString()
+                        return method.invoke(this, args);
+                    }
+                });
+    }
 }
@@ -0,0 +1,57 @@
+package com.fasterxml.jackson.jr.stree;
+
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.jr.ob.impl.TreeNodeAdapter;
+
+/**
+ * {@link JacksonJrsTreeCodec} that also implements {@link TreeNodeAdapter},
+ * which allows {@link com.fasterxml.jackson.jr.ob.JSON} to bind trees to and
+ * from Java values directly, without converting them into token streams.
+ * Requires <code>jackson-jr-objects</code>, which is an optional dependency
+ * of this package; plain {@link JacksonJrsTreeCodec} does not.
+ *
+ * @since 2.9
+ */
+public class JacksonJrsBindingTreeCodec extends JacksonJrsTreeCodec
+    implements TreeNodeAdapter
+{
+    public static final JacksonJrsBindingTreeCodec SINGLETON = new JacksonJrsBindingTreeCodec();
+
+    public JacksonJrsBindingTreeCodec() {
+        this(null);
+    }
+
+    public JacksonJrsBindingTreeCodec(ObjectCodec codec) {
+        this(codec, false, false, false);
+    }
+
+    protected JacksonJrsBindingTreeCodec(ObjectCodec codec, boolean compactObjects,
+            boolean lazyTrees, boolean numericArrays) {
+        super(codec, compactObjects, lazyTrees, numericArrays);
+    }
+
+    @Override
+    public JacksonJrsBindingTreeCodec withCompactObjects(boolean state) {
+        return (JacksonJrsBindingTreeCodec) super.withCompactObjects(state);
+    }
+
+    @Override
+    public JacksonJrsBindingTreeCodec withLazyTrees(boolean state) {
+        return (JacksonJrsBindingTreeCodec) super.withLazyTrees(state);
+    }
+
+    @Override
+    public JacksonJrsBindingTreeCodec withNumericArrays(boolean state) {
+        return (JacksonJrsBindingTreeCodec) super.withNumericArrays(state);
+    }
+
+    @Override
+    protected JacksonJrsTreeCodec _with(ObjectCodec codec, boolean compactObjects,
+            boolean lazyTrees, boolean numericArrays)
+    {
+        if (getClass() != JacksonJrsBindingTreeCodec.class) { // sanity check
+            throw new IllegalStateException("Sub-classes MUST override _with(...)");
+        }
+        return new JacksonJrsBindingTreeCodec(codec, compactObjects, lazyTrees, numericArrays);
+    }
+}
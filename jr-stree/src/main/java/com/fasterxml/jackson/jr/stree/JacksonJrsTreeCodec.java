@@ -4,11 +4,19 @@ import java.io.IOException;
 import java.util.*;
 
 import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.jr.stree.util.CompactObjectMap;
+import com.fasterxml.jackson.jr.stree.util.RawUTF8Value;
 
 /**
  * {@link TreeCodec} implementation that can build "simple", immutable
  * (read-only) trees out of JSON: these are represented as subtypes
  * of {@link JrsValue} ("Jrs" from "jackson JR Simple").
+ *<p>
+ * Does not depend on <code>jackson-jr-objects</code>; to bind trees directly
+ * to and from Java values (without token streams), use
+ * {@link JacksonJrsBindingTreeCodec} instead.
  */
 public class JacksonJrsTreeCodec extends TreeCodec
 {
@@ -16,19 +24,170 @@ public class JacksonJrsTreeCodec extends TreeCodec
 
     public static final JacksonJrsTreeCodec SINGLETON = new JacksonJrsTreeCodec();
 
+    /**
+     * Factory used for encoding serialized form of frozen nodes; uses
+     * default settings.
+     *
+     * @since 2.9
+     */
+    protected final static JsonFactory RAW_ENCODING_FACTORY = new JsonFactory();
+
+    /**
+     * Generator features that change encoding of content: cached serialized
+     * form of frozen nodes can only be used if these have default settings.
+     */
+    private final static int RAW_SENSITIVE_FEATURES =
+            JsonGenerator.Feature.QUOTE_FIELD_NAMES.getMask()
+            | JsonGenerator.Feature.QUOTE_NON_NUMERIC_NUMBERS.getMask()
+            | JsonGenerator.Feature.WRITE_NUMBERS_AS_STRINGS.getMask()
+            | JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN.getMask()
+            | JsonGenerator.Feature.ESCAPE_NON_ASCII.getMask();
+
+    private final static int RAW_DEFAULT_FEATURES =
+            JsonGenerator.Feature.collectDefaults() & RAW_SENSITIVE_FEATURES;
+
     protected ObjectCodec _objectCodec;
 
+    /**
+     * Whether {@link JrsObject}s are to be constructed using compact
+     * {@link CompactObjectMap} (true) or {@link LinkedHashMap} (false).
+     *
+     * @since 2.9
+     */
+    protected final boolean _compactObjects;
+
+    /**
+     * Whether trees read are to be lazily materialized or not.
+     *
+     * @since 2.9
+     */
+    protected final boolean _lazyTrees;
+
+    /**
+     * Whether Arrays that only contain integral numbers, or only
+     * <code>double</code>s, are read as {@link JrsNumericArray}s.
+     *
+     * @since 2.9
+     */
+    protected final boolean _numericArrays;
+
     public JacksonJrsTreeCodec() {
         this(null);
     }
 
     public JacksonJrsTreeCodec(ObjectCodec codec) {
+        this(codec, false, false, false);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected JacksonJrsTreeCodec(ObjectCodec codec, boolean compactObjects,
+            boolean lazyTrees, boolean numericArrays) {
         _objectCodec = codec;
+        _compactObjects = compactObjects;
+        _lazyTrees = lazyTrees;
+        _numericArrays = numericArrays;
+    }
+
+    /**
+     * Mutant factory method for constructing a codec that uses (or does not use,
+     * if <code>false</code> passed) compact array-backed storage for properties
+     * of {@link JrsObject}s it constructs. Compact storage uses considerably
+     * less memory for big trees; lookups by name are linear scans for small
+     * Objects, and use a lazily built hash index for bigger ones.
+     *
+     * @since 2.9
+     */
+    public JacksonJrsTreeCodec withCompactObjects(boolean state) {
+        if (state == _compactObjects) {
+            return this;
+        }
+        return _with(_objectCodec, state, _lazyTrees, _numericArrays);
+    }
+
+    /**
+     * Mutant factory method for constructing a codec that reads trees lazily
+     * (if <code>true</code> passed), or eagerly (if <code>false</code>).
+     * With lazy reading, content is first read into a compact token buffer,
+     * and {@link JrsObject} and {@link JrsArray} nodes only construct their
+     * children when first accessed (via <code>get</code>, <code>path</code>,
+     * <code>at</code>, iteration or writing). This can significantly reduce
+     * processing time and memory usage when only a small part of a big document
+     * is accessed; but adds some overhead when the whole tree is traversed.
+     *
+     * @since 2.9
+     */
+    public JacksonJrsTreeCodec withLazyTrees(boolean state) {
+        if (state == _lazyTrees) {
+            return this;
+        }
+        return _with(_objectCodec, _compactObjects, state, _numericArrays);
+    }
+
+    /**
+     * Mutant factory method for constructing a codec that reads (if
+     * <code>true</code> passed) Arrays that only contain integral numbers
+     * (that fit in <code>long</code>), or only <code>double</code>s, as
+     * {@link JrsNumericArray}s that store values in a primitive array,
+     * instead of a {@link List} of {@link JrsNumber}s. This reduces memory
+     * usage considerably for numeric data like time series; element nodes
+     * are constructed when accessed.
+     *<p>
+     * Note that this setting does not affect lazily read trees
+     * (see {@link #withLazyTrees}).
+     *
+     * @since 2.9
+     */
+    public JacksonJrsTreeCodec withNumericArrays(boolean state) {
+        if (state == _numericArrays) {
+            return this;
+        }
+        return _with(_objectCodec, _compactObjects, _lazyTrees, state);
+    }
+
+    /**
+     * Overridable method that all mutant factories call if a new instance
+     * is to be constructed
+     *
+     * @since 2.9
+     */
+    protected JacksonJrsTreeCodec _with(ObjectCodec codec, boolean compactObjects,
+            boolean lazyTrees, boolean numericArrays)
+    {
+        if (getClass() != JacksonJrsTreeCodec.class) { // sanity check
+            throw new IllegalStateException("Sub-classes MUST override _with(...)");
+        }
+        return new JacksonJrsTreeCodec(codec, compactObjects, lazyTrees, numericArrays);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public boolean usesCompactObjects() {
+        return _compactObjects;
+    }
+
+    /**
+     * @since 2.9
+     */
+    public boolean usesLazyTrees() {
+        return _lazyTrees;
+    }
+
+    /**
+     * @since 2.9
+     */
+    public boolean usesNumericArrays() {
+        return _numericArrays;
     }
     
     @SuppressWarnings("unchecked")
     @Override
     public <T extends TreeNode> T readTree(JsonParser p) throws IOException {
+        if (_lazyTrees) {
+            return (T) JrsTokenBuffer.read(this, p);
+        }
         return (T) nodeFrom(p);
     }
 
@@ -43,11 +202,30 @@ public class JacksonJrsTreeCodec extends TreeCodec
         case JsonTokenId.ID_FALSE:
             return JrsBoolean.FALSE;
         case JsonTokenId.ID_NUMBER_INT:
+            // use specialized nodes to avoid boxing, where possible
+            switch (p.getNumberType()) {
+            case INT:
+                return JrsNumber.valueOf(p.getIntValue());
+            case LONG:
+                return JrsNumber.valueOf(p.getLongValue());
+            default:
+                return new JrsNumber(p.getBigIntegerValue());
+            }
         case JsonTokenId.ID_NUMBER_FLOAT:
-            return new JrsNumber(p.getNumberValue());
+            switch (p.getNumberType()) {
+            case DOUBLE:
+                return JrsNumber.valueOf(p.getDoubleValue());
+            case BIG_DECIMAL:
+                return JrsNumber.valueOf(p.getDecimalValue());
+            default:
+                return new JrsNumber(p.getNumberValue());
+            }
         case JsonTokenId.ID_STRING:
             return new JrsString(p.getText());
         case JsonTokenId.ID_START_ARRAY:
+            if (_numericArrays) {
+                return _arrayFrom(p);
+            }
             {
                 List<JrsValue> values = _list();
                 while (p.nextToken() != JsonToken.END_ARRAY) {
@@ -58,6 +236,18 @@ public class JacksonJrsTreeCodec extends TreeCodec
         case JsonTokenId.ID_START_OBJECT:
             {
                 Map<String, JrsValue> values = _map();
+                if (values instanceof CompactObjectMap) {
+                    // no need to check for duplicates (or build index) while reading;
+                    // resolved once all entries have been added
+                    CompactObjectMap compact = (CompactObjectMap) values;
+                    while (p.nextToken() != JsonToken.END_OBJECT) {
+                        final String currentName = p.getCurrentName();
+                        p.nextToken();
+                        compact.append(currentName, nodeFrom(p));
+                    }
+                    compact.trimToSize();
+                    return new JrsObject(compact);
+                }
                 while (p.nextToken() != JsonToken.END_OBJECT) {
                     final String currentName = p.getCurrentName();
                     p.nextToken();
@@ -136,7 +326,67 @@ public class JacksonJrsTreeCodec extends TreeCodec
         if (nr == null) {
             throw new NullPointerException();
         }
-        return new JrsNumber(nr);
+        return JrsNumber.valueOf(nr);
+    }
+
+    /*
+    /**********************************************************************
+    /* Support for direct binding (see JacksonJrsBindingTreeCodec)
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for value of a scalar node: {@link String} for textual nodes,
+     * {@link Number} for numeric nodes, {@link Boolean} for boolean nodes,
+     * embedded value for embedded object nodes; <code>null</code> otherwise.
+     *
+     * @since 2.9
+     */
+    public Object scalarValue(TreeNode node) {
+        if (node instanceof JrsString) {
+            return ((JrsString) node).getValue();
+        }
+        if (node instanceof JrsNumber) {
+            return ((JrsNumber) node).getValue();
+        }
+        if (node instanceof JrsBoolean) {
+            return ((JrsBoolean) node).booleanValue();
+        }
+        if (node instanceof JrsEmbeddedObject) {
+            return ((JrsEmbeddedObject) node).embeddedValue();
+        }
+        return null;
+    }
+
+    /**
+     * @since 2.9
+     */
+    public TreeNode nullNode() {
+        // same as what reading produces
+        return null;
+    }
+
+    /**
+     * @since 2.9
+     */
+    @SuppressWarnings("unchecked")
+    public TreeNode objectNode(Map<String, TreeNode> properties) {
+        // all values constructed by us, so they are known to be JrsValues
+        Map<String, JrsValue> values = (Map<String, JrsValue>) (Map<?,?>) properties;
+        if (_compactObjects) {
+            CompactObjectMap compact = new CompactObjectMap(values.size());
+            compact.putAll(values);
+            values = compact;
+        }
+        return new JrsObject(values);
+    }
+
+    /**
+     * @since 2.9
+     */
+    @SuppressWarnings("unchecked")
+    public TreeNode arrayNode(List<TreeNode> elements) {
+        return new JrsArray((List<JrsValue>) (List<?>) elements);
     }
 
     /*
@@ -144,12 +394,108 @@ public class JacksonJrsTreeCodec extends TreeCodec
     /* Internal methods
     /**********************************************************************
      */
+
+    /**
+     * Method for reading an Array (starting with element after START_ARRAY)
+     * when {@link JrsNumericArray}s are enabled: values are collected in
+     * a primitive array as long as all elements are integral numbers (or
+     * all <code>double</code>s); if anything else is encountered, values
+     * collected so far are converted into nodes, and reading continues
+     * as a regular Array.
+     */
+    private JrsArray _arrayFrom(JsonParser p) throws IOException
+    {
+        JsonToken t = p.nextToken();
+        int count = 0;
+        List<JrsValue> values;
+
+        if (t == JsonToken.VALUE_NUMBER_INT) {
+            long[] longs = new long[16];
+            do {
+                JsonParser.NumberType nt = p.getNumberType();
+                if ((nt != JsonParser.NumberType.INT) && (nt != JsonParser.NumberType.LONG)) {
+                    break;
+                }
+                if (count == longs.length) {
+                    longs = Arrays.copyOf(longs, count << 1);
+                }
+                longs[count++] = p.getLongValue();
+            } while ((t = p.nextToken()) == JsonToken.VALUE_NUMBER_INT);
+            if (t == JsonToken.END_ARRAY) {
+                return new JrsNumericArray(Arrays.copyOf(longs, count), null);
+            }
+            values = _list();
+            for (int i = 0; i < count; ++i) {
+                values.add(JrsNumber.valueOfIntegral(longs[i]));
+            }
+        } else if (t == JsonToken.VALUE_NUMBER_FLOAT) {
+            double[] doubles = new double[16];
+            do {
+                if (p.getNumberType() != JsonParser.NumberType.DOUBLE) {
+                    break;
+                }
+                if (count == doubles.length) {
+                    doubles = Arrays.copyOf(doubles, count << 1);
+                }
+                doubles[count++] = p.getDoubleValue();
+            } while ((t = p.nextToken()) == JsonToken.VALUE_NUMBER_FLOAT);
+            if (t == JsonToken.END_ARRAY) {
+                return new JrsNumericArray(null, Arrays.copyOf(doubles, count));
+            }
+            values = _list();
+            for (int i = 0; i < count; ++i) {
+                values.add(JrsNumber.valueOf(doubles[i]));
+            }
+        } else {
+            values = _list();
+        }
+        for (; t != JsonToken.END_ARRAY; t = p.nextToken()) {
+            values.add(nodeFrom(p));
+        }
+        return new JrsArray(values);
+    }
     
     protected List<JrsValue> _list() {
         return new ArrayList<JrsValue>();
     }
 
+    /**
+     * Method called by frozen nodes (see {@link JrsValue#freeze()}) to check
+     * whether their cached serialized form may be written as raw content
+     * using given generator: this is the case for UTF-8 backed generators
+     * that use default settings for escaping, quoting and pretty-printing.
+     *
+     * @since 2.9
+     */
+    protected boolean _canWriteRaw(JsonGenerator g)
+    {
+        return (g instanceof UTF8JsonGenerator)
+                && (g.getPrettyPrinter() == null)
+                && (g.getCharacterEscapes() == null)
+                && (g.getHighestEscapedChar() == 0)
+                && ((g.getFeatureMask() & RAW_SENSITIVE_FEATURES) == RAW_DEFAULT_FEATURES);
+    }
+
+    /**
+     * Method called by frozen nodes to encode their contents as UTF-8
+     * encoded JSON, to be cached.
+     *
+     * @since 2.9
+     */
+    protected RawUTF8Value _encodeRaw(JrsValue value) throws IOException
+    {
+        ByteArrayBuilder bb = new ByteArrayBuilder();
+        JsonGenerator g = RAW_ENCODING_FACTORY.createGenerator(bb);
+        g.setCodec(_objectCodec);
+        value.write(g, this);
+        g.close();
+        return new RawUTF8Value(bb.toByteArray());
+    }
+
     protected Map<String,JrsValue> _map() {
+        if (_compactObjects) {
+            return new CompactObjectMap();
+        }
         return new LinkedHashMap<String,JrsValue>();
     }
 }
@@ -29,7 +29,7 @@ public class JrsArray extends JrsValue
 
     @Override
     public int size() {
-        return _values.size();
+        return _values().size();
     }
 
     @Override
@@ -49,7 +49,8 @@ public class JrsArray extends JrsValue
 
     @Override
     public JrsValue get(int i) {
-        return ((0 <= i) && (i < _values.size())) ? _values.get(i) : null;
+        final List<JrsValue> values = _values();
+        return ((0 <= i) && (i < values.size())) ? values.get(i) : null;
     }
 
     @Override
@@ -59,7 +60,8 @@ public class JrsArray extends JrsValue
 
     @Override
     public JrsValue path(int i){
-        return ((0 <= i) && (i < _values.size())) ? _values.get(i) : JrsMissing.instance();
+        final List<JrsValue> values = _values();
+        return ((0 <= i) && (i < values.size())) ? values.get(i) : JrsMissing.instance();
     }
 
     @Override
@@ -80,11 +82,160 @@ public class JrsArray extends JrsValue
      */
 
     public Iterator<JrsValue> elements() {
-        if (_values.isEmpty()) { // fine, nothing that could be removed anyway
-            return _values.iterator();
+        final List<JrsValue> values = _values();
+        if (values.isEmpty()) { // fine, nothing that could be removed anyway
+            return values.iterator();
         }
         // ensure caller can not modify values this way
-        return Collections.unmodifiableList(_values).iterator();            
+        return Collections.unmodifiableList(values).iterator();            
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public JrsArray freeze() {
+        return new JrsFrozenArray(_unmodifiableValues());
+    }
+
+    /**
+     * Method for constructing a new Array with same elements as this Array,
+     * except that element at given index is replaced with given value; or,
+     * if index equals size of this Array, value is appended. This Array
+     * is not modified; other elements are shared, not copied, so the cost only
+     * depends on size of this Array, but not on size of the whole tree.
+     *
+     * @throws IndexOutOfBoundsException if index is negative, or above size
+     *    of this Array
+     *
+     * @since 2.9
+     */
+    public JrsArray withIndex(int index, JrsValue value) {
+        return _withIndex(index, value);
+    }
+
+    /**
+     * Implementation of {@link #withIndex}, also used when modifying values
+     * along the path for {@link #withAt}.
+     *
+     * @since 2.9
+     */
+    protected JrsArray _withIndex(int index, JrsValue value)
+    {
+        final List<JrsValue> values = _values();
+        final int size = values.size();
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException("Index "+index+", size "+size);
+        }
+        JrsValue[] copy = values.toArray(new JrsValue[(index == size) ? (size+1) : size]);
+        copy[index] = value;
+        return _withValues(Arrays.asList(copy));
+    }
+
+    /**
+     * Method for constructing a new Array with same elements as this Array,
+     * except for element at given index, if any: if index is outside
+     * of bounds, this Array is returned as-is.
+     * Like {@link #withIndex}, does not modify this Array and shares values.
+     *
+     * @since 2.9
+     */
+    public JrsArray withoutIndex(int index)
+    {
+        final List<JrsValue> values = _values();
+        final int size = values.size();
+        if ((index < 0) || (index >= size)) {
+            return this;
+        }
+        JrsValue[] copy = new JrsValue[size-1];
+        for (int i = 0, ix = 0; i < size; ++i) {
+            if (i != index) {
+                copy[ix++] = values.get(i);
+            }
+        }
+        return _withValues(Arrays.asList(copy));
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor used for all access to contents, to allow sub-classes
+     * to construct contents lazily.
+     *
+     * @since 2.9
+     */
+    protected List<JrsValue> _values() {
+        return _values;
+    }
+
+    @Override
+    protected JrsValue _unmodifiableCopy() {
+        return new JrsArray(_unmodifiableValues());
+    }
+
+    @Override
+    protected JrsValue _withAt(JrsPointer ptr, int segment, JrsValue value)
+    {
+        if (segment == ptr.length()) {
+            return value;
+        }
+        final int index = ptr.indexAt(segment);
+        if (segment + 1 == ptr.length()) {
+            if ((index < 0) || (index > size())) {
+                throw _noContainer(ptr, segment+1);
+            }
+            return _withIndex(index, value);
+        }
+        JrsValue child = get(index);
+        if (child == null) {
+            throw _noContainer(ptr, segment+1);
+        }
+        return _withIndex(index, child._withAt(ptr, segment+1, value));
+    }
+
+    @Override
+    protected JrsValue _withoutAt(JrsPointer ptr, int segment)
+    {
+        final int index = ptr.indexAt(segment);
+        if (segment + 1 == ptr.length()) {
+            return withoutIndex(index);
+        }
+        JrsValue child = get(index);
+        if (child == null) {
+            return this;
+        }
+        JrsValue newChild = child._withoutAt(ptr, segment+1);
+        return (newChild == child) ? this : _withIndex(index, newChild);
+    }
+
+    /**
+     * Factory method used for constructing modified copies of this Array.
+     *
+     * @since 2.9
+     */
+    protected JrsArray _withValues(List<JrsValue> values) {
+        return new JrsArray(values);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected List<JrsValue> _unmodifiableValues()
+    {
+        final List<JrsValue> values = _values();
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        JrsValue[] copy = new JrsValue[values.size()];
+        for (int i = 0; i < copy.length; ++i) {
+            JrsValue v = values.get(i);
+            copy[i] = (v == null) ? null : v._unmodifiableCopy();
+        }
+        return Collections.unmodifiableList(Arrays.asList(copy));
     }
 
     /*
@@ -97,8 +248,9 @@ public class JrsArray extends JrsValue
     protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException
     {
         g.writeStartArray();
-        for (int i = 0, end = _values.size(); i < end; ++i) {
-            codec.writeTree(g, _values.get(i));
+        final List<JrsValue> values = _values();
+        for (int i = 0, end = values.size(); i < end; ++i) {
+            codec.writeTree(g, values.get(i));
         }
         g.writeEndArray();
     }
@@ -0,0 +1,75 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.jr.stree.util.RawUTF8Value;
+
+/**
+ * Immutable {@link JrsArray} constructed with {@link JrsValue#freeze()};
+ * like {@link JrsFrozenObject}, caches its serialized form on first write.
+ *
+ * @since 2.9
+ */
+public class JrsFrozenArray extends JrsArray
+{
+    private volatile RawUTF8Value _encoded;
+
+    JrsFrozenArray(List<JrsValue> values) {
+        super(values);
+    }
+
+    @Override
+    public JrsFrozenArray freeze() {
+        return this;
+    }
+
+    /**
+     * Accessor for checking whether serialized form has been encoded
+     * and cached yet.
+     */
+    public boolean isEncoded() {
+        return _encoded != null;
+    }
+
+    /**
+     * Modified copies of frozen Arrays are frozen as well; given value is
+     * deep-copied unless it is immutable already.
+     */
+    @Override
+    public JrsArray withIndex(int index, JrsValue value) {
+        return _withIndex(index, _copyOf(value));
+    }
+
+    @Override
+    public JrsValue withAt(JrsPointer ptr, JrsValue value) {
+        return _withAt(ptr, 0, _copyOf(value));
+    }
+
+    @Override
+    protected JrsValue _unmodifiableCopy() {
+        return this;
+    }
+
+    @Override
+    protected JrsArray _withValues(List<JrsValue> values) {
+        return new JrsFrozenArray(Collections.unmodifiableList(values));
+    }
+
+    @Override
+    protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException
+    {
+        if (!codec._canWriteRaw(g)) {
+            super.write(g, codec);
+            return;
+        }
+        RawUTF8Value raw = _encoded;
+        if (raw == null) { // racy, but all threads produce the same bytes
+            raw = codec._encodeRaw(new JrsArray(_values()));
+            _encoded = raw;
+        }
+        g.writeRawValue(raw);
+    }
+}
@@ -0,0 +1,78 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.jr.stree.util.RawUTF8Value;
+
+/**
+ * Immutable {@link JrsObject} constructed with {@link JrsValue#freeze()}:
+ * contents can not be modified, so the serialized form is encoded once, on
+ * first write, and cached; subsequent writes into UTF-8 backed generators
+ * (with compatible settings; see {@link JacksonJrsTreeCodec#_canWriteRaw})
+ * simply copy cached bytes as a raw value.
+ *
+ * @since 2.9
+ */
+public class JrsFrozenObject extends JrsObject
+{
+    private volatile RawUTF8Value _encoded;
+
+    JrsFrozenObject(Map<String, JrsValue> values) {
+        super(values);
+    }
+
+    @Override
+    public JrsFrozenObject freeze() {
+        return this;
+    }
+
+    /**
+     * Accessor for checking whether serialized form has been encoded
+     * and cached yet.
+     */
+    public boolean isEncoded() {
+        return _encoded != null;
+    }
+
+    /**
+     * Modified copies of frozen Objects are frozen as well; given value is
+     * deep-copied unless it is immutable already.
+     */
+    @Override
+    public JrsObject with(String name, JrsValue value) {
+        return _with(name, _copyOf(value));
+    }
+
+    @Override
+    public JrsValue withAt(JrsPointer ptr, JrsValue value) {
+        return _withAt(ptr, 0, _copyOf(value));
+    }
+
+    @Override
+    protected JrsValue _unmodifiableCopy() {
+        return this;
+    }
+
+    @Override
+    protected JrsObject _withValues(Map<String, JrsValue> values) {
+        return new JrsFrozenObject(Collections.unmodifiableMap(values));
+    }
+
+    @Override
+    protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException
+    {
+        if (!codec._canWriteRaw(g)) {
+            super.write(g, codec);
+            return;
+        }
+        RawUTF8Value raw = _encoded;
+        if (raw == null) { // racy, but all threads produce the same bytes
+            raw = codec._encodeRaw(new JrsObject(_values()));
+            _encoded = raw;
+        }
+        g.writeRawValue(raw);
+    }
+}
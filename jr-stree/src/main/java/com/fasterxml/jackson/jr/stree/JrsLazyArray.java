@@ -0,0 +1,62 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.List;
+
+/**
+ * {@link JrsArray} used for lazily materialized trees (see
+ * {@link JacksonJrsTreeCodec#withLazyTrees}): contents are kept in a compact
+ * token buffer until first accessed, at which point direct children (but
+ * not their contents) are constructed.
+ *
+ * @since 2.9
+ */
+public class JrsLazyArray extends JrsArray
+{
+    private JrsTokenBuffer _buffer;
+
+    private final int _index;
+
+    private final int _size;
+
+    private volatile List<JrsValue> _materialized;
+
+    JrsLazyArray(JrsTokenBuffer buffer, int index)
+    {
+        super(null);
+        _buffer = buffer;
+        _index = index;
+        _size = buffer.childCount(index);
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Accessor for checking whether direct children of this node have been
+     * constructed or not.
+     */
+    public boolean isMaterialized() {
+        return _materialized != null;
+    }
+
+    @Override
+    protected List<JrsValue> _values()
+    {
+        List<JrsValue> values = _materialized;
+        if (values == null) {
+            synchronized (this) {
+                values = _materialized;
+                if (values == null) {
+                    values = _buffer.codec()._list();
+                    _buffer.materializeArray(_index, values);
+                    _materialized = values;
+                    // no need to keep buffer around (although children may)
+                    _buffer = null;
+                }
+            }
+        }
+        return values;
+    }
+}
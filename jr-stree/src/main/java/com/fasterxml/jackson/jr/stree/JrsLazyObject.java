@@ -0,0 +1,79 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.jr.stree.util.CompactObjectMap;
+
+/**
+ * {@link JrsObject} used for lazily materialized trees (see
+ * {@link JacksonJrsTreeCodec#withLazyTrees}): contents are kept in a compact
+ * token buffer until first accessed, at which point direct children (but
+ * not their contents) are constructed.
+ *
+ * @since 2.9
+ */
+public class JrsLazyObject extends JrsObject
+{
+    private JrsTokenBuffer _buffer;
+
+    private final int _index;
+
+    /**
+     * Number of distinct properties, if calculated; -1 if not
+     */
+    private int _size = -1;
+
+    private volatile Map<String, JrsValue> _materialized;
+
+    JrsLazyObject(JrsTokenBuffer buffer, int index)
+    {
+        super(null);
+        _buffer = buffer;
+        _index = index;
+    }
+
+    @Override
+    public int size()
+    {
+        int size = _size;
+        if (size < 0) {
+            // must not count duplicate properties, so can not simply use child count
+            synchronized (this) {
+                Map<String, JrsValue> values = _materialized;
+                size = (values == null) ? _buffer.distinctNameCount(_index) : values.size();
+            }
+            _size = size;
+        }
+        return size;
+    }
+
+    /**
+     * Accessor for checking whether direct children of this node have been
+     * constructed or not.
+     */
+    public boolean isMaterialized() {
+        return _materialized != null;
+    }
+
+    @Override
+    protected Map<String, JrsValue> _values()
+    {
+        Map<String, JrsValue> values = _materialized;
+        if (values == null) {
+            synchronized (this) {
+                values = _materialized;
+                if (values == null) {
+                    values = _buffer.codec()._map();
+                    _buffer.materializeObject(_index, values);
+                    if (values instanceof CompactObjectMap) {
+                        ((CompactObjectMap) values).trimToSize();
+                    }
+                    _materialized = values;
+                    // no need to keep buffer around (although children may)
+                    _buffer = null;
+                }
+            }
+        }
+        return values;
+    }
+}
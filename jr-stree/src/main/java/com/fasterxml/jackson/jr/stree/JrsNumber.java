@@ -7,30 +7,34 @@ import com.fasterxml.jackson.core.JsonToken;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_FLOAT;
 import static com.fasterxml.jackson.core.JsonToken.VALUE_NUMBER_INT;
 
+/**
+ * Node for JSON numbers. Instances constructed with the public constructor
+ * wrap a {@link Number} value; but for common types (<code>int</code>,
+ * <code>long</code>, <code>double</code> and {@link BigDecimal}) factory methods
+ * ({@link #valueOf(int)} and overloads) should be used instead, as they
+ * return specialized subtypes that store primitive values without boxing,
+ * and share instances for small integer values.
+ */
 public class JrsNumber extends JrsValue.Scalar
 {
-    private static final Map<Class<? extends Number>, JsonParser.NumberType> NUMBER_TYPES;
-    static
-    {
-        final Map<Class<? extends Number>, JsonParser.NumberType> numberTypes = new HashMap<Class<? extends Number>, JsonParser.NumberType>();
-
-        numberTypes.put(Byte.class, JsonParser.NumberType.INT);
-        numberTypes.put(Short.class, JsonParser.NumberType.INT);
-        numberTypes.put(Integer.class, JsonParser.NumberType.INT);
-        numberTypes.put(Long.class, JsonParser.NumberType.LONG);
-        numberTypes.put(BigInteger.class, JsonParser.NumberType.BIG_INTEGER);
-        numberTypes.put(Float.class, JsonParser.NumberType.FLOAT);
-        numberTypes.put(Double.class, JsonParser.NumberType.DOUBLE);
-        numberTypes.put(BigDecimal.class, JsonParser.NumberType.BIG_DECIMAL);
+    /**
+     * Range of <code>int</code> values for which shared node instances
+     * are used.
+     *
+     * @since 2.9
+     */
+    protected final static int MIN_CACHED_INT = -128, MAX_CACHED_INT = 255;
 
-        NUMBER_TYPES = Collections.unmodifiableMap(numberTypes);
+    private final static IntNumber[] CACHED_INTS;
+    static {
+        CACHED_INTS = new IntNumber[MAX_CACHED_INT - MIN_CACHED_INT + 1];
+        for (int i = 0; i < CACHED_INTS.length; ++i) {
+            CACHED_INTS[i] = new IntNumber(MIN_CACHED_INT + i);
+        }
     }
 
     private final Number _value;
@@ -39,12 +43,96 @@ public class JrsNumber extends JrsValue.Scalar
     public JrsNumber(Number value)
     {
         _value = value;
-        _numberType = NUMBER_TYPES.get(value.getClass());
+        _numberType = _numberType(value.getClass());
         if (_numberType == null) {
             throw new IllegalArgumentException("Unsupported Number type: "+value.getClass().getName());
         }
     }
 
+    /**
+     * Constructor used by specialized sub-classes that do not use wrapper
+     * value, but override all accessors.
+     *
+     * @since 2.9
+     */
+    protected JrsNumber(JsonParser.NumberType nt)
+    {
+        _value = null;
+        _numberType = nt;
+    }
+
+    /**
+     * @since 2.9
+     */
+    public static JrsNumber valueOf(int v) {
+        if (v >= MIN_CACHED_INT && v <= MAX_CACHED_INT) {
+            return CACHED_INTS[v - MIN_CACHED_INT];
+        }
+        return new IntNumber(v);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public static JrsNumber valueOf(long v) {
+        return new LongNumber(v);
+    }
+
+    /**
+     * Factory method for integral values read from content (where parser
+     * would report values that fit in <code>int</code> as such), when
+     * token type has not been retained: returns <code>int</code> node for
+     * values within range, and <code>long</code> node otherwise.
+     *
+     * @since 2.9
+     */
+    protected static JrsNumber valueOfIntegral(long v) {
+        if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) {
+            return valueOf((int) v);
+        }
+        return new LongNumber(v);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public static JrsNumber valueOf(double v) {
+        return new DoubleNumber(v);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public static JrsNumber valueOf(BigDecimal v) {
+        return new DecimalNumber(v);
+    }
+
+    /**
+     * Factory method that will return specialized instance for
+     * {@link Integer}, {@link Long}, {@link Double} and {@link BigDecimal},
+     * and generic one (that retains given value as is, so that
+     * {@link #getValue} returns it) for other types.
+     *
+     * @since 2.9
+     */
+    public static JrsNumber valueOf(Number v)
+    {
+        final Class<?> cls = v.getClass();
+        if (cls == Integer.class) {
+            return valueOf(v.intValue());
+        }
+        if (cls == Long.class) {
+            return valueOf(v.longValue());
+        }
+        if (cls == Double.class) {
+            return valueOf(v.doubleValue());
+        }
+        if (cls == BigDecimal.class) {
+            return valueOf((BigDecimal) v);
+        }
+        return new JrsNumber(v);
+    }
+
     @Override
     public boolean isNumber() {
         return true;
@@ -71,7 +159,7 @@ public class JrsNumber extends JrsValue.Scalar
     public String asText() {
         return String.valueOf(_value);
     }
-    
+
     @Override
     public JsonParser.NumberType numberType() {
         return _numberType;
@@ -82,7 +170,28 @@ public class JrsNumber extends JrsValue.Scalar
     /* Extended API
     /**********************************************************************
      */
-    
+
+    /**
+     * @since 2.9
+     */
+    public int intValue() {
+        return _value.intValue();
+    }
+
+    /**
+     * @since 2.9
+     */
+    public long longValue() {
+        return _value.longValue();
+    }
+
+    /**
+     * @since 2.9
+     */
+    public double doubleValue() {
+        return _value.doubleValue();
+    }
+
     public BigInteger asBigInteger() throws IOException {
         if (_value instanceof BigInteger) {
             return (BigInteger) _value;
@@ -138,4 +247,219 @@ public class JrsNumber extends JrsValue.Scalar
             break;
         }
     }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private static JsonParser.NumberType _numberType(Class<?> cls)
+    {
+        if (cls == Integer.class || cls == Short.class || cls == Byte.class) {
+            return JsonParser.NumberType.INT;
+        }
+        if (cls == Long.class) {
+            return JsonParser.NumberType.LONG;
+        }
+        if (cls == Double.class) {
+            return JsonParser.NumberType.DOUBLE;
+        }
+        if (cls == BigDecimal.class) {
+            return JsonParser.NumberType.BIG_DECIMAL;
+        }
+        if (cls == BigInteger.class) {
+            return JsonParser.NumberType.BIG_INTEGER;
+        }
+        if (cls == Float.class) {
+            return JsonParser.NumberType.FLOAT;
+        }
+        return null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Specialized sub-types
+    /**********************************************************************
+     */
+
+    /**
+     * Specialized node for values of type <code>int</code>.
+     *
+     * @since 2.9
+     */
+    public final static class IntNumber extends JrsNumber
+    {
+        private final int _int;
+
+        protected IntNumber(int v) {
+            super(JsonParser.NumberType.INT);
+            _int = v;
+        }
+
+        @Override
+        public Number getValue() { return Integer.valueOf(_int); }
+
+        @Override
+        public JsonToken asToken() { return VALUE_NUMBER_INT; }
+
+        @Override
+        public String asText() { return String.valueOf(_int); }
+
+        @Override
+        public int intValue() { return _int; }
+
+        @Override
+        public long longValue() { return _int; }
+
+        @Override
+        public double doubleValue() { return _int; }
+
+        @Override
+        public BigInteger asBigInteger() { return BigInteger.valueOf(_int); }
+
+        @Override
+        public BigDecimal asBigDecimal() { return BigDecimal.valueOf(_int); }
+
+        @Override
+        protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException {
+            g.writeNumber(_int);
+        }
+    }
+
+    /**
+     * Specialized node for values of type <code>long</code>.
+     *
+     * @since 2.9
+     */
+    public final static class LongNumber extends JrsNumber
+    {
+        private final long _long;
+
+        protected LongNumber(long v) {
+            super(JsonParser.NumberType.LONG);
+            _long = v;
+        }
+
+        @Override
+        public Number getValue() { return Long.valueOf(_long); }
+
+        @Override
+        public JsonToken asToken() { return VALUE_NUMBER_INT; }
+
+        @Override
+        public String asText() { return String.valueOf(_long); }
+
+        @Override
+        public int intValue() { return (int) _long; }
+
+        @Override
+        public long longValue() { return _long; }
+
+        @Override
+        public double doubleValue() { return _long; }
+
+        @Override
+        public BigInteger asBigInteger() { return BigInteger.valueOf(_long); }
+
+        @Override
+        public BigDecimal asBigDecimal() { return BigDecimal.valueOf(_long); }
+
+        @Override
+        protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException {
+            g.writeNumber(_long);
+        }
+    }
+
+    /**
+     * Specialized node for values of type <code>double</code>.
+     *
+     * @since 2.9
+     */
+    public final static class DoubleNumber extends JrsNumber
+    {
+        private final double _double;
+
+        protected DoubleNumber(double v) {
+            super(JsonParser.NumberType.DOUBLE);
+            _double = v;
+        }
+
+        @Override
+        public Number getValue() { return Double.valueOf(_double); }
+
+        @Override
+        public JsonToken asToken() { return VALUE_NUMBER_FLOAT; }
+
+        @Override
+        public String asText() { return String.valueOf(_double); }
+
+        @Override
+        public int intValue() { return (int) _double; }
+
+        @Override
+        public long longValue() { return (long) _double; }
+
+        @Override
+        public double doubleValue() { return _double; }
+
+        @Override
+        public BigInteger asBigInteger() { return asBigDecimal().toBigInteger(); }
+
+        @Override
+        public BigDecimal asBigDecimal() { return new BigDecimal(_double); }
+
+        @Override
+        protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException {
+            g.writeNumber(_double);
+        }
+    }
+
+    /**
+     * Specialized node for values of type {@link BigDecimal}; unlike
+     * generic node, does not need to check type of value on access.
+     *
+     * @since 2.9
+     */
+    public final static class DecimalNumber extends JrsNumber
+    {
+        private final BigDecimal _decimal;
+
+        protected DecimalNumber(BigDecimal v) {
+            super(JsonParser.NumberType.BIG_DECIMAL);
+            if (v == null) {
+                throw new NullPointerException();
+            }
+            _decimal = v;
+        }
+
+        @Override
+        public Number getValue() { return _decimal; }
+
+        @Override
+        public JsonToken asToken() { return VALUE_NUMBER_FLOAT; }
+
+        @Override
+        public String asText() { return _decimal.toString(); }
+
+        @Override
+        public int intValue() { return _decimal.intValue(); }
+
+        @Override
+        public long longValue() { return _decimal.longValue(); }
+
+        @Override
+        public double doubleValue() { return _decimal.doubleValue(); }
+
+        @Override
+        public BigInteger asBigInteger() { return _decimal.toBigInteger(); }
+
+        @Override
+        public BigDecimal asBigDecimal() { return _decimal; }
+
+        @Override
+        protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException {
+            g.writeNumber(_decimal);
+        }
+    }
 }
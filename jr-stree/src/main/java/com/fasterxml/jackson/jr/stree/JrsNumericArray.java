@@ -0,0 +1,232 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * {@link JrsArray} for arrays that only contain integral numbers (that fit
+ * in a <code>long</code>), or only <code>double</code> values: values are
+ * stored in a primitive array, and {@link JrsNumber} nodes only constructed
+ * when accessed with {@link #get(int)} (or via iteration); and bulk accessors
+ * {@link #longValues()} and {@link #doubleValues()} may be used to access
+ * values without boxing. Used for trees read with
+ * {@link JacksonJrsTreeCodec#withNumericArrays} enabled.
+ *<p>
+ * Note that since element nodes are constructed on demand, repeated calls
+ * to {@link #get(int)} need not return the same instance.
+ *
+ * @since 2.9
+ */
+public class JrsNumericArray extends JrsArray
+{
+    /**
+     * Values of integral arrays; <code>null</code> for arrays of
+     * <code>double</code>s
+     */
+    private final long[] _longs;
+
+    /**
+     * Values of floating-point arrays; <code>null</code> for arrays of
+     * integral numbers
+     */
+    private final double[] _doubles;
+
+    public JrsNumericArray(long[] values) {
+        this(values.clone(), null);
+    }
+
+    public JrsNumericArray(double[] values) {
+        this(null, values.clone());
+    }
+
+    JrsNumericArray(long[] longs, double[] doubles)
+    {
+        super(null);
+        _longs = longs;
+        _doubles = doubles;
+    }
+
+    @Override
+    public int size() {
+        return (_longs == null) ? _doubles.length : _longs.length;
+    }
+
+    @Override
+    public JrsNumber get(int i)
+    {
+        if ((i < 0) || (i >= size())) {
+            return null;
+        }
+        return _node(i);
+    }
+
+    @Override
+    public JrsValue path(int i) {
+        JrsNumber n = get(i);
+        return (n == null) ? JrsMissing.instance() : n;
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for checking whether this array contains integral numbers
+     * (true), or <code>double</code>s (false).
+     */
+    public boolean isIntegral() {
+        return _longs != null;
+    }
+
+    public long longValue(int i) {
+        return (_longs == null) ? (long) _doubles[i] : _longs[i];
+    }
+
+    public double doubleValue(int i) {
+        return (_longs == null) ? _doubles[i] : (double) _longs[i];
+    }
+
+    /**
+     * Method for accessing all values as <code>long</code>s (with
+     * truncation, for arrays of <code>double</code>s). Returns a copy
+     * that caller may modify.
+     */
+    public long[] longValues()
+    {
+        if (_longs != null) {
+            return _longs.clone();
+        }
+        long[] result = new long[_doubles.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = (long) _doubles[i];
+        }
+        return result;
+    }
+
+    /**
+     * Method for accessing all values as <code>double</code>s. Returns
+     * a copy that caller may modify.
+     */
+    public double[] doubleValues()
+    {
+        if (_doubles != null) {
+            return _doubles.clone();
+        }
+        double[] result = new double[_longs.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = (double) _longs[i];
+        }
+        return result;
+    }
+
+    /**
+     * Overridden to keep values in primitive arrays if replacement value is
+     * of compatible type; otherwise a regular {@link JrsArray} is returned.
+     */
+    @Override
+    protected JrsArray _withIndex(int index, JrsValue value)
+    {
+        final int size = size();
+        if ((index < 0) || (index > size) || !(value instanceof JrsNumber)) {
+            return super._withIndex(index, value);
+        }
+        final int newSize = (index == size) ? (size+1) : size;
+        JsonParser.NumberType nt = ((JrsNumber) value).numberType();
+        if (_longs != null) {
+            if ((nt == JsonParser.NumberType.INT) || (nt == JsonParser.NumberType.LONG)) {
+                long[] copy = Arrays.copyOf(_longs, newSize);
+                copy[index] = ((JrsNumber) value).longValue();
+                return new JrsNumericArray(copy, null);
+            }
+        } else if (nt == JsonParser.NumberType.DOUBLE) {
+            double[] copy = Arrays.copyOf(_doubles, newSize);
+            copy[index] = ((JrsNumber) value).doubleValue();
+            return new JrsNumericArray(null, copy);
+        }
+        return super._withIndex(index, value);
+    }
+
+    @Override
+    public JrsArray withoutIndex(int index)
+    {
+        final int size = size();
+        if ((index < 0) || (index >= size)) {
+            return this;
+        }
+        if (_longs != null) {
+            long[] copy = new long[size-1];
+            System.arraycopy(_longs, 0, copy, 0, index);
+            System.arraycopy(_longs, index+1, copy, index, size-index-1);
+            return new JrsNumericArray(copy, null);
+        }
+        double[] copy = new double[size-1];
+        System.arraycopy(_doubles, 0, copy, 0, index);
+        System.arraycopy(_doubles, index+1, copy, index, size-index-1);
+        return new JrsNumericArray(null, copy);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected List<JrsValue> _values() {
+        return new NodeList();
+    }
+
+    @Override
+    protected JrsValue _unmodifiableCopy() {
+        // already immutable
+        return this;
+    }
+
+    @Override
+    protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException
+    {
+        g.writeStartArray();
+        if (_longs != null) {
+            for (int i = 0, end = _longs.length; i < end; ++i) {
+                g.writeNumber(_longs[i]);
+            }
+        } else {
+            for (int i = 0, end = _doubles.length; i < end; ++i) {
+                g.writeNumber(_doubles[i]);
+            }
+        }
+        g.writeEndArray();
+    }
+
+    protected JrsNumber _node(int i) {
+        return (_longs == null) ? JrsNumber.valueOf(_doubles[i]) : JrsNumber.valueOfIntegral(_longs[i]);
+    }
+
+    /**
+     * Read-only {@link List} view of elements, used for iteration.
+     */
+    private final class NodeList extends AbstractList<JrsValue>
+        implements RandomAccess
+    {
+        @Override
+        public JrsValue get(int index) {
+            if ((index < 0) || (index >= size())) {
+                throw new IndexOutOfBoundsException("Index: "+index+", size: "+size());
+            }
+            return _node(index);
+        }
+
+        @Override
+        public int size() {
+            return JrsNumericArray.this.size();
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.fasterxml.jackson.jr.stree;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.stree.util.CompactObjectMap;
 
 public class JrsObject extends JrsValue
 {
@@ -29,7 +31,7 @@ public class JrsObject extends JrsValue
 
     @Override
     public int size() {
-        return _values.size();
+        return _values().size();
     }
 
     @Override
@@ -50,7 +52,7 @@ public class JrsObject extends JrsValue
     @Override
     public Iterator<String> fieldNames()
     {
-        return _values.keySet().iterator();
+        return _values().keySet().iterator();
     }
 
     @Override
@@ -60,7 +62,7 @@ public class JrsObject extends JrsValue
     
     @Override
     public JrsValue get(String name) {
-        return _values.get(name);
+        return _values().get(name);
     }
 
     @Override
@@ -70,7 +72,7 @@ public class JrsObject extends JrsValue
 
     @Override
     public JrsValue path(String name) {
-        JrsValue v = _values.get(name);
+        JrsValue v = _values().get(name);
         return (v == null) ? JrsMissing.instance() : v;
     }
 
@@ -88,10 +90,167 @@ public class JrsObject extends JrsValue
      */
 
     public Iterator<Map.Entry<String, JrsValue>> fields() {
-        if (_values.isEmpty()) {
-            return _values.entrySet().iterator();
+        final Map<String, JrsValue> values = _values();
+        if (values.isEmpty()) {
+            return values.entrySet().iterator();
         }
-        return _values.entrySet().iterator();
+        // ensure caller can not modify values this way
+        return Collections.unmodifiableMap(values).entrySet().iterator();
+    }
+
+    /**
+     * @since 2.9
+     */
+    @Override
+    public JrsObject freeze() {
+        return new JrsFrozenObject(_unmodifiableValues());
+    }
+
+    /**
+     * Method for constructing a new Object with same properties as this
+     * Object, except that property with given name has given value: existing
+     * value is replaced (retaining ordering), or, if there is no such property,
+     * property is appended. This Object is not modified; values of all
+     * other properties are shared, not copied, so the cost only depends on
+     * number of properties of this Object, but not on size of the whole tree.
+     *
+     * @since 2.9
+     */
+    public JrsObject with(String name, JrsValue value) {
+        return _with(name, value);
+    }
+
+    /**
+     * Method for constructing a new Object with same properties as this
+     * Object, except for property with given name, if any: if there is no
+     * such property, this Object is returned as-is.
+     * Like {@link #with}, does not modify this Object and shares values.
+     *
+     * @since 2.9
+     */
+    public JrsObject without(String name)
+    {
+        if (!_values().containsKey(name)) {
+            return this;
+        }
+        Map<String, JrsValue> copy = _copyValues(0);
+        copy.remove(name);
+        return _withValues(copy);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor used for all access to contents, to allow sub-classes
+     * to construct contents lazily.
+     *
+     * @since 2.9
+     */
+    protected Map<String, JrsValue> _values() {
+        return _values;
+    }
+
+    @Override
+    protected JrsValue _unmodifiableCopy() {
+        return new JrsObject(_unmodifiableValues());
+    }
+
+    @Override
+    protected JrsValue _withAt(JrsPointer ptr, int segment, JrsValue value)
+    {
+        if (segment == ptr.length()) {
+            return value;
+        }
+        final String name = ptr.propertyAt(segment);
+        if (segment + 1 == ptr.length()) {
+            return _with(name, value);
+        }
+        JrsValue child = get(name);
+        if (child == null) {
+            throw _noContainer(ptr, segment+1);
+        }
+        return _with(name, child._withAt(ptr, segment+1, value));
+    }
+
+    @Override
+    protected JrsValue _withoutAt(JrsPointer ptr, int segment)
+    {
+        final String name = ptr.propertyAt(segment);
+        if (segment + 1 == ptr.length()) {
+            return without(name);
+        }
+        JrsValue child = get(name);
+        if (child == null) {
+            return this;
+        }
+        JrsValue newChild = child._withoutAt(ptr, segment+1);
+        return (newChild == child) ? this : _with(name, newChild);
+    }
+
+    /**
+     * Implementation of {@link #with}, also used when modifying values
+     * along the path for {@link #withAt}.
+     *
+     * @since 2.9
+     */
+    protected JrsObject _with(String name, JrsValue value)
+    {
+        if (name == null) {
+            throw new IllegalArgumentException("Null property names not allowed");
+        }
+        Map<String, JrsValue> copy = _copyValues(1);
+        copy.put(name, value);
+        return _withValues(copy);
+    }
+
+    /**
+     * Method for constructing a modifiable copy of contents, to be modified
+     * and passed to {@link #_withValues}.
+     *
+     * @since 2.9
+     */
+    protected Map<String, JrsValue> _copyValues(int extraCapacity)
+    {
+        final Map<String, JrsValue> values = _values();
+        if (values instanceof CompactObjectMap) {
+            return ((CompactObjectMap) values).copy(extraCapacity);
+        }
+        final int size = values.size() + extraCapacity;
+        Map<String, JrsValue> copy = new LinkedHashMap<String, JrsValue>(size + (size >> 1) + 1);
+        copy.putAll(values);
+        return copy;
+    }
+
+    /**
+     * Factory method used for constructing modified copies of this Object.
+     *
+     * @since 2.9
+     */
+    protected JrsObject _withValues(Map<String, JrsValue> values) {
+        return new JrsObject(values);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected Map<String, JrsValue> _unmodifiableValues()
+    {
+        final Map<String, JrsValue> values = _values();
+        if (values.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, JrsValue> copy = (values instanceof CompactObjectMap)
+                ? new CompactObjectMap(values.size())
+                : new LinkedHashMap<String, JrsValue>(values.size() + (values.size() >> 1));
+        for (Map.Entry<String, JrsValue> entry : values.entrySet()) {
+            JrsValue v = entry.getValue();
+            copy.put(entry.getKey(), (v == null) ? null : v._unmodifiableCopy());
+        }
+        return Collections.unmodifiableMap(copy);
     }
 
     /*
@@ -104,8 +263,9 @@ public class JrsObject extends JrsValue
     protected void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException
     {
         g.writeStartObject();
-        if (!_values.isEmpty()) {
-            for (Map.Entry<String,JrsValue> entry : _values.entrySet()) {
+        final Map<String, JrsValue> values = _values();
+        if (!values.isEmpty()) {
+            for (Map.Entry<String,JrsValue> entry : values.entrySet()) {
                 g.writeFieldName(entry.getKey());
                 codec.writeTree(g, entry.getValue());
             }
@@ -0,0 +1,226 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+/**
+ * Pre-compiled version of a {@link JsonPointer} expression, optimized for
+ * repeated evaluation against {@link JrsValue} trees: all segments (property
+ * names and array indexes) are extracted once, so that evaluation is a simple
+ * loop over arrays, without per-call parsing or allocation.
+ *<p>
+ * Instances are immutable and thread-safe; commonly used expressions are
+ * cached by {@link #compile(String)}.
+ * To evaluate many expressions against the same tree, see {@link JrsPointerSet}.
+ *
+ * @since 2.9
+ */
+public final class JrsPointer
+{
+    final static int MAX_CACHED = 200;
+
+    /**
+     * Number of entries evicted at a time, once cache is full
+     */
+    private final static int EVICT_COUNT = MAX_CACHED / 4;
+
+    final static ConcurrentHashMap<String, CachedPointer> CACHE
+        = new ConcurrentHashMap<String, CachedPointer>(50, 0.75f, 4);
+
+    private final static JrsPointer EMPTY = new JrsPointer(JsonPointer.compile(""));
+
+    private final JsonPointer _pointer;
+
+    /**
+     * Property names for segments
+     */
+    private final String[] _names;
+
+    /**
+     * Array indexes for segments; -1 for segments that are not valid indexes
+     */
+    private final int[] _indexes;
+
+    private JrsPointer(JsonPointer ptr)
+    {
+        _pointer = ptr;
+        int len = 0;
+        for (JsonPointer p = ptr; !p.matches(); p = p.tail()) {
+            ++len;
+        }
+        _names = new String[len];
+        _indexes = new int[len];
+        int i = 0;
+        for (JsonPointer p = ptr; !p.matches(); p = p.tail(), ++i) {
+            _names[i] = p.getMatchingProperty();
+            _indexes[i] = p.getMatchingIndex();
+        }
+    }
+
+    /**
+     * Factory method for compiling given JSON Pointer expression; uses a
+     * bounded cache to avoid re-compiling commonly used expressions.
+     * When cache is full, some of the least recently used entries are evicted.
+     *
+     * @throws IllegalArgumentException if expression is not a valid JSON Pointer
+     */
+    public static JrsPointer compile(String expr)
+    {
+        if (expr == null || expr.isEmpty()) {
+            return EMPTY;
+        }
+        CachedPointer cached = CACHE.get(expr);
+        if (cached != null) {
+            if (!cached.used) { // avoid writes for entries already marked
+                cached.used = true;
+            }
+            return cached.pointer;
+        }
+        JrsPointer ptr = new JrsPointer(JsonPointer.compile(expr));
+        // Unlike other caches, this one is shared by all users, and commonly
+        // used expressions should not be dropped just because of new ones
+        if (CACHE.size() >= MAX_CACHED) {
+            _evict();
+        }
+        CACHE.putIfAbsent(expr, new CachedPointer(ptr));
+        return ptr;
+    }
+
+    public static JrsPointer from(JsonPointer ptr) {
+        return ptr.matches() ? EMPTY : new JrsPointer(ptr);
+    }
+
+    /**
+     * Method for evicting some of cached pointers, using "second chance"
+     * approximation of LRU: entries used since they were added (or since
+     * previous eviction passed them) are retained, but marked as unused.
+     */
+    private static void _evict()
+    {
+        int toRemove = EVICT_COUNT;
+        for (int pass = 0; (pass < 2) && (toRemove > 0); ++pass) {
+            Iterator<CachedPointer> it = CACHE.values().iterator();
+            while (it.hasNext() && (toRemove > 0)) {
+                CachedPointer cached = it.next();
+                if (cached.used) {
+                    cached.used = false;
+                } else {
+                    it.remove();
+                    --toRemove;
+                }
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding value matching this pointer, starting at given node;
+     * same as calling <code>root.at(pointer)</code>.
+     *
+     * @return Value matching pointer, if any; {@link JrsMissing} if none
+     *   (or if matching value is <code>null</code>).
+     */
+    public JrsValue evaluate(JrsValue root)
+    {
+        JrsValue n = root;
+        for (int i = 0, end = _names.length; (i < end) && (n != null); ++i) {
+            n = step(n, i);
+        }
+        return (n == null) ? JrsMissing.instance() : n;
+    }
+
+    /**
+     * Number of segments in this pointer.
+     */
+    public int length() {
+        return _names.length;
+    }
+
+    public String propertyAt(int segment) {
+        return _names[segment];
+    }
+
+    public int indexAt(int segment) {
+        return _indexes[segment];
+    }
+
+    public JsonPointer toJsonPointer() {
+        return _pointer;
+    }
+
+    /*
+    /**********************************************************************
+    /* Std method overrides
+    /**********************************************************************
+     */
+
+    @Override
+    public String toString() {
+        return _pointer.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return _pointer.toString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (o == null || o.getClass() != getClass()) return false;
+        return _pointer.toString().equals(((JrsPointer) o)._pointer.toString());
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for taking a single step from given node, using given segment.
+     */
+    JrsValue step(JrsValue n, int segment)
+    {
+        return step(n, _names[segment], _indexes[segment]);
+    }
+
+    static JrsValue step(JrsValue n, String name, int index)
+    {
+        if (n instanceof JrsObject) {
+            return ((JrsObject) n).get(name);
+        }
+        if (n instanceof JrsArray) {
+            return (index < 0) ? null : ((JrsArray) n).get(index);
+        }
+        return null;
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Cache entry, with flag to indicate whether entry has been used
+     * since it was added (or last checked when evicting entries).
+     */
+    final static class CachedPointer
+    {
+        final JrsPointer pointer;
+
+        volatile boolean used;
+
+        CachedPointer(JrsPointer p) {
+            pointer = p;
+        }
+    }
+}
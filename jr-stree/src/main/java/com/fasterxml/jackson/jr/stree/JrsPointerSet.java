@@ -0,0 +1,166 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+/**
+ * Immutable set of {@link JrsPointer}s that can be evaluated together against
+ * a tree, in a single traversal: pointers are organized as a trie of segments,
+ * so that common prefixes are only traversed once, and subtrees not matched
+ * by any pointer are never visited.
+ *<p>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 2.9
+ */
+public final class JrsPointerSet
+{
+    private final JrsPointer[] _pointers;
+
+    private final Node _root;
+
+    private JrsPointerSet(JrsPointer[] pointers)
+    {
+        _pointers = pointers;
+        _root = new Node(null, -1);
+        for (int i = 0; i < pointers.length; ++i) {
+            JrsPointer ptr = pointers[i];
+            Node n = _root;
+            for (int seg = 0, end = ptr.length(); seg < end; ++seg) {
+                n = n.child(ptr.propertyAt(seg), ptr.indexAt(seg));
+            }
+            n.addTarget(i);
+        }
+    }
+
+    public static JrsPointerSet of(JrsPointer... pointers) {
+        return new JrsPointerSet(pointers.clone());
+    }
+
+    public static JrsPointerSet of(Collection<JrsPointer> pointers) {
+        return new JrsPointerSet(pointers.toArray(new JrsPointer[pointers.size()]));
+    }
+
+    /**
+     * Factory method for compiling and combining given JSON Pointer expressions.
+     */
+    public static JrsPointerSet compile(String... exprs)
+    {
+        JrsPointer[] pointers = new JrsPointer[exprs.length];
+        for (int i = 0; i < exprs.length; ++i) {
+            pointers[i] = JrsPointer.compile(exprs[i]);
+        }
+        return new JrsPointerSet(pointers);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public int size() {
+        return _pointers.length;
+    }
+
+    public JrsPointer pointer(int index) {
+        return _pointers[index];
+    }
+
+    /**
+     * Method for evaluating all pointers against given tree; results are
+     * returned in an array, in the same order as pointers were given, with
+     * {@link JrsMissing} for pointers that do not match a value.
+     */
+    public JrsValue[] evaluate(JrsValue root)
+    {
+        JrsValue[] results = new JrsValue[_pointers.length];
+        evaluate(root, results);
+        return results;
+    }
+
+    /**
+     * Alternate evaluation method that stores results in given array (which
+     * must have at least {@link #size()} elements), to allow reuse.
+     */
+    public void evaluate(JrsValue root, JrsValue[] results)
+    {
+        Arrays.fill(results, 0, _pointers.length, JrsMissing.instance());
+        if (root != null) {
+            _evaluate(_root, root, results);
+        }
+    }
+
+    /**
+     * Convenience method for evaluating all pointers, and returning results as
+     * a {@link Map} from pointer expression to value; only pointers that match
+     * a value are included.
+     */
+    public Map<String, JrsValue> evaluateToMap(JrsValue root)
+    {
+        JrsValue[] values = evaluate(root);
+        Map<String, JrsValue> result = new LinkedHashMap<String, JrsValue>();
+        for (int i = 0; i < values.length; ++i) {
+            if (!values[i].isMissingNode()) {
+                result.put(_pointers[i].toString(), values[i]);
+            }
+        }
+        return result;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private static void _evaluate(Node node, JrsValue value, JrsValue[] results)
+    {
+        for (int target : node.targets) {
+            results[target] = value;
+        }
+        for (Node child : node.children) {
+            JrsValue v = JrsPointer.step(value, child.name, child.index);
+            if (v != null) {
+                _evaluate(child, v, results);
+            }
+        }
+    }
+
+    /**
+     * Node of the trie of pointer segments
+     */
+    private final static class Node
+    {
+        private final static int[] NO_TARGETS = new int[0];
+        private final static Node[] NO_CHILDREN = new Node[0];
+
+        final String name;
+        final int index;
+
+        int[] targets = NO_TARGETS;
+        Node[] children = NO_CHILDREN;
+
+        Node(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        Node child(String childName, int childIndex)
+        {
+            for (Node child : children) {
+                if (child.name.equals(childName)) {
+                    return child;
+                }
+            }
+            Node child = new Node(childName, childIndex);
+            children = Arrays.copyOf(children, children.length+1);
+            children[children.length-1] = child;
+            return child;
+        }
+
+        void addTarget(int target) {
+            targets = Arrays.copyOf(targets, targets.length+1);
+            targets[targets.length-1] = target;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.*;
+
+/**
+ * Index of structural characters (<code>{ } [ ] : ,</code>) of a JSON document
+ * stored as UTF-8 encoded bytes (in a <code>byte[]</code> or a, possibly memory-mapped,
+ * {@link ByteBuffer}), built in a single pass, and used for locating values
+ * by {@link JsonPointer} without parsing the whole document.
+ * Traversal only looks at structural characters of containers along the path,
+ * and skips over whole subtrees of other values (as start and end positions of
+ * all Objects and Arrays are known). Once located, value may be read as a
+ * {@link JrsValue} (using {@link #at(JsonPointer)}), or accessed using a
+ * {@link JsonParser} that only covers the value (using {@link #parserAt(JsonPointer)}):
+ * latter may be used to bind value directly into a Bean, for example by
+ *<pre>
+ *   Point p = JSON.std.beanFrom(Point.class, index.parserAt(ptr));
+ *</pre>
+ *<p>
+ * Index does not validate document fully: only nesting of Objects and Arrays,
+ * and termination of String values is verified. Contents are verified when
+ * located values are parsed.
+ *<p>
+ * Instances are immutable after construction and may be shared between threads,
+ * as long as the underlying content is not modified.
+ *
+ * @since 2.9
+ */
+public class JrsStructuralIndex
+{
+    private final static JsonFactory DEFAULT_JSON_FACTORY = new JsonFactory();
+
+    protected final JsonFactory _jsonFactory;
+
+    protected final JacksonJrsTreeCodec _codec;
+
+    /**
+     * Content indexed; positions are absolute indexes within buffer
+     */
+    protected final ByteBuffer _data;
+
+    protected final int _start, _end;
+
+    /**
+     * Positions of structural characters within {@link #_data}, in document order.
+     */
+    protected final int[] _positions;
+
+    /**
+     * For entries that are start markers of Objects and Arrays, index
+     * of the matching end marker in {@link #_positions}; 0 for other entries.
+     */
+    protected final int[] _matches;
+
+    protected final int _count;
+
+    protected JrsStructuralIndex(JsonFactory f, JacksonJrsTreeCodec codec,
+            ByteBuffer data, int start, int end,
+            int[] positions, int[] matches, int count)
+    {
+        _jsonFactory = f;
+        _codec = codec;
+        _data = data;
+        _start = start;
+        _end = end;
+        _positions = positions;
+        _matches = matches;
+        _count = count;
+    }
+
+    public static JrsStructuralIndex build(byte[] data) throws IOException {
+        return build(DEFAULT_JSON_FACTORY, JacksonJrsTreeCodec.SINGLETON, ByteBuffer.wrap(data));
+    }
+
+    public static JrsStructuralIndex build(byte[] data, int offset, int len) throws IOException {
+        return build(DEFAULT_JSON_FACTORY, JacksonJrsTreeCodec.SINGLETON,
+                ByteBuffer.wrap(data, offset, len));
+    }
+
+    public static JrsStructuralIndex build(ByteBuffer data) throws IOException {
+        return build(DEFAULT_JSON_FACTORY, JacksonJrsTreeCodec.SINGLETON, data);
+    }
+
+    /**
+     * Factory method for building index for content between current position
+     * and limit of given buffer (position of which is not modified), using
+     * specified factory for parsers and codec for reading trees.
+     */
+    public static JrsStructuralIndex build(JsonFactory f, JacksonJrsTreeCodec codec,
+            ByteBuffer data)
+        throws IOException
+    {
+        final int start = data.position();
+        final int end = data.limit();
+        int[] positions = new int[Math.max(16, (end - start) >> 4)];
+        int[] matches = new int[positions.length];
+        int count = 0;
+        int[] stack = new int[16];
+        int depth = 0;
+
+        for (int i = start; i < end; ++i) {
+            switch (data.get(i)) {
+            case '"':
+                // skip String value or name; need to handle escapes
+                while (true) {
+                    if (++i >= end) {
+                        throw _error(i, "Unexpected end-of-input within String value");
+                    }
+                    byte b = data.get(i);
+                    if (b == '"') {
+                        break;
+                    }
+                    if (b == '\\') {
+                        ++i;
+                    }
+                }
+                continue;
+            case '{':
+            case '[':
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth + depth);
+                }
+                stack[depth++] = count;
+                break;
+            case '}':
+            case ']':
+                {
+                    if (depth == 0) {
+                        throw _error(i, "Unexpected close marker '"+((char) data.get(i))+"': no open Object or Array");
+                    }
+                    int open = stack[--depth];
+                    byte exp = (data.get(positions[open]) == '{') ? (byte) '}' : (byte) ']';
+                    if (data.get(i) != exp) {
+                        throw _error(i, "Unexpected close marker '"+((char) data.get(i))+"': expected '"
+                                +((char) exp)+"'");
+                    }
+                    matches[open] = count;
+                }
+                break;
+            case ':':
+            case ',':
+                break;
+            default:
+                continue;
+            }
+            if (count == positions.length) {
+                int newLen = count + (count >> 1);
+                positions = Arrays.copyOf(positions, newLen);
+                matches = Arrays.copyOf(matches, newLen);
+            }
+            positions[count++] = i;
+        }
+        if (depth > 0) {
+            throw _error(end, "Unexpected end-of-input: "+depth+" Object(s)/Array(s) not closed");
+        }
+        return new JrsStructuralIndex(f, codec, data.duplicate(), start, end,
+                positions, matches, count);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Accessor for number of structural characters indexed.
+     */
+    public int size() {
+        return _count;
+    }
+
+    public JrsValue at(String ptr) throws IOException {
+        return at(JsonPointer.compile(ptr));
+    }
+
+    /**
+     * Method for locating value at given path, and reading it as a tree.
+     * If no such value exists (or value is JSON null), {@link JrsMissing}
+     * is returned.
+     */
+    public JrsValue at(JsonPointer ptr) throws IOException
+    {
+        long span = _locate(ptr);
+        if (span < 0L) {
+            return JrsMissing.instance();
+        }
+        JsonParser p = _parser((int) (span >>> 32), (int) span);
+        try {
+            JrsValue v = _codec.readTree(p);
+            return (v == null) ? JrsMissing.instance() : v;
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for locating value at given path, and constructing a
+     * {@link JsonParser} that covers just that value, if one found;
+     * or, if no value exists, returning <code>null</code>.
+     * Caller is responsible for closing the parser.
+     */
+    public JsonParser parserAt(JsonPointer ptr) throws IOException
+    {
+        long span = _locate(ptr);
+        if (span < 0L) {
+            return null;
+        }
+        return _parser((int) (span >>> 32), (int) span);
+    }
+
+    /**
+     * Method for checking whether there is a value at given path.
+     */
+    public boolean hasValueAt(JsonPointer ptr) {
+        return _locate(ptr) >= 0L;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, traversal
+    /**********************************************************************
+     */
+
+    /**
+     * Main traversal method: returns start and end (exclusive) byte positions of
+     * matching value encoded in a <code>long</code> (start in upper 32 bits), if
+     * found; -1 if not.
+     */
+    protected long _locate(JsonPointer ptr)
+    {
+        int valueStart = _skipWs(_start);
+        if (valueStart >= _end) {
+            return -1L;
+        }
+        // index of the first structural entry at or after value start
+        int entry = 0;
+        for (; !ptr.matches(); ptr = ptr.tail()) {
+            byte b = _data.get(valueStart);
+            long match;
+            if (b == '{') {
+                match = _findProperty(entry, ptr.getMatchingProperty());
+            } else if (b == '[') {
+                int index = ptr.getMatchingIndex();
+                if (index < 0) {
+                    return -1L;
+                }
+                match = _findElement(entry, index);
+            } else {
+                return -1L;
+            }
+            if (match < 0L) {
+                return -1L;
+            }
+            valueStart = (int) (match >>> 32);
+            entry = (int) match;
+        }
+        int valueEnd;
+        byte b = _data.get(valueStart);
+        if (b == '{' || b == '[') {
+            valueEnd = _positions[_matches[entry]] + 1;
+        } else {
+            valueEnd = (entry < _count) ? _positions[entry] : _end;
+            while (valueEnd > valueStart && _isWs(_data.get(valueEnd-1))) {
+                --valueEnd;
+            }
+        }
+        return (((long) valueStart) << 32) | valueEnd;
+    }
+
+    /**
+     * @param open Index of the start marker of Object to search
+     *
+     * @return Start position of value, and its first structural entry,
+     *   encoded in a <code>long</code>; or -1 if not found
+     */
+    private long _findProperty(int open, String name)
+    {
+        final int close = _matches[open];
+        if (_isEmpty(open, close)) {
+            return -1L;
+        }
+        final byte[] nameBytes = _utf8(name);
+        int colon = open+1;
+        while (true) {
+            int valueStart = _skipWs(_positions[colon]+1);
+            int next = _nextEntry(valueStart, colon+1);
+            if (_keyMatches(_positions[colon-1]+1, _positions[colon], name, nameBytes)) {
+                return (((long) valueStart) << 32) | (colon+1);
+            }
+            if (next >= close) {
+                return -1L;
+            }
+            // skip comma to get to the next colon
+            colon = next+1;
+        }
+    }
+
+    private long _findElement(int open, int index)
+    {
+        final int close = _matches[open];
+        if (_isEmpty(open, close)) {
+            return -1L;
+        }
+        int valueStart = _skipWs(_positions[open]+1);
+        int entry = open+1;
+        for (int i = 0; ; ++i) {
+            if (i == index) {
+                return (((long) valueStart) << 32) | entry;
+            }
+            int next = _nextEntry(valueStart, entry);
+            if (next >= close) {
+                return -1L;
+            }
+            valueStart = _skipWs(_positions[next]+1);
+            entry = next+1;
+        }
+    }
+
+    /**
+     * Helper method for checking whether container with given start and end
+     * markers is empty: note that there being no structural entries in between
+     * is not enough, as Array may contain a single scalar value.
+     */
+    private boolean _isEmpty(int open, int close) {
+        return _skipWs(_positions[open]+1) >= _positions[close];
+    }
+
+    /**
+     * Helper method for finding index of structural entry that follows value
+     * that starts at given position, given index of the first entry at or after
+     * value start.
+     */
+    private int _nextEntry(int valueStart, int entry)
+    {
+        byte b = _data.get(valueStart);
+        if (b == '{' || b == '[') {
+            return _matches[entry] + 1;
+        }
+        return entry;
+    }
+
+    private boolean _keyMatches(int start, int end, String name, byte[] nameBytes)
+    {
+        start = _skipWs(start);
+        while (end > start && _isWs(_data.get(end-1))) {
+            --end;
+        }
+        // skip quotes
+        ++start;
+        --end;
+        final int len = end - start;
+        boolean escaped = false;
+        if (len == nameBytes.length) {
+            for (int i = 0; i < len; ++i) {
+                byte b = _data.get(start+i);
+                if (b != nameBytes[i]) {
+                    if (b == '\\') {
+                        escaped = true;
+                        break;
+                    }
+                    return false;
+                }
+            }
+            if (!escaped) {
+                return true;
+            }
+        }
+        // if there are escapes, need to decode the name
+        for (int i = start; !escaped && i < end; ++i) {
+            escaped = (_data.get(i) == '\\');
+        }
+        if (!escaped) {
+            return false;
+        }
+        try {
+            JsonParser p = _parser(start-1, end+1);
+            try {
+                p.nextToken();
+                return name.equals(p.getText());
+            } finally {
+                p.close();
+            }
+        } catch (IOException e) { // should not occur with in-memory content but
+            return false;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, other
+    /**********************************************************************
+     */
+
+    protected JsonParser _parser(int start, int end) throws IOException
+    {
+        if (_data.hasArray()) {
+            return _jsonFactory.createParser(_data.array(), _data.arrayOffset() + start, end - start);
+        }
+        byte[] copy = new byte[end - start];
+        ByteBuffer src = _data.duplicate();
+        src.position(start);
+        src.get(copy);
+        return _jsonFactory.createParser(copy);
+    }
+
+    private int _skipWs(int i)
+    {
+        while (i < _end && _isWs(_data.get(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    private static boolean _isWs(byte b) {
+        return (b == ' ') || (b == '\n') || (b == '\r') || (b == '\t');
+    }
+
+    private static byte[] _utf8(String str) {
+        try {
+            return str.getBytes("UTF-8");
+        } catch (java.io.UnsupportedEncodingException e) { // never happens
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonParseException _error(int offset, String msg) {
+        return new JsonParseException((JsonParser) null, msg,
+                new JsonLocation(null, offset, -1L, -1, -1));
+    }
+}
@@ -0,0 +1,289 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+
+/**
+ * Compact read-only representation of a JSON value (usually an Object or Array),
+ * used as the backing store for lazily materialized trees
+ * (see {@link JacksonJrsTreeCodec#withLazyTrees}).
+ * Each value is stored as a single entry in a set of parallel arrays: type,
+ * index of the entry following the value (to allow skipping whole subtrees),
+ * property name (for Object members), and value, stored either as primitive
+ * (numbers, and child count for containers) or as an Object (Strings and
+ * other types).
+ *
+ * @since 2.9
+ */
+final class JrsTokenBuffer
+{
+    final static byte T_NULL = 0;
+    final static byte T_TRUE = 1;
+    final static byte T_FALSE = 2;
+    final static byte T_INT = 3;
+    final static byte T_LONG = 4;
+    final static byte T_DOUBLE = 5;
+    final static byte T_STRING = 6;
+    final static byte T_NUMBER = 7;
+    final static byte T_EMBEDDED = 8;
+    final static byte T_ARRAY = 9;
+    final static byte T_OBJECT = 10;
+
+    private final JacksonJrsTreeCodec _codec;
+
+    private byte[] _types;
+
+    private int[] _next;
+
+    private String[] _names;
+
+    private Object[] _objects;
+
+    private long[] _primitives;
+
+    private int _size;
+
+    private JrsTokenBuffer(JacksonJrsTreeCodec codec, int initialSize)
+    {
+        _codec = codec;
+        _types = new byte[initialSize];
+        _next = new int[initialSize];
+        _names = new String[initialSize];
+        _objects = new Object[initialSize];
+        _primitives = new long[initialSize];
+    }
+
+    /**
+     * Factory method for reading a single value (scalar or structured) that
+     * given parser points to, and returning lazy node for it.
+     */
+    public static JrsValue read(JacksonJrsTreeCodec codec, JsonParser p) throws IOException
+    {
+        JrsTokenBuffer buffer = new JrsTokenBuffer(codec, 64);
+        buffer._append(p, null);
+        buffer._trim();
+        return buffer.valueAt(0);
+    }
+
+    /*
+    /**********************************************************************
+    /* Access
+    /**********************************************************************
+     */
+
+    public JacksonJrsTreeCodec codec() {
+        return _codec;
+    }
+
+    /**
+     * Number of child values of container value at given index
+     */
+    public int childCount(int index) {
+        return (int) _primitives[index];
+    }
+
+    /**
+     * Method for constructing node for value at given index; containers
+     * are returned as lazy nodes.
+     */
+    public JrsValue valueAt(int index)
+    {
+        switch (_types[index]) {
+        case T_TRUE:
+            return JrsBoolean.TRUE;
+        case T_FALSE:
+            return JrsBoolean.FALSE;
+        case T_INT:
+            return JrsNumber.valueOf((int) _primitives[index]);
+        case T_LONG:
+            return JrsNumber.valueOf(_primitives[index]);
+        case T_DOUBLE:
+            return JrsNumber.valueOf(Double.longBitsToDouble(_primitives[index]));
+        case T_STRING:
+            return new JrsString((String) _objects[index]);
+        case T_NUMBER:
+            return JrsNumber.valueOf((Number) _objects[index]);
+        case T_EMBEDDED:
+            return new JrsEmbeddedObject(_objects[index]);
+        case T_ARRAY:
+            return new JrsLazyArray(this, index);
+        case T_OBJECT:
+            return new JrsLazyObject(this, index);
+        case T_NULL:
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Method for materializing direct children of Array at given index
+     */
+    public void materializeArray(int index, List<JrsValue> result)
+    {
+        for (int i = index+1, end = _next[index]; i < end; i = _next[i]) {
+            result.add(valueAt(i));
+        }
+    }
+
+    /**
+     * Number of distinct property names of Object value at given index:
+     * same as {@link #childCount} unless Object has duplicate properties
+     * (in which case the last value is retained when materialized).
+     */
+    public int distinctNameCount(int index)
+    {
+        final int count = childCount(index);
+        if (count < 2) {
+            return count;
+        }
+        final int end = _next[index];
+        if (count <= 8) { // small enough to do linear checks
+            int distinct = 0;
+            main_loop:
+            for (int i = index+1; i < end; i = _next[i]) {
+                for (int j = _next[i]; j < end; j = _next[j]) {
+                    if (_names[i].equals(_names[j])) {
+                        continue main_loop;
+                    }
+                }
+                ++distinct;
+            }
+            return distinct;
+        }
+        Set<String> names = new HashSet<String>(count + (count >> 1));
+        for (int i = index+1; i < end; i = _next[i]) {
+            names.add(_names[i]);
+        }
+        return names.size();
+    }
+
+    /**
+     * Method for materializing direct children of Object at given index
+     */
+    public void materializeObject(int index, Map<String,JrsValue> result)
+    {
+        for (int i = index+1, end = _next[index]; i < end; i = _next[i]) {
+            result.put(_names[i], valueAt(i));
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private void _append(JsonParser p, String name) throws IOException
+    {
+        JsonToken t = p.getCurrentToken();
+        if (t == null) {
+            t = p.nextToken();
+        }
+        final int ix = _size;
+        if (ix == _types.length) {
+            _expand();
+        }
+        ++_size;
+        _names[ix] = name;
+
+        switch (t.id()) {
+        case JsonTokenId.ID_TRUE:
+            _types[ix] = T_TRUE;
+            break;
+        case JsonTokenId.ID_FALSE:
+            _types[ix] = T_FALSE;
+            break;
+        case JsonTokenId.ID_NUMBER_INT:
+            switch (p.getNumberType()) {
+            case INT:
+                _types[ix] = T_INT;
+                _primitives[ix] = p.getIntValue();
+                break;
+            case LONG:
+                _types[ix] = T_LONG;
+                _primitives[ix] = p.getLongValue();
+                break;
+            default:
+                _types[ix] = T_NUMBER;
+                _objects[ix] = p.getBigIntegerValue();
+            }
+            break;
+        case JsonTokenId.ID_NUMBER_FLOAT:
+            if (p.getNumberType() == JsonParser.NumberType.DOUBLE) {
+                _types[ix] = T_DOUBLE;
+                _primitives[ix] = Double.doubleToRawLongBits(p.getDoubleValue());
+            } else {
+                _types[ix] = T_NUMBER;
+                _objects[ix] = p.getNumberValue();
+            }
+            break;
+        case JsonTokenId.ID_STRING:
+            _types[ix] = T_STRING;
+            _objects[ix] = p.getText();
+            break;
+        case JsonTokenId.ID_START_ARRAY:
+            {
+                _types[ix] = T_ARRAY;
+                int count = 0;
+                while (p.nextToken() != JsonToken.END_ARRAY) {
+                    _append(p, null);
+                    ++count;
+                }
+                _primitives[ix] = count;
+            }
+            break;
+        case JsonTokenId.ID_START_OBJECT:
+            {
+                _types[ix] = T_OBJECT;
+                int count = 0;
+                while (p.nextToken() != JsonToken.END_OBJECT) {
+                    final String currentName = p.getCurrentName();
+                    p.nextToken();
+                    _append(p, currentName);
+                    ++count;
+                }
+                _primitives[ix] = count;
+            }
+            break;
+        case JsonTokenId.ID_EMBEDDED_OBJECT:
+            _types[ix] = T_EMBEDDED;
+            _objects[ix] = p.getEmbeddedObject();
+            break;
+        case JsonTokenId.ID_NULL:
+            _types[ix] = T_NULL;
+            break;
+        default:
+            throw new UnsupportedOperationException("Unsupported token id "+t.id()+" ("+t+")");
+        }
+        _next[ix] = _size;
+    }
+
+    private void _expand()
+    {
+        final int newSize = _types.length + (_types.length >> 1);
+        _types = Arrays.copyOf(_types, newSize);
+        _next = Arrays.copyOf(_next, newSize);
+        _names = Arrays.copyOf(_names, newSize);
+        _objects = Arrays.copyOf(_objects, newSize);
+        _primitives = Arrays.copyOf(_primitives, newSize);
+    }
+
+    private void _trim()
+    {
+        if (_size < _types.length) {
+            _types = Arrays.copyOf(_types, _size);
+            _next = Arrays.copyOf(_next, _size);
+            _names = Arrays.copyOf(_names, _size);
+            _objects = Arrays.copyOf(_objects, _size);
+            _primitives = Arrays.copyOf(_primitives, _size);
+        }
+    }
+}
@@ -62,9 +62,24 @@ public abstract class JrsValue implements TreeNode
         }
     }
 
+    /**
+     *<p>
+     * NOTE: since 2.9, uses {@link JrsPointer#compile(String)} which caches
+     * compiled expressions.
+     */
     @Override
     public JrsValue at(String s) {
-        return at(JsonPointer.compile(s));
+        return JrsPointer.compile(s).evaluate(this);
+    }
+
+    /**
+     * Method for finding value matching given pre-compiled pointer; same
+     * as <code>ptr.evaluate(this)</code>.
+     *
+     * @since 2.9
+     */
+    public JrsValue at(JrsPointer ptr) {
+        return ptr.evaluate(this);
     }
     
     @Override
@@ -100,6 +115,62 @@ public abstract class JrsValue implements TreeNode
         return null;
     }
 
+    /**
+     * Method for constructing an immutable ("frozen") copy of this value:
+     * for Objects and Arrays, a deep copy is made with unmodifiable contents,
+     * and the copy caches its serialized form when first written (see
+     * {@link JrsFrozenObject}). This is useful for subtrees that are
+     * embedded in many documents being written, since encoding is only
+     * done once. Scalar values are immutable and returned as-is.
+     *
+     * @since 2.9
+     */
+    public JrsValue freeze() {
+        return this;
+    }
+
+    /**
+     * Method for constructing a copy of this tree, in which value at location
+     * that given pointer refers to is replaced with given value (or, for
+     * Objects, added if there is no such property; and for Arrays, appended
+     * if index equals size of the Array). Only Objects and Arrays along the
+     * path are copied (see {@link JrsObject#with} and {@link JrsArray#withIndex}),
+     * and all other nodes are shared with this tree, which is not modified.
+     *
+     * @throws IllegalArgumentException If path refers to a location that is
+     *    not within an existing Object or Array
+     *
+     * @since 2.9
+     */
+    public JrsValue withAt(JrsPointer ptr, JrsValue value) {
+        return _withAt(ptr, 0, value);
+    }
+
+    /**
+     * @since 2.9
+     */
+    public JrsValue withAt(String ptrExpr, JrsValue value) {
+        return withAt(JrsPointer.compile(ptrExpr), value);
+    }
+
+    /**
+     * Method for constructing a copy of this tree, from which value at location
+     * that given pointer refers to is removed; if there is no such value,
+     * this tree is returned as-is. Like with {@link #withAt}, only Objects and
+     * Arrays along the path are copied.
+     *
+     * @throws IllegalArgumentException If pointer is empty (refers to the root)
+     *
+     * @since 2.9
+     */
+    public JrsValue withoutAt(JrsPointer ptr)
+    {
+        if (ptr.length() == 0) {
+            throw new IllegalArgumentException("Can not remove root value");
+        }
+        return _withoutAt(ptr, 0);
+    }
+
     /*
     /**********************************************************************
     /* Abstract methods for sub-classes
@@ -110,6 +181,56 @@ public abstract class JrsValue implements TreeNode
 
     protected abstract void write(JsonGenerator g, JacksonJrsTreeCodec codec) throws IOException;
 
+    /**
+     * Method called by {@link #freeze()} to construct unmodifiable copies
+     * of contained values; scalar values are returned as-is.
+     *
+     * @since 2.9
+     */
+    protected JrsValue _unmodifiableCopy() {
+        return this;
+    }
+
+    /**
+     * Method called by {@link #withAt} for replacing value at given segment
+     * of pointer (or, if segment equals length of pointer, this value).
+     * Base implementation is used by non-container values, which can not
+     * contain values.
+     *
+     * @since 2.9
+     */
+    protected JrsValue _withAt(JrsPointer ptr, int segment, JrsValue value)
+    {
+        if (segment == ptr.length()) {
+            return value;
+        }
+        throw _noContainer(ptr, segment);
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected JrsValue _withoutAt(JrsPointer ptr, int segment) {
+        // nothing to remove
+        return this;
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected static JrsValue _copyOf(JrsValue value) {
+        return (value == null) ? null : value._unmodifiableCopy();
+    }
+
+    /**
+     * @since 2.9
+     */
+    protected static IllegalArgumentException _noContainer(JrsPointer ptr, int segment) {
+        return new IllegalArgumentException(String.format(
+                "No Object or Array to modify at segment #%d of JSON Pointer '%s'",
+                segment, ptr));
+    }
+
     /*
     /**********************************************************************
     /* Helper classes
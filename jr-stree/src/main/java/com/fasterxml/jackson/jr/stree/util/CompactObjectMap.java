@@ -0,0 +1,469 @@
+package com.fasterxml.jackson.jr.stree.util;
+
+import java.util.*;
+
+import com.fasterxml.jackson.jr.stree.JrsValue;
+
+/**
+ * Compact {@link Map} implementation used for storing properties of
+ * {@link com.fasterxml.jackson.jr.stree.JrsObject}s, when enabled with
+ * {@link com.fasterxml.jackson.jr.stree.JacksonJrsTreeCodec#withCompactObjects}.
+ * Keys and values are stored in parallel arrays, in insertion order;
+ * lookups use linear scan for small sizes, and a simple open-addressing
+ * hash index (maintained by modifying methods once size exceeds
+ * {@link #INDEX_THRESHOLD}) for bigger ones. This takes considerably less
+ * memory than {@link LinkedHashMap}, which needs an entry object per property
+ * in addition to the hash table.
+ *<p>
+ * When reading content, entries are added using {@link #append}, which does
+ * not check for duplicate keys; these are resolved (and index built, if
+ * needed) by {@link #trimToSize}, which must be called before map is
+ * otherwise accessed.
+ *<p>
+ * Accessors do not modify state of the map, so that once fully constructed
+ * (and safely published, as is the case for maps of
+ * {@link com.fasterxml.jackson.jr.stree.JrsObject}s), maps may be read
+ * concurrently; modifications are not thread-safe.
+ *<p>
+ * Null keys are not allowed.
+ *
+ * @since 2.9
+ */
+public class CompactObjectMap
+    extends AbstractMap<String, JrsValue>
+{
+    /**
+     * Number of entries above which a hash index is used for lookups
+     * instead of linear scan.
+     */
+    public final static int INDEX_THRESHOLD = 8;
+
+    private final static String[] NO_KEYS = new String[0];
+    private final static JrsValue[] NO_VALUES = new JrsValue[0];
+
+    protected String[] _keys;
+
+    protected JrsValue[] _values;
+
+    protected int _size;
+
+    /**
+     * Hash index, if size exceeds {@link #INDEX_THRESHOLD}: contains entry
+     * index plus one (so that zero is used as empty marker) at slot for the
+     * hash of key.
+     */
+    protected int[] _index;
+
+    /**
+     * Flag set if entries have been added using {@link #append}, and
+     * possible duplicates not yet resolved by {@link #trimToSize}.
+     */
+    protected boolean _unresolved;
+
+    public CompactObjectMap() {
+        _keys = NO_KEYS;
+        _values = NO_VALUES;
+    }
+
+    public CompactObjectMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            _keys = NO_KEYS;
+            _values = NO_VALUES;
+        } else {
+            _keys = new String[initialCapacity];
+            _values = new JrsValue[initialCapacity];
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Map implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public int size() {
+        if (_unresolved) {
+            _reportUnresolved();
+        }
+        return _size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (_unresolved) {
+            _reportUnresolved();
+        }
+        return _find(key) >= 0;
+    }
+
+    @Override
+    public JrsValue get(Object key) {
+        if (_unresolved) {
+            _reportUnresolved();
+        }
+        int ix = _find(key);
+        return (ix < 0) ? null : _values[ix];
+    }
+
+    @Override
+    public JrsValue put(String key, JrsValue value)
+    {
+        if (key == null) {
+            throw new NullPointerException("Null keys not allowed");
+        }
+        if (_unresolved) {
+            _resolve();
+        }
+        int ix = _find(key);
+        if (ix >= 0) {
+            JrsValue old = _values[ix];
+            _values[ix] = value;
+            return old;
+        }
+        ix = _add(key, value);
+        if (_size > INDEX_THRESHOLD) {
+            // keep load factor at or below 50%
+            if ((_index == null) || ((_size + _size) > _index.length)) {
+                _index = _buildIndex();
+            } else {
+                _addToIndex(_index, key, ix);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public JrsValue remove(Object key)
+    {
+        if (_unresolved) {
+            _resolve();
+        }
+        int ix = _find(key);
+        if (ix < 0) {
+            return null;
+        }
+        JrsValue old = _values[ix];
+        _removeAt(ix);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(_keys, 0, _size, null);
+        Arrays.fill(_values, 0, _size, null);
+        _size = 0;
+        _index = null;
+        _unresolved = false;
+    }
+
+    @Override
+    public Set<Map.Entry<String, JrsValue>> entrySet() {
+        return new EntrySet();
+    }
+
+    /*
+    /**********************************************************************
+    /* Extended API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for adding an entry without checking whether map already
+     * contains given key, used when reading content. Duplicates are resolved
+     * by {@link #trimToSize} (or modifying methods), same as if {@link #put}
+     * had been used: value added last is retained, at position of the first
+     * entry with the key. Unlike with {@link #put}, hash index is not built
+     * or updated.
+     *<p>
+     * Accessors may not be called before {@link #trimToSize} has been
+     * called, and throw {@link IllegalStateException} if they are.
+     */
+    public void append(String key, JrsValue value)
+    {
+        if (key == null) {
+            throw new NullPointerException("Null keys not allowed");
+        }
+        _add(key, value);
+        _index = null;
+        _unresolved = (_size > 1);
+    }
+
+    /**
+     * Method that should be called once all entries have been added (and
+     * must be, if {@link #append} was used), to resolve duplicates, build
+     * hash index if needed, and trim underlying arrays to the exact size.
+     */
+    public void trimToSize() {
+        if (_unresolved) {
+            _resolve();
+        }
+        if (_size < _keys.length) {
+            _keys = Arrays.copyOf(_keys, _size);
+            _values = Arrays.copyOf(_values, _size);
+        }
+    }
+
+    /**
+     * Method for constructing a copy of this map, with room for given number
+     * of additional entries; used for constructing modified copies of
+     * {@link com.fasterxml.jackson.jr.stree.JrsObject}s. Hash index (if any)
+     * is copied as well, so cost is that of copying arrays.
+     */
+    public CompactObjectMap copy(int extraCapacity)
+    {
+        if (_unresolved) {
+            _resolve();
+        }
+        CompactObjectMap result = new CompactObjectMap();
+        final int capacity = _size + extraCapacity;
+        if (capacity > 0) {
+            result._keys = Arrays.copyOf(_keys, capacity);
+            result._values = Arrays.copyOf(_values, capacity);
+        }
+        result._size = _size;
+        if (_index != null) {
+            result._index = _index.clone();
+        }
+        return result;
+    }
+
+    /**
+     * Accessor for key of entry at given index (in insertion order)
+     */
+    public String keyAt(int index) {
+        if (_unresolved) {
+            _reportUnresolved();
+        }
+        if (index >= _size) {
+            throw new IndexOutOfBoundsException("Index "+index+", size "+_size);
+        }
+        return _keys[index];
+    }
+
+    /**
+     * Accessor for value of entry at given index (in insertion order)
+     */
+    public JrsValue valueAt(int index) {
+        if (_unresolved) {
+            _reportUnresolved();
+        }
+        if (index >= _size) {
+            throw new IndexOutOfBoundsException("Index "+index+", size "+_size);
+        }
+        return _values[index];
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    protected int _add(String key, JrsValue value)
+    {
+        if (_size == _keys.length) {
+            int newSize = (_size < 4) ? 4 : (_size + (_size >> 1));
+            _keys = Arrays.copyOf(_keys, newSize);
+            _values = Arrays.copyOf(_values, newSize);
+        }
+        final int ix = _size++;
+        _keys[ix] = key;
+        _values[ix] = value;
+        return ix;
+    }
+
+    /**
+     * Method called to resolve duplicates of entries added using {@link #append}:
+     * uses linear scan for small maps; for bigger ones, hash index is needed
+     * (and retained) anyway.
+     */
+    protected void _resolve()
+    {
+        final String[] keys = _keys;
+        final JrsValue[] values = _values;
+        final int size = _size;
+        int count = 0;
+        if (size <= INDEX_THRESHOLD) {
+            main_loop:
+            for (int i = 0; i < size; ++i) {
+                final String key = keys[i];
+                for (int j = 0; j < count; ++j) {
+                    if (key.equals(keys[j])) {
+                        values[j] = values[i];
+                        continue main_loop;
+                    }
+                }
+                keys[count] = key;
+                values[count] = values[i];
+                ++count;
+            }
+        } else {
+            int[] index = new int[_indexSize(size)];
+            final int mask = index.length - 1;
+            main_loop:
+            for (int i = 0; i < size; ++i) {
+                final String key = keys[i];
+                int slot = _hash(key) & mask;
+                int ix;
+                while ((ix = index[slot]) != 0) {
+                    if (key.equals(keys[ix-1])) {
+                        values[ix-1] = values[i];
+                        continue main_loop;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[count] = key;
+                values[count] = values[i];
+                index[slot] = ++count;
+            }
+            if (count > INDEX_THRESHOLD) {
+                _index = index;
+            }
+        }
+        if (count < size) {
+            Arrays.fill(keys, count, size, null);
+            Arrays.fill(values, count, size, null);
+            _size = count;
+        }
+        _unresolved = false;
+    }
+
+    protected void _reportUnresolved() {
+        throw new IllegalStateException("Entries added with append() not yet resolved: trimToSize() must be called first");
+    }
+
+    protected int _find(Object key)
+    {
+        if (key == null) {
+            return -1;
+        }
+        final int[] index = _index;
+        if (index == null) {
+            final String[] keys = _keys;
+            for (int i = 0, size = _size; i < size; ++i) {
+                if (key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        final int mask = index.length - 1;
+        int slot = _hash(key) & mask;
+        while (true) {
+            int ix = index[slot];
+            if (ix == 0) {
+                return -1;
+            }
+            if (key.equals(_keys[ix-1])) {
+                return ix-1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    protected int[] _buildIndex()
+    {
+        int[] index = new int[_indexSize(_size)];
+        for (int i = 0; i < _size; ++i) {
+            _addToIndex(index, _keys[i], i);
+        }
+        return index;
+    }
+
+    protected void _removeAt(int ix)
+    {
+        int toMove = _size - ix - 1;
+        if (toMove > 0) {
+            System.arraycopy(_keys, ix+1, _keys, ix, toMove);
+            System.arraycopy(_values, ix+1, _values, ix, toMove);
+        }
+        --_size;
+        _keys[_size] = null;
+        _values[_size] = null;
+        // positions changed, need to rebuild index
+        _index = (_size > INDEX_THRESHOLD) ? _buildIndex() : null;
+    }
+
+    private static int _indexSize(int size)
+    {
+        int len = 16;
+        while (len < (size + size)) {
+            len += len;
+        }
+        return len;
+    }
+
+    private static void _addToIndex(int[] index, String key, int ix)
+    {
+        final int mask = index.length - 1;
+        int slot = _hash(key) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = ix+1;
+    }
+
+    private static int _hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, JrsValue>>
+    {
+        @Override
+        public int size() {
+            return CompactObjectMap.this.size();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, JrsValue>> iterator() {
+            if (_unresolved) {
+                _reportUnresolved();
+            }
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, JrsValue>>
+    {
+        private int _next;
+
+        private int _last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return _next < _size;
+        }
+
+        @Override
+        public Map.Entry<String, JrsValue> next() {
+            if (_next >= _size) {
+                throw new NoSuchElementException();
+            }
+            _last = _next++;
+            return new AbstractMap.SimpleImmutableEntry<String, JrsValue>(_keys[_last], _values[_last]);
+        }
+
+        @Override
+        public void remove() {
+            if (_last < 0) {
+                throw new IllegalStateException();
+            }
+            _removeAt(_last);
+            _next = _last;
+            _last = -1;
+        }
+    }
+}
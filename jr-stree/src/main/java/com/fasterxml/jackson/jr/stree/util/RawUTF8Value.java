@@ -0,0 +1,150 @@
+package com.fasterxml.jackson.jr.stree.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * {@link SerializableString} that contains pre-encoded JSON content as
+ * UTF-8 bytes, used for caching serialized form of frozen nodes (see
+ * {@link com.fasterxml.jackson.jr.stree.JrsValue#freeze()}): unquoted
+ * accessors expose the bytes as-is, so that
+ * {@link com.fasterxml.jackson.core.JsonGenerator#writeRawValue(SerializableString)}
+ * can copy them directly into output of UTF-8 backed generators.
+ * Textual representation is only decoded when needed.
+ *
+ * @since 2.9
+ */
+public final class RawUTF8Value implements SerializableString
+{
+    private final static Charset UTF8 = Charset.forName("UTF-8");
+
+    private final byte[] _bytes;
+
+    public RawUTF8Value(byte[] bytes) {
+        _bytes = bytes;
+    }
+
+    /**
+     * Accessor for length of encoded content, in bytes.
+     */
+    public int byteLength() {
+        return _bytes.length;
+    }
+
+    /*
+    /**********************************************************************
+    /* SerializableString implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public String getValue() {
+        return new String(_bytes, UTF8);
+    }
+
+    @Override
+    public int charLength() {
+        return getValue().length();
+    }
+
+    @Override
+    public char[] asQuotedChars() {
+        return JsonStringEncoder.getInstance().quoteAsString(getValue());
+    }
+
+    @Override
+    public byte[] asUnquotedUTF8() {
+        return _bytes;
+    }
+
+    @Override
+    public byte[] asQuotedUTF8() {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+    }
+
+    @Override
+    public int appendQuotedUTF8(byte[] buffer, int offset) {
+        return _append(asQuotedUTF8(), buffer, offset);
+    }
+
+    @Override
+    public int appendQuoted(char[] buffer, int offset) {
+        return _append(asQuotedChars(), buffer, offset);
+    }
+
+    @Override
+    public int appendUnquotedUTF8(byte[] buffer, int offset) {
+        return _append(_bytes, buffer, offset);
+    }
+
+    @Override
+    public int appendUnquoted(char[] buffer, int offset) {
+        return _append(getValue().toCharArray(), buffer, offset);
+    }
+
+    @Override
+    public int writeQuotedUTF8(OutputStream out) throws IOException {
+        byte[] b = asQuotedUTF8();
+        out.write(b);
+        return b.length;
+    }
+
+    @Override
+    public int writeUnquotedUTF8(OutputStream out) throws IOException {
+        out.write(_bytes);
+        return _bytes.length;
+    }
+
+    @Override
+    public int putQuotedUTF8(ByteBuffer buffer) {
+        return _put(asQuotedUTF8(), buffer);
+    }
+
+    @Override
+    public int putUnquotedUTF8(ByteBuffer buffer) {
+        return _put(_bytes, buffer);
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private static int _append(byte[] src, byte[] buffer, int offset) {
+        final int len = src.length;
+        if ((offset + len) > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(src, 0, buffer, offset, len);
+        return len;
+    }
+
+    private static int _append(char[] src, char[] buffer, int offset) {
+        final int len = src.length;
+        if ((offset + len) > buffer.length) {
+            return -1;
+        }
+        System.arraycopy(src, 0, buffer, offset, len);
+        return len;
+    }
+
+    private static int _put(byte[] src, ByteBuffer buffer) {
+        final int len = src.length;
+        if (len > buffer.remaining()) {
+            return -1;
+        }
+        buffer.put(src, 0, len);
+        return len;
+    }
+}
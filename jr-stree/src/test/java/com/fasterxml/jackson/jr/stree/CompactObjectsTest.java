@@ -0,0 +1,187 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.stree.util.CompactObjectMap;
+
+/**
+ * Tests for verifying that compact (array-backed) Object storage works
+ * same as the default {@link LinkedHashMap}-backed one.
+ */
+public class CompactObjectsTest extends TestBase
+{
+    private final JacksonJrsTreeCodec TREE_CODEC = new JacksonJrsTreeCodec()
+            .withCompactObjects(true);
+    private final JSON treeJSON = JSON.std.with(TREE_CODEC);
+
+    public void testConfig() throws Exception
+    {
+        assertFalse(JacksonJrsTreeCodec.SINGLETON.usesCompactObjects());
+        assertTrue(TREE_CODEC.usesCompactObjects());
+        assertSame(TREE_CODEC, TREE_CODEC.withCompactObjects(true));
+        assertFalse(TREE_CODEC.withCompactObjects(false).usesCompactObjects());
+    }
+
+    public void testSmallObject() throws Exception
+    {
+        final String INPUT = aposToQuotes("{'a':1,'b':[true,{'c':'x'}],'d':{}}");
+        TreeNode node = treeJSON.treeFrom(INPUT);
+        assertTrue(node instanceof JrsObject);
+        assertEquals(3, node.size());
+        assertEquals("x", ((JrsValue) node.at("/b/1/c")).asText());
+        assertNull(node.get("x"));
+        assertTrue(node.path("x").isMissingNode());
+
+        Iterator<String> it = node.fieldNames();
+        assertEquals("a", it.next());
+        assertEquals("b", it.next());
+        assertEquals("d", it.next());
+        assertFalse(it.hasNext());
+
+        assertEquals(INPUT, treeJSON.asString(node));
+    }
+
+    public void testBigObject() throws Exception
+    {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 100; ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"prop").append(i).append("\":").append(i);
+        }
+        sb.append('}');
+        final String INPUT = sb.toString();
+        TreeNode node = treeJSON.treeFrom(INPUT);
+        assertEquals(100, node.size());
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(String.valueOf(i), ((JrsValue) node.get("prop"+i)).asText());
+        }
+        assertNull(node.get("prop100"));
+        assertEquals(INPUT, treeJSON.asString(node));
+    }
+
+    public void testAppendWithDuplicates() throws Exception
+    {
+        for (int size : new int[] { 3, 8, 9, 40 }) {
+            CompactObjectMap map = new CompactObjectMap();
+            Map<String,JrsValue> exp = new LinkedHashMap<String,JrsValue>();
+            for (int i = 0; i < size; ++i) {
+                JrsValue v = new JrsString("v"+i);
+                String key = "k"+(i % (size-1));
+                map.append(key, v);
+                exp.put(key, v);
+            }
+            // must be resolved before access
+            try {
+                map.get("k0");
+                fail("Should not pass");
+            } catch (IllegalStateException e) {
+                verifyException(e, "trimToSize()");
+            }
+            map.trimToSize();
+            assertEquals(exp.size(), map.size());
+            assertEquals(exp, map);
+            assertEquals(new ArrayList<String>(exp.keySet()), new ArrayList<String>(map.keySet()));
+            assertSame(exp.get("k0"), map.get("k0"));
+            assertEquals("v"+(size-1), map.get("k0").asText());
+        }
+
+        TreeNode node = treeJSON.treeFrom(aposToQuotes("{'a':1,'b':2,'a':3}"));
+        assertEquals(2, node.size());
+        assertEquals(aposToQuotes("{'a':3,'b':2}"), treeJSON.asString(node));
+    }
+
+    public void testConcurrentLookups() throws Exception
+    {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 60; ++i) {
+            // with some duplicates, to be resolved
+            sb.append("\"p").append(i % 40).append("\":").append(i).append(',');
+        }
+        sb.setLength(sb.length()-1);
+        final String DOC = sb.append('}').toString();
+
+        for (int round = 0; round < 20; ++round) {
+            final TreeNode node = treeJSON.treeFrom(DOC);
+            final AtomicReference<Throwable> fail = new AtomicReference<Throwable>();
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; ++t) {
+                threads[t] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (int i = 0; i < 40; ++i) {
+                                if (node.size() != 40) {
+                                    throw new IllegalStateException("Wrong size: "+node.size());
+                                }
+                                JrsValue v = (JrsValue) node.get("p"+i);
+                                String exp = String.valueOf((i < 20) ? (i + 40) : i);
+                                if ((v == null) || !exp.equals(v.asText())) {
+                                    throw new IllegalStateException("Wrong value for 'p"+i+"': "+v);
+                                }
+                            }
+                        } catch (Throwable e) {
+                            fail.set(e);
+                        }
+                    }
+                });
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (fail.get() != null) {
+                throw new Exception(fail.get());
+            }
+        }
+    }
+
+    public void testMapSemantics() throws Exception
+    {
+        CompactObjectMap map = new CompactObjectMap();
+        Map<String,JrsValue> exp = new LinkedHashMap<String,JrsValue>();
+        for (int i = 0; i < 40; ++i) {
+            JrsValue v = new JrsString("v"+i);
+            assertNull(map.put("k"+i, v));
+            exp.put("k"+i, v);
+            // verify lookups both before and after index gets built
+            assertSame(v, map.get("k"+i));
+        }
+        assertEquals(exp, map);
+
+        // replacement retains ordering
+        JrsValue repl = new JrsString("new");
+        assertNotNull(map.put("k3", repl));
+        exp.put("k3", repl);
+        assertEquals(new ArrayList<String>(exp.keySet()), new ArrayList<String>(map.keySet()));
+
+        // removal, including via iterator
+        assertNotNull(map.remove("k0"));
+        exp.remove("k0");
+        Iterator<Map.Entry<String,JrsValue>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getKey().endsWith("5")) {
+                it.remove();
+            }
+        }
+        exp.keySet().removeAll(Arrays.asList("k5", "k15", "k25", "k35"));
+        assertEquals(exp, map);
+        assertEquals(exp.size(), map.size());
+        for (String key : exp.keySet()) {
+            assertSame(exp.get(key), map.get(key));
+        }
+        assertFalse(map.containsKey("k5"));
+
+        map.trimToSize();
+        assertEquals("k1", map.keyAt(0));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("k1"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Tests for frozen (immutable) subtrees that cache their serialized form.
+ */
+public class FrozenTreesTest extends TestBase
+{
+    private final JSON TREE_JSON = JSON.std.with(new JacksonJrsTreeCodec());
+
+    private final String DOC = aposToQuotes("{'name':'config','values':[1,2.5,'x',true,null],"
+            +"'nested':{'a':{'b':[]}},'text':'\\u00e9t\\u00e9 \\\"quoted\\\"'}");
+
+    public void testFreezeAndWrite() throws Exception
+    {
+        JrsObject tree = (JrsObject) TREE_JSON.treeFrom(DOC);
+        String expected = TREE_JSON.asString(tree);
+
+        JrsObject frozen = tree.freeze();
+        assertTrue(frozen instanceof JrsFrozenObject);
+        assertSame(frozen, frozen.freeze());
+        assertFalse(((JrsFrozenObject) frozen).isEncoded());
+
+        // first write into UTF-8 output encodes and caches; rest reuse
+        assertEquals(expected, new String(TREE_JSON.asBytes(frozen), "UTF-8"));
+        assertTrue(((JrsFrozenObject) frozen).isEncoded());
+        assertEquals(expected, new String(TREE_JSON.asBytes(frozen), "UTF-8"));
+
+        // textual output does not use cached bytes, but result is same
+        assertEquals(expected, TREE_JSON.asString(frozen));
+
+        // should work as an embedded value, in Object as well as Array
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("id", 1);
+        map.put("config", frozen);
+        map.put("list", Arrays.asList(frozen, frozen));
+        assertEquals("{\"id\":1,\"config\":"+expected+",\"list\":["+expected+","+expected+"]}",
+                new String(TREE_JSON.asBytes(map), "UTF-8"));
+
+        // and regular accessors are not affected
+        assertEquals("config", frozen.get("name").asText());
+        assertEquals(5, frozen.get("values").size());
+        assertTrue(frozen.at("/nested/a/b").isArray());
+    }
+
+    public void testFreezeArray() throws Exception
+    {
+        JrsArray tree = (JrsArray) TREE_JSON.treeFrom("[1,{\"a\":[true]},\"x\"]");
+        JrsArray frozen = tree.freeze();
+        assertTrue(frozen instanceof JrsFrozenArray);
+        assertEquals("[1,{\"a\":[true]},\"x\"]", new String(TREE_JSON.asBytes(frozen), "UTF-8"));
+        assertTrue(((JrsFrozenArray) frozen).isEncoded());
+        assertEquals("[1,{\"a\":[true]},\"x\"]", new String(TREE_JSON.asBytes(frozen), "UTF-8"));
+
+        // scalars are immutable already
+        JrsValue str = frozen.get(2);
+        assertSame(str, str.freeze());
+    }
+
+    public void testImmutability() throws Exception
+    {
+        Map<String,JrsValue> values = new LinkedHashMap<String,JrsValue>();
+        List<JrsValue> list = new ArrayList<JrsValue>();
+        list.add(new JrsString("a"));
+        values.put("list", new JrsArray(list));
+        JrsObject frozen = new JrsObject(values).freeze();
+        String json = TREE_JSON.asString(frozen);
+
+        // modifications to original contents must not be visible
+        list.add(new JrsString("b"));
+        values.put("extra", JrsBoolean.TRUE);
+        assertEquals(json, TREE_JSON.asString(frozen));
+        assertEquals(json, new String(TREE_JSON.asBytes(frozen), "UTF-8"));
+        assertNull(frozen.get("extra"));
+
+        try {
+            frozen.fields().next().setValue(JrsBoolean.FALSE);
+            fail("Should not pass");
+        } catch (UnsupportedOperationException e) {
+            ; // expected
+        }
+    }
+
+    public void testNonDefaultSettings() throws Exception
+    {
+        JrsObject frozen = ((JrsObject) TREE_JSON.treeFrom(DOC)).freeze();
+        // cache populated first
+        TREE_JSON.asBytes(frozen);
+
+        // escaping of non-ASCII characters must be honored
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator g = _factory.createGenerator(bytes);
+        g.enable(JsonGenerator.Feature.ESCAPE_NON_ASCII);
+        TREE_JSON.write(frozen, g);
+        g.close();
+        String json = bytes.toString("UTF-8");
+        assertTrue(json.contains("\\u00E9t\\u00E9"));
+
+        // as well as pretty-printing
+        String pretty = TREE_JSON.with(JSON.Feature.PRETTY_PRINT_OUTPUT).asString(frozen);
+        assertTrue(pretty.contains("\n"));
+        assertEquals(pretty, new String(TREE_JSON.with(JSON.Feature.PRETTY_PRINT_OUTPUT)
+                .asBytes(frozen), "UTF-8"));
+    }
+
+    public void testFreezeCompactAndLazy() throws Exception
+    {
+        String expected = TREE_JSON.asString(TREE_JSON.treeFrom(DOC));
+        JSON compact = JSON.std.with(new JacksonJrsTreeCodec().withCompactObjects(true));
+        JrsObject frozen = ((JrsObject) compact.treeFrom(DOC)).freeze();
+        assertEquals(expected, new String(compact.asBytes(frozen), "UTF-8"));
+
+        JSON lazy = JSON.std.with(new JacksonJrsTreeCodec().withLazyTrees(true));
+        frozen = ((JrsObject) lazy.treeFrom(DOC)).freeze();
+        assertEquals(expected, new String(lazy.asBytes(frozen), "UTF-8"));
+    }
+}
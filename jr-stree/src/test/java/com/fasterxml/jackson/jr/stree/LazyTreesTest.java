@@ -0,0 +1,131 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Tests for verifying that lazily materialized trees work same as
+ * eagerly read ones.
+ */
+public class LazyTreesTest extends TestBase
+{
+    private final JacksonJrsTreeCodec LAZY_CODEC = new JacksonJrsTreeCodec()
+            .withLazyTrees(true);
+    private final JSON lazyJSON = JSON.std.with(LAZY_CODEC);
+
+    private final static String DOC = aposToQuotesStatic(
+            "{'a':[1,2,{'b':true,'c':null}],'d':{'e':'text','f':{'g':[]}},"
+            +"'h':12345678901,'i':0.5,'j':123456789012345678901234567890,'k':{}}");
+
+    public void testConfig() throws Exception
+    {
+        assertFalse(JacksonJrsTreeCodec.SINGLETON.usesLazyTrees());
+        assertTrue(LAZY_CODEC.usesLazyTrees());
+        assertSame(LAZY_CODEC, LAZY_CODEC.withLazyTrees(true));
+        JacksonJrsTreeCodec both = LAZY_CODEC.withCompactObjects(true);
+        assertTrue(both.usesLazyTrees());
+        assertTrue(both.usesCompactObjects());
+    }
+
+    public void testLazyMaterialization() throws Exception
+    {
+        TreeNode node = lazyJSON.treeFrom(DOC);
+        assertTrue(node instanceof JrsLazyObject);
+        JrsLazyObject root = (JrsLazyObject) node;
+        // size available without materialization
+        assertEquals(6, root.size());
+        assertFalse(root.isMaterialized());
+
+        JrsValue d = root.get("d");
+        assertTrue(root.isMaterialized());
+        assertTrue(d instanceof JrsLazyObject);
+        assertFalse(((JrsLazyObject) d).isMaterialized());
+        JrsLazyArray a = (JrsLazyArray) root.get("a");
+        assertEquals(3, a.size());
+        assertFalse(a.isMaterialized());
+
+        assertEquals("text", root.at("/d/e").asText());
+        assertTrue(((JrsLazyObject) d).isMaterialized());
+        // "f" itself created but not its contents
+        assertFalse(((JrsLazyObject) d.get("f")).isMaterialized());
+        assertSame(d.get("f"), root.at("/d/f"));
+
+        assertEquals(Integer.valueOf(2), ((JrsNumber) root.at("/a/1")).getValue());
+        assertTrue(((JrsBoolean) root.at("/a/2/b")).booleanValue());
+        assertNull(root.at("/a/2").get("c"));
+        assertTrue(root.at("/a/7").isMissingNode());
+        assertEquals(12345678901L, ((JrsNumber) root.get("h")).longValue());
+        assertEquals(0.5, ((JrsNumber) root.get("i")).doubleValue());
+    }
+
+    public void testSameAsEager() throws Exception
+    {
+        TreeNode lazy = lazyJSON.treeFrom(DOC);
+        assertEquals(DOC, lazyJSON.asString(lazy));
+
+        // as well as with traversal (which does not support null values)
+        final String NO_NULLS = DOC.replace("null", "false");
+        lazy = lazyJSON.treeFrom(NO_NULLS);
+        TreeNode eager = JSON.std.with(new JacksonJrsTreeCodec()).treeFrom(NO_NULLS);
+        JsonParser p1 = lazy.traverse();
+        JsonParser p2 = eager.traverse();
+        JsonToken t;
+        while ((t = p2.nextToken()) != null) {
+            assertToken(t, p1.nextToken());
+            assertEquals(p2.getText(), p1.getText());
+        }
+        assertNull(p1.nextToken());
+        p1.close();
+        p2.close();
+
+        // and compact storage should work with lazy trees too
+        JSON both = JSON.std.with(LAZY_CODEC.withCompactObjects(true));
+        assertEquals(DOC, both.asString(both.treeFrom(DOC)));
+    }
+
+    public void testDuplicateProperties() throws Exception
+    {
+        JrsLazyObject ob = (JrsLazyObject) lazyJSON.treeFrom(aposToQuotesStatic("{'a':1,'a':2,'b':3}"));
+        assertEquals(2, ob.size());
+        assertFalse(ob.isMaterialized());
+        assertEquals(Integer.valueOf(2), ((JrsNumber) ob.get("a")).getValue());
+        assertEquals(2, ob.size());
+
+        // and same for bigger Objects
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 20; ++i) {
+            sb.append("\"p").append(i % 15).append("\":").append(i).append(',');
+        }
+        sb.setLength(sb.length()-1);
+        ob = (JrsLazyObject) lazyJSON.treeFrom(sb.append('}').toString());
+        assertEquals(15, ob.size());
+        assertFalse(ob.isMaterialized());
+        assertEquals(ob.size(), JSON.std.with(new JacksonJrsTreeCodec()).treeFrom(sb.toString()).size());
+    }
+
+    public void testRootValues() throws Exception
+    {
+        TreeNode node = lazyJSON.treeFrom("[ ]");
+        assertTrue(node instanceof JrsArray);
+        assertEquals(0, node.size());
+        assertEquals("[]", lazyJSON.asString(node));
+
+        node = lazyJSON.treeFrom("\"abc\"");
+        assertTrue(node instanceof JrsString);
+        node = lazyJSON.treeFrom("17");
+        assertTrue(node instanceof JrsNumber);
+
+        Iterator<String> it = lazyJSON.treeFrom("{\"x\":1,\"y\":2}").fieldNames();
+        assertEquals("x", it.next());
+        assertEquals("y", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    private static String aposToQuotesStatic(String json) {
+        return json.replace("'", "\"");
+    }
+}
@@ -0,0 +1,106 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Tests for verifying handling of specialized number node types.
+ */
+public class NumberNodesTest extends TestBase
+{
+    private final JSON treeJSON = JSON.std.with(new JacksonJrsTreeCodec());
+
+    public void testNodeTypesFromRead() throws Exception
+    {
+        final String INPUT = "[1,-200000,12345678901,0.25,123456789012345678901234567890]";
+        TreeNode node = treeJSON.treeFrom(INPUT);
+        assertEquals(5, node.size());
+
+        JrsNumber n = (JrsNumber) node.get(0);
+        assertTrue(n instanceof JrsNumber.IntNumber);
+        assertEquals(JsonParser.NumberType.INT, n.numberType());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, n.asToken());
+        assertEquals(Integer.valueOf(1), n.getValue());
+        // small values are shared
+        assertSame(n, JrsNumber.valueOf(1));
+
+        n = (JrsNumber) node.get(1);
+        assertTrue(n instanceof JrsNumber.IntNumber);
+        assertEquals(-200000, n.intValue());
+        assertEquals("-200000", n.asText());
+
+        n = (JrsNumber) node.get(2);
+        assertTrue(n instanceof JrsNumber.LongNumber);
+        assertEquals(JsonParser.NumberType.LONG, n.numberType());
+        assertEquals(12345678901L, n.longValue());
+        assertEquals(BigInteger.valueOf(12345678901L), n.asBigInteger());
+
+        n = (JrsNumber) node.get(3);
+        assertTrue(n instanceof JrsNumber.DoubleNumber);
+        assertEquals(JsonToken.VALUE_NUMBER_FLOAT, n.asToken());
+        assertEquals(0.25, n.doubleValue());
+        assertEquals(Double.valueOf(0.25), n.getValue());
+
+        n = (JrsNumber) node.get(4);
+        assertEquals(JsonParser.NumberType.BIG_INTEGER, n.numberType());
+        assertEquals(new BigInteger("123456789012345678901234567890"), n.getValue());
+
+        assertEquals(INPUT, treeJSON.asString(node));
+    }
+
+    public void testBigDecimal() throws Exception
+    {
+        JSON json = treeJSON.with(JSON.Feature.USE_BIG_DECIMAL_FOR_FLOATS);
+        JrsNumber n = JrsNumber.valueOf(new BigDecimal("0.1"));
+        assertTrue(n instanceof JrsNumber.DecimalNumber);
+        assertEquals(JsonParser.NumberType.BIG_DECIMAL, n.numberType());
+        assertEquals("[0.1]", json.asString(json.treeFrom("[0.1]")));
+        assertEquals(new BigDecimal("0.1"), n.asBigDecimal());
+    }
+
+    public void testFactoryMethods() throws Exception
+    {
+        JrsNumber n;
+        assertTrue(JrsNumber.valueOf(Integer.valueOf(3)) instanceof JrsNumber.IntNumber);
+        // other wrapper types retained as is, same as with constructor
+        n = JrsNumber.valueOf(Short.valueOf((short) 3));
+        assertEquals(JsonParser.NumberType.INT, n.numberType());
+        assertEquals(Short.valueOf((short) 3), n.getValue());
+        n = new JacksonJrsTreeCodec().numberNode(Byte.valueOf((byte) -1));
+        assertEquals(JsonParser.NumberType.INT, n.numberType());
+        assertEquals(Byte.valueOf((byte) -1), n.getValue());
+        assertEquals(-1, n.intValue());
+        // explicit longs retained as such, even if they would fit in int
+        assertTrue(JrsNumber.valueOf(3L) instanceof JrsNumber.LongNumber);
+        n = new JacksonJrsTreeCodec().numberNode(Long.valueOf(3L));
+        assertEquals(JsonParser.NumberType.LONG, n.numberType());
+        assertEquals(Long.valueOf(3L), n.getValue());
+        assertTrue(JrsNumber.valueOf(Long.MAX_VALUE) instanceof JrsNumber.LongNumber);
+        assertTrue(JrsNumber.valueOf(Double.valueOf(0.5)) instanceof JrsNumber.DoubleNumber);
+        assertEquals(JsonParser.NumberType.FLOAT,
+                JrsNumber.valueOf(Float.valueOf(0.5f)).numberType());
+        assertNotSame(JrsNumber.valueOf(1000), JrsNumber.valueOf(1000));
+        assertTrue(new JacksonJrsTreeCodec().numberNode(42) instanceof JrsNumber.IntNumber);
+    }
+
+    public void testTraversal() throws Exception
+    {
+        TreeNode node = treeJSON.treeFrom("[3,4000000000,1.5]");
+        JsonParser p = node.traverse();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.INT, p.getNumberType());
+        assertEquals(3, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(4000000000L, p.getLongValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1.5, p.getDoubleValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+}
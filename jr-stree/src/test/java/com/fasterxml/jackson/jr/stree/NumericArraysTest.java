@@ -0,0 +1,122 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Tests for primitive-array backed {@link JrsNumericArray}s.
+ */
+public class NumericArraysTest extends TestBase
+{
+    private final JSON NUMERIC_JSON = JSON.std.with(new JacksonJrsTreeCodec()
+            .withNumericArrays(true));
+
+    public void testIntegralArray() throws Exception
+    {
+        JrsObject root = (JrsObject) NUMERIC_JSON.treeFrom(
+                "{\"ts\":[1,-2,3000000000,4],\"x\":true}");
+        JrsArray arr = (JrsArray) root.get("ts");
+        assertTrue(arr instanceof JrsNumericArray);
+        JrsNumericArray nums = (JrsNumericArray) arr;
+        assertTrue(nums.isIntegral());
+        assertEquals(4, nums.size());
+        assertTrue(Arrays.equals(new long[] { 1L, -2L, 3000000000L, 4L }, nums.longValues()));
+        assertTrue(Arrays.equals(new double[] { 1.0, -2.0, 3000000000.0, 4.0 }, nums.doubleValues()));
+        assertEquals(3000000000L, nums.longValue(2));
+
+        // nodes have same types as with regular arrays
+        assertEquals(JsonParser.NumberType.INT, nums.get(1).numberType());
+        assertEquals(-2, nums.get(1).intValue());
+        assertEquals(JsonParser.NumberType.LONG, nums.get(2).numberType());
+        assertNull(nums.get(4));
+        assertTrue(nums.path(4).isMissingNode());
+        assertEquals(4, ((JrsNumber) root.at("/ts/3")).intValue());
+
+        // and iteration works as well
+        List<Object> values = new ArrayList<Object>();
+        for (Iterator<JrsValue> it = nums.elements(); it.hasNext(); ) {
+            values.add(((JrsNumber) it.next()).getValue());
+        }
+        assertEquals(Arrays.<Object>asList(1, -2, 3000000000L, 4), values);
+
+        assertEquals("{\"ts\":[1,-2,3000000000,4],\"x\":true}", NUMERIC_JSON.asString(root));
+    }
+
+    public void testDoubleArray() throws Exception
+    {
+        JrsArray arr = (JrsArray) NUMERIC_JSON.treeFrom("[0.5,-1.25,1e3]");
+        assertTrue(arr instanceof JrsNumericArray);
+        JrsNumericArray nums = (JrsNumericArray) arr;
+        assertFalse(nums.isIntegral());
+        assertTrue(Arrays.equals(new double[] { 0.5, -1.25, 1000.0 }, nums.doubleValues()));
+        assertTrue(Arrays.equals(new long[] { 0L, -1L, 1000L }, nums.longValues()));
+        assertEquals(JsonParser.NumberType.DOUBLE, nums.get(0).numberType());
+        assertEquals("[0.5,-1.25,1000.0]", NUMERIC_JSON.asString(arr));
+
+        // traversal as tokens
+        JsonParser p = arr.traverse();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(0.5, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    public void testMixedArrays() throws Exception
+    {
+        // mixed content, fall back to regular arrays
+        _verifyRegular("[1,2,2.5]");
+        _verifyRegular("[1.5,2]");
+        _verifyRegular("[1,\"x\",[2,3]]");
+        _verifyRegular("[1,2,123456789012345678901234567890]");
+        _verifyRegular("[]");
+        _verifyRegular("[true,1,2]");
+
+        // but nested numeric arrays are still detected
+        JrsArray arr = (JrsArray) NUMERIC_JSON.treeFrom("[1,\"x\",[2,3]]");
+        assertTrue(arr.get(2) instanceof JrsNumericArray);
+
+        // and big arrays too
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 1000; ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(i * 3);
+        }
+        sb.append(']');
+        JrsNumericArray big = (JrsNumericArray) NUMERIC_JSON.treeFrom(sb.toString());
+        assertEquals(1000, big.size());
+        assertEquals(2997L, big.longValue(999));
+        assertEquals(sb.toString(), NUMERIC_JSON.asString(big));
+    }
+
+    public void testDefaultsAndConstruction() throws Exception
+    {
+        JacksonJrsTreeCodec codec = new JacksonJrsTreeCodec();
+        assertFalse(codec.usesNumericArrays());
+        assertTrue(codec.withNumericArrays(true).usesNumericArrays());
+        assertFalse(JSON.std.with(codec).treeFrom("[1,2]") instanceof JrsNumericArray);
+
+        long[] input = new long[] { 1L, 2L };
+        JrsNumericArray arr = new JrsNumericArray(input);
+        input[0] = 3L;
+        assertEquals("[1,2]", NUMERIC_JSON.asString(arr));
+        assertEquals("[0.25]", NUMERIC_JSON.asString(new JrsNumericArray(new double[] { 0.25 })));
+    }
+
+    private void _verifyRegular(String json) throws Exception
+    {
+        JrsArray arr = (JrsArray) NUMERIC_JSON.treeFrom(json);
+        assertFalse(arr instanceof JrsNumericArray);
+        JrsArray exp = (JrsArray) JSON.std.with(new JacksonJrsTreeCodec()).treeFrom(json);
+        assertEquals(exp.size(), arr.size());
+        assertEquals(JSON.std.with(new JacksonJrsTreeCodec()).asString(exp),
+                NUMERIC_JSON.asString(arr));
+    }
+}
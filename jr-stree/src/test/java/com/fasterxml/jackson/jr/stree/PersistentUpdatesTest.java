@@ -0,0 +1,158 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+import com.fasterxml.jackson.jr.ob.JSON;
+
+/**
+ * Tests for immutable update methods (<code>with</code>, <code>without</code>,
+ * <code>withIndex</code>, <code>withAt</code>) that share unmodified parts
+ * of trees.
+ */
+public class PersistentUpdatesTest extends TestBase
+{
+    private final JSON TREE_JSON = JSON.std.with(new JacksonJrsTreeCodec());
+
+    private final String DOC = aposToQuotes("{'a':1,'b':{'c':[1,{'d':true},3],'e':'x'},'f':[]}");
+
+    public void testObjectUpdates() throws Exception
+    {
+        JrsObject root = (JrsObject) TREE_JSON.treeFrom(DOC);
+        JrsObject root2 = root.with("a", new JrsString("new"));
+        assertEquals(aposToQuotes("{'a':'new','b':{'c':[1,{'d':true},3],'e':'x'},'f':[]}"),
+                TREE_JSON.asString(root2));
+        // original not modified
+        assertEquals(DOC, TREE_JSON.asString(root));
+        // and other values shared
+        assertSame(root.get("b"), root2.get("b"));
+
+        JrsObject root3 = root.with("g", JrsBoolean.TRUE).without("a");
+        assertEquals(aposToQuotes("{'b':{'c':[1,{'d':true},3],'e':'x'},'f':[],'g':true}"),
+                TREE_JSON.asString(root3));
+        assertSame(root, root.without("xyz"));
+        assertEquals(3, root.size());
+    }
+
+    public void testArrayUpdates() throws Exception
+    {
+        JrsArray arr = (JrsArray) TREE_JSON.treeFrom("[1,2,{\"a\":3}]");
+        JrsArray arr2 = arr.withIndex(0, new JrsString("x"));
+        assertEquals("[\"x\",2,{\"a\":3}]", TREE_JSON.asString(arr2));
+        assertEquals("[1,2,{\"a\":3}]", TREE_JSON.asString(arr));
+        assertSame(arr.get(2), arr2.get(2));
+
+        // appending
+        assertEquals("[1,2,{\"a\":3},4]", TREE_JSON.asString(arr.withIndex(3, JrsNumber.valueOf(4))));
+        assertEquals("[1,{\"a\":3}]", TREE_JSON.asString(arr.withoutIndex(1)));
+        assertSame(arr, arr.withoutIndex(3));
+
+        try {
+            arr.withIndex(4, JrsBoolean.TRUE);
+            fail("Should not pass");
+        } catch (IndexOutOfBoundsException e) {
+            verifyException(e, "Index 4");
+        }
+    }
+
+    public void testPathUpdates() throws Exception
+    {
+        JrsObject root = (JrsObject) TREE_JSON.treeFrom(DOC);
+        JrsValue root2 = root.withAt("/b/c/1/d", JrsBoolean.FALSE);
+        assertEquals(aposToQuotes("{'a':1,'b':{'c':[1,{'d':false},3],'e':'x'},'f':[]}"),
+                TREE_JSON.asString(root2));
+        assertEquals(DOC, TREE_JSON.asString(root));
+        // only nodes along the path are copied
+        assertNotSame(root.get("b"), root2.get("b"));
+        assertSame(root.get("f"), root2.get("f"));
+        assertSame(root.at("/b/c/0"), root2.at("/b/c/0"));
+
+        // adding properties and elements
+        root2 = root.withAt(JrsPointer.compile("/b/new"), JrsNumber.valueOf(7))
+                .withAt("/f/0", new JrsString("y"));
+        assertEquals(aposToQuotes("{'a':1,'b':{'c':[1,{'d':true},3],'e':'x','new':7},'f':['y']}"),
+                TREE_JSON.asString(root2));
+
+        // removal
+        root2 = root.withoutAt(JrsPointer.compile("/b/c/1"));
+        assertEquals(aposToQuotes("{'a':1,'b':{'c':[1,3],'e':'x'},'f':[]}"),
+                TREE_JSON.asString(root2));
+        assertSame(root, root.withoutAt(JrsPointer.compile("/b/x/y")));
+
+        // replacing the root
+        assertSame(JrsBoolean.TRUE, root.withAt("", JrsBoolean.TRUE));
+
+        // but can not add through missing or scalar values
+        try {
+            root.withAt("/x/y", JrsBoolean.TRUE);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "No Object or Array to modify");
+        }
+        try {
+            root.withAt("/a/y", JrsBoolean.TRUE);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "No Object or Array to modify");
+        }
+    }
+
+    public void testDeepTreeSharing() throws Exception
+    {
+        // wide tree, to verify that unmodified subtrees are shared
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        for (int i = 0; i < 100; ++i) {
+            Map<String,Object> child = new LinkedHashMap<String,Object>();
+            for (int j = 0; j < 50; ++j) {
+                child.put("p"+j, Arrays.asList(i, j));
+            }
+            map.put("c"+i, child);
+        }
+        JrsObject root = (JrsObject) TREE_JSON.treeFrom(TREE_JSON.asString(map));
+        JrsObject root2 = (JrsObject) root.withAt("/c50/p25/1", new JrsString("x"));
+        assertEquals("x", root2.at("/c50/p25/1").asText());
+        assertEquals(25, ((JrsNumber) root.at("/c50/p25/1")).intValue());
+        for (int i = 0; i < 100; ++i) {
+            if (i != 50) {
+                assertSame(root.get("c"+i), root2.get("c"+i));
+            }
+        }
+        assertSame(root.at("/c50/p24"), root2.at("/c50/p24"));
+    }
+
+    public void testCompactAndNumeric() throws Exception
+    {
+        JSON json = JSON.std.with(new JacksonJrsTreeCodec()
+                .withCompactObjects(true).withNumericArrays(true));
+        JrsObject root = (JrsObject) json.treeFrom("{\"a\":[1,2,3],\"b\":[0.5]}");
+        JrsValue root2 = root.withAt("/a/1", JrsNumber.valueOf(20))
+                .withAt("/b/1", JrsNumber.valueOf(1.5));
+        assertTrue(root2.at("/a") instanceof JrsNumericArray);
+        assertTrue(root2.at("/b") instanceof JrsNumericArray);
+        assertEquals("{\"a\":[1,20,3],\"b\":[0.5,1.5]}", json.asString(root2));
+        assertEquals("{\"a\":[1,2,3],\"b\":[0.5]}", json.asString(root));
+
+        // mixed content, regular array
+        root2 = root.withAt("/a/0", new JrsString("x"));
+        assertFalse(root2.at("/a") instanceof JrsNumericArray);
+        assertEquals("{\"a\":[\"x\",2,3],\"b\":[0.5]}", json.asString(root2));
+        assertEquals("[1,3]", json.asString(((JrsArray) root.get("a")).withoutIndex(1)));
+    }
+
+    public void testFrozenUpdates() throws Exception
+    {
+        JrsObject frozen = ((JrsObject) TREE_JSON.treeFrom(DOC)).freeze();
+        TREE_JSON.asBytes(frozen);
+        JrsObject frozen2 = frozen.with("a", JrsNumber.valueOf(2));
+        assertTrue(frozen2 instanceof JrsFrozenObject);
+        assertFalse(((JrsFrozenObject) frozen2).isEncoded());
+        assertEquals(aposToQuotes("{'a':2,'b':{'c':[1,{'d':true},3],'e':'x'},'f':[]}"),
+                new String(TREE_JSON.asBytes(frozen2), "UTF-8"));
+
+        // values added are copied so they can not be modified later
+        List<JrsValue> list = new ArrayList<JrsValue>();
+        JrsValue frozen3 = frozen.withAt("/b/list", new JrsArray(list));
+        list.add(JrsBoolean.TRUE);
+        assertTrue(frozen3 instanceof JrsFrozenObject);
+        assertEquals(0, frozen3.at("/b/list").size());
+    }
+}
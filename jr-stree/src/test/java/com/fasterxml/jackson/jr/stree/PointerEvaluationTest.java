@@ -0,0 +1,85 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+public class PointerEvaluationTest extends TestBase
+{
+    private final JSON treeJSON = JSON.std.with(new JacksonJrsTreeCodec());
+
+    private final String DOC = aposToQuotes(
+            "{'a':[1,2,{'b':true,'c':'x'}],'d':{'e':'text','0':'zero','n':null},'f':3}");
+
+    public void testCompiledPointer() throws Exception
+    {
+        JrsValue root = (JrsValue) treeJSON.treeFrom(DOC);
+        JrsPointer ptr = JrsPointer.compile("/a/2/c");
+        assertSame(ptr, JrsPointer.compile("/a/2/c"));
+        assertEquals(3, ptr.length());
+        assertEquals("a", ptr.propertyAt(0));
+        assertEquals(2, ptr.indexAt(1));
+        assertEquals(-1, ptr.indexAt(2));
+        assertEquals("/a/2/c", ptr.toString());
+        assertEquals(ptr, JrsPointer.from(JsonPointer.compile("/a/2/c")));
+
+        assertEquals("x", ptr.evaluate(root).asText());
+        assertEquals("x", root.at(ptr).asText());
+        assertSame(root, JrsPointer.compile("").evaluate(root));
+
+        // same results as with JsonPointer
+        for (String expr : new String[] { "/a/0", "/a/2/b", "/d/0", "/d/e", "/d/n",
+                "/a/5", "/a/x", "/f/x", "/x/y", "/d/e/f" }) {
+            JrsValue exp = root.at(JsonPointer.compile(expr));
+            JrsValue act = JrsPointer.compile(expr).evaluate(root);
+            if (exp.isMissingNode()) {
+                assertTrue("Should be missing for "+expr, act.isMissingNode());
+            } else {
+                assertSame(exp, act);
+            }
+            assertSame(act, root.at(expr));
+        }
+    }
+
+    public void testCacheEviction() throws Exception
+    {
+        JrsPointer hot = JrsPointer.compile("/hot/path");
+        assertSame(hot, JrsPointer.compile("/hot/path"));
+        for (int i = 0; i < 5 * JrsPointer.MAX_CACHED; ++i) {
+            JrsPointer.compile("/cold/"+i);
+            assertTrue(JrsPointer.CACHE.size() <= JrsPointer.MAX_CACHED);
+            // commonly used expressions retained, instead of whole cache being flushed
+            assertSame(hot, JrsPointer.compile("/hot/path"));
+        }
+        assertTrue(JrsPointer.CACHE.size() > JrsPointer.MAX_CACHED / 2);
+    }
+
+    public void testPointerSet() throws Exception
+    {
+        JrsValue root = (JrsValue) treeJSON.treeFrom(DOC);
+        JrsPointerSet set = JrsPointerSet.compile("/a/2/c", "/d/e", "/a/0", "/a/2/b",
+                "/nosuch/x", "/d/n", "/a/2/c");
+        assertEquals(7, set.size());
+        JrsValue[] values = set.evaluate(root);
+        assertEquals(7, values.length);
+        assertEquals("x", values[0].asText());
+        assertEquals("text", values[1].asText());
+        assertEquals("1", values[2].asText());
+        assertTrue(((JrsBoolean) values[3]).booleanValue());
+        assertTrue(values[4].isMissingNode());
+        assertTrue(values[5].isMissingNode());
+        assertSame(values[0], values[6]);
+
+        Map<String,JrsValue> map = set.evaluateToMap(root);
+        assertEquals(new HashSet<String>(Arrays.asList("/a/2/c", "/d/e", "/a/0", "/a/2/b")),
+                map.keySet());
+
+        // and reuse of result array
+        JrsValue[] reused = new JrsValue[7];
+        set.evaluate((JrsValue) treeJSON.treeFrom("[1]"), reused);
+        for (JrsValue v : reused) {
+            assertTrue(v.isMissingNode());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.jr.ob.JSON;
+
+public class StructuralIndexTest extends TestBase
+{
+    static class Point {
+        public int x, y;
+    }
+
+    private final static String DOC = aposToQuotesStatic(
+            "{ 'a' : [ 1, \"x,y]\", {'b':true, 'p' : {'x':1,'y':2}} ],\n"
+            +"  'empty':{}, 'list':[], 'str' : 'a\\\"b' ,\n"
+            +"  'esc\\u0041ped':3, 'n':null, 'last': -0.5 }");
+
+    public void testSimplePaths() throws Exception
+    {
+        JrsStructuralIndex index = JrsStructuralIndex.build(DOC.getBytes("UTF-8"));
+        assertTrue(index.size() > 0);
+
+        assertEquals("1", index.at("/a/0").asText());
+        assertEquals("x,y]", index.at("/a/1").asText());
+        assertTrue(((JrsBoolean) index.at("/a/2/b")).booleanValue());
+        assertEquals("a\"b", index.at("/str").asText());
+        assertEquals("3", index.at("/escAped").asText());
+        assertEquals(-0.5, ((JrsNumber) index.at("/last")).doubleValue());
+        assertEquals(0, index.at("/empty").size());
+        assertEquals(0, index.at("/list").size());
+
+        JrsValue p = index.at("/a/2/p");
+        assertTrue(p.isObject());
+        assertEquals(2, p.size());
+        JrsValue root = index.at("");
+        assertTrue(root.isObject());
+        assertEquals(7, root.size());
+
+        assertTrue(index.at("/n").isMissingNode());
+        assertTrue(index.at("/a/3").isMissingNode());
+        assertTrue(index.at("/a/x").isMissingNode());
+        assertTrue(index.at("/empty/x").isMissingNode());
+        assertTrue(index.at("/list/0").isMissingNode());
+        assertTrue(index.at("/str/x").isMissingNode());
+        assertTrue(index.at("/nosuch").isMissingNode());
+        assertFalse(index.hasValueAt(JsonPointer.compile("/nosuch")));
+        assertTrue(index.hasValueAt(JsonPointer.compile("/a/2")));
+    }
+
+    // Containers with a single scalar have no structural characters in between
+    public void testSingleValueContainers() throws Exception
+    {
+        JrsStructuralIndex index = JrsStructuralIndex.build(aposToQuotes(
+                "{'a':[42],'b':{'c':'x'},'d':[ \"s\" ],'e':[ ],'f':{ }}").getBytes("UTF-8"));
+        assertEquals(42, ((JrsNumber) index.at("/a/0")).intValue());
+        assertTrue(index.at("/a/1").isMissingNode());
+        assertEquals(1, index.at("/a").size());
+        assertEquals("x", index.at("/b/c").asText());
+        assertTrue(index.at("/b/x").isMissingNode());
+        assertEquals("s", index.at("/d/0").asText());
+        assertTrue(index.at("/e/0").isMissingNode());
+        assertTrue(index.at("/f/c").isMissingNode());
+
+        index = JrsStructuralIndex.build("[true]".getBytes("UTF-8"));
+        assertTrue(((JrsBoolean) index.at("/0")).booleanValue());
+        index = JrsStructuralIndex.build("{\"k\":7}".getBytes("UTF-8"));
+        assertEquals(7, ((JrsNumber) index.at("/k")).intValue());
+    }
+
+    public void testBindToBean() throws Exception
+    {
+        JrsStructuralIndex index = JrsStructuralIndex.build(DOC.getBytes("UTF-8"));
+        JsonParser p = index.parserAt(JsonPointer.compile("/a/2/p"));
+        Point point = JSON.std.with(JSON.Feature.USE_FIELDS).beanFrom(Point.class, p);
+        p.close();
+        assertEquals(1, point.x);
+        assertEquals(2, point.y);
+        assertNull(index.parserAt(JsonPointer.compile("/a/2/q")));
+    }
+
+    public void testDirectBuffer() throws Exception
+    {
+        byte[] bytes = ("  "+DOC+"  ").getBytes("UTF-8");
+        ByteBuffer buf = ByteBuffer.allocateDirect(bytes.length + 10);
+        buf.put(new byte[5]);
+        buf.put(bytes);
+        buf.flip();
+        buf.position(5);
+        JrsStructuralIndex index = JrsStructuralIndex.build(buf);
+        assertEquals(5, buf.position());
+        assertEquals("x,y]", index.at("/a/1").asText());
+        assertEquals(2, ((JrsNumber) index.at("/a/2/p/y")).intValue());
+    }
+
+    public void testScalarRoot() throws Exception
+    {
+        byte[] bytes = " 123 ".getBytes("UTF-8");
+        JrsStructuralIndex index = JrsStructuralIndex.build(bytes, 1, 3);
+        assertEquals(123, ((JrsNumber) index.at("")).intValue());
+        assertTrue(index.at("/0").isMissingNode());
+    }
+
+    public void testInvalid() throws Exception
+    {
+        try {
+            JrsStructuralIndex.build("{\"a\":[1}".getBytes("UTF-8"));
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "Unexpected close marker");
+        }
+        try {
+            JrsStructuralIndex.build("[\"abc".getBytes("UTF-8"));
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "within String value");
+        }
+        try {
+            JrsStructuralIndex.build("[[]".getBytes("UTF-8"));
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "not closed");
+        }
+    }
+
+    private static String aposToQuotesStatic(String json) {
+        return json.replace("'", "\"");
+    }
+}
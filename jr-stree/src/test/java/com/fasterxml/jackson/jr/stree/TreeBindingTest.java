@@ -0,0 +1,194 @@
+package com.fasterxml.jackson.jr.stree;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JSONObjectException;
+import com.fasterxml.jackson.jr.ob.impl.TreeNodeAdapter;
+
+/**
+ * Tests for binding trees to and from Beans directly, without
+ * token streams.
+ */
+public class TreeBindingTest extends TestBase
+{
+    enum Color { RED, GREEN; }
+
+    static class Point {
+        public int x, y;
+
+        public Point() { }
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class Shape {
+        public String name;
+        public Color color;
+        public Point origin;
+        public List<Point> points;
+        public Map<String,Integer> tags;
+        public long id;
+        public double weight;
+        public Boolean visible;
+        public Integer count;
+        public UUID uuid;
+        public Integer[] sizes;
+        public Object extra;
+        public TreeNode raw;
+    }
+
+    private final JSON TREE_JSON = JSON.std
+            .with(JSON.Feature.USE_FIELDS)
+            .with(new JacksonJrsBindingTreeCodec());
+
+    private final static String DOC = aposToQuotesStatic("{'name':'box','color':'GREEN',"
+            +"'origin':{'x':1,'y':-2},'points':[{'x':3,'y':4},{'x':5,'y':6}],"
+            +"'tags':{'a':1,'b':2},'id':12345678901,'weight':0.25,'visible':true,"
+            +"'count':null,'uuid':'00000000-0000-0001-0000-000000000002','sizes':[1,2],"
+            +"'extra':{'list':[1,'x',false,2.5]},'raw':{'nested':[true]}}");
+
+    public void testBeanFromTree() throws Exception
+    {
+        TreeNode tree = TREE_JSON.treeFrom(DOC);
+        Shape shape = TREE_JSON.beanFromTree(Shape.class, tree);
+        _verify(shape);
+
+        // should bind same as with token stream
+        Shape shape2 = TREE_JSON.beanFrom(Shape.class, DOC);
+        assertEquals(TREE_JSON.asString(shape2), TREE_JSON.asString(shape));
+
+        // and work with lazy trees, too
+        JSON lazy = TREE_JSON.with(new JacksonJrsBindingTreeCodec().withLazyTrees(true));
+        _verify(lazy.beanFromTree(Shape.class, lazy.treeFrom(DOC)));
+    }
+
+    public void testTreeFromBean() throws Exception
+    {
+        Shape shape = TREE_JSON.beanFrom(Shape.class, DOC);
+        TreeNode tree = TREE_JSON.treeFromBean(shape);
+        assertTrue(tree instanceof JrsObject);
+        assertEquals(TREE_JSON.asString(shape), TREE_JSON.asString(tree));
+        assertEquals(4, ((JrsNumber) ((JrsValue) tree).at("/points/0/y")).intValue());
+        assertEquals("GREEN", ((JrsValue) tree).at("/color").asText());
+
+        // and round-trip
+        _verify(TREE_JSON.beanFromTree(Shape.class, tree));
+
+        // null values skipped by default
+        Shape shape2 = TREE_JSON.beanFrom(Shape.class, DOC);
+        shape2.name = null;
+        assertNull(TREE_JSON.treeFromBean(shape2).get("name"));
+        List<String> names = new ArrayList<String>();
+        Iterator<String> it = TREE_JSON.with(JSON.Feature.WRITE_NULL_PROPERTIES)
+                .treeFromBean(shape2).fieldNames();
+        while (it.hasNext()) {
+            names.add(it.next());
+        }
+        assertTrue(names.contains("name"));
+
+        // as well as with compact objects
+        JSON compact = TREE_JSON.with(new JacksonJrsBindingTreeCodec().withCompactObjects(true));
+        TreeNode tree2 = compact.treeFromBean(shape);
+        assertEquals(TREE_JSON.asString(tree), compact.asString(tree2));
+    }
+
+    public void testSimpleValues() throws Exception
+    {
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("a", Arrays.asList(1, "b", true));
+        map.put("c", new Point(1, 2));
+        map.put("d", null);
+        TreeNode tree = TREE_JSON.treeFromBean(map);
+        assertEquals(aposToQuotes("{'a':[1,'b',true],'c':{'x':1,'y':2}}"),
+                TREE_JSON.asString(tree));
+        Object ob = TREE_JSON.beanFromTree(Object.class, tree);
+        assertEquals(TREE_JSON.anyFrom(TREE_JSON.asString(tree)), ob);
+
+        assertEquals(Integer.valueOf(3), TREE_JSON.beanFromTree(Integer.class,
+                TREE_JSON.treeFromBean(3)));
+        assertEquals("abc", TREE_JSON.beanFromTree(String.class,
+                TREE_JSON.treeFromBean("abc")));
+        assertNull(TREE_JSON.beanFromTree(Point.class, null));
+        assertNull(TREE_JSON.treeFromBean(null));
+    }
+
+    public void testCodecs() throws Exception
+    {
+        // plain codec must not depend on jackson-jr-objects
+        assertFalse(TreeNodeAdapter.class.isAssignableFrom(JacksonJrsTreeCodec.class));
+        JacksonJrsBindingTreeCodec codec = JacksonJrsBindingTreeCodec.SINGLETON
+                .withLazyTrees(true).withCompactObjects(true).withNumericArrays(true);
+        assertTrue(codec.usesLazyTrees());
+        assertTrue(codec.usesCompactObjects());
+        assertSame(codec, codec.withLazyTrees(true));
+        assertEquals(JacksonJrsTreeCodec.class, new JacksonJrsTreeCodec().withLazyTrees(true).getClass());
+    }
+
+    public void testDates() throws Exception
+    {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(123456789L);
+        Map<String,Object> map = new LinkedHashMap<String,Object>();
+        map.put("date", cal.getTime());
+        map.put("calendar", cal);
+        assertEquals(aposToQuotes("{'date':123456789,'calendar':123456789}"),
+                TREE_JSON.asString(TREE_JSON.with(JSON.Feature.WRITE_DATES_AS_TIMESTAMP)
+                        .treeFromBean(map)));
+        TreeNode tree = TREE_JSON.treeFromBean(map);
+        assertEquals(((JrsValue) tree.get("date")).asText(), ((JrsValue) tree.get("calendar")).asText());
+    }
+
+    public void testUnknownProperty() throws Exception
+    {
+        TreeNode tree = TREE_JSON.treeFrom("{\"x\":1,\"z\":3}");
+        try {
+            TREE_JSON.with(JSON.Feature.FAIL_ON_UNKNOWN_BEAN_PROPERTY)
+                .beanFromTree(Point.class, tree);
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Unrecognized JSON property 'z'");
+        }
+        Point p = TREE_JSON.beanFromTree(Point.class, tree);
+        assertEquals(1, p.x);
+    }
+
+    public void testMismatch() throws Exception
+    {
+        try {
+            TREE_JSON.beanFromTree(Point.class, TREE_JSON.treeFrom("[1]"));
+            fail("Should not pass");
+        } catch (JSONObjectException e) {
+            verifyException(e, "Can not create a");
+            verifyException(e, "JSON Array");
+        }
+    }
+
+    private void _verify(Shape shape)
+    {
+        assertEquals("box", shape.name);
+        assertEquals(Color.GREEN, shape.color);
+        assertEquals(1, shape.origin.x);
+        assertEquals(-2, shape.origin.y);
+        assertEquals(2, shape.points.size());
+        assertEquals(6, shape.points.get(1).y);
+        assertEquals(Integer.valueOf(2), shape.tags.get("b"));
+        assertEquals(12345678901L, shape.id);
+        assertEquals(0.25, shape.weight);
+        assertEquals(Boolean.TRUE, shape.visible);
+        assertEquals(new UUID(1L, 2L), shape.uuid);
+        assertEquals(2, shape.sizes.length);
+        assertEquals(Integer.valueOf(2), shape.sizes[1]);
+        assertEquals(Arrays.asList(1, "x", false, 2.5),
+                ((Map<?,?>) shape.extra).get("list"));
+        assertTrue(shape.raw.isObject());
+        assertTrue(shape.raw.get("nested").isArray());
+    }
+
+    private static String aposToQuotesStatic(String json) {
+        return json.replace("'", "\"");
+    }
+}